@@ -0,0 +1,142 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.decorators;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.core.VirtualThreads;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Starts 100k virtual threads which call a blocking backend through a decorator at the same time and measures
+ * how long it takes until all of them are done. The decorators block the callers while waiting for a permit or
+ * the next attempt, so the benchmark only scales if they never pin a carrier thread.
+ * It needs a JDK with virtual threads; run it with -Djdk.tracePinnedThreads=full to report pinned threads.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+public class VirtualThreadBenchmark {
+
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 5;
+    private static final int FORK_COUNT = 1;
+    private static final int CALLER_COUNT = 100_000;
+    private static final long BACKEND_LATENCY_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"bulkhead", "rateLimiter", "retry"})
+    public String decorator;
+
+    private ThreadFactory threadFactory;
+    private Supplier<String> protectedSupplier;
+
+    @Setup
+    public void setUp() {
+        threadFactory = VirtualThreads.virtualThreadFactory()
+            .getOrElseThrow(() -> new IllegalStateException("VirtualThreadBenchmark needs a JDK with virtual threads"));
+
+        Supplier<String> backend = () -> {
+            LockSupport.parkNanos(BACKEND_LATENCY_IN_NANOS);
+            return "Hello Benchmark";
+        };
+        switch (decorator) {
+            case "bulkhead":
+                Bulkhead bulkhead = Bulkhead.of("bulkhead", BulkheadConfig.custom()
+                    .maxConcurrentCalls(1000)
+                    .maxWaitTime(60_000)
+                    .build());
+                protectedSupplier = Bulkhead.decorateSupplier(bulkhead, backend);
+                break;
+            case "rateLimiter":
+                RateLimiter rateLimiter = RateLimiter.of("rateLimiter", RateLimiterConfig.custom()
+                    .limitForPeriod(CALLER_COUNT / 2)
+                    .limitRefreshPeriod(Duration.ofMillis(100))
+                    .timeoutDuration(Duration.ofSeconds(60))
+                    .build());
+                protectedSupplier = RateLimiter.decorateSupplier(rateLimiter, backend);
+                break;
+            case "retry":
+                Retry retry = Retry.of("retry", RetryConfig.custom()
+                    .waitDuration(Duration.ofMillis(10))
+                    .build());
+                // every caller fails once and succeeds after waiting for the next attempt
+                ThreadLocal<Boolean> failed = ThreadLocal.withInitial(() -> false);
+                protectedSupplier = Retry.decorateSupplier(retry, () -> {
+                    if (!failed.get()) {
+                        failed.set(true);
+                        throw new IllegalStateException("BAM!");
+                    }
+                    return backend.get();
+                });
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown decorator " + decorator);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public void concurrentCallers() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CALLER_COUNT);
+        for (int i = 0; i < CALLER_COUNT; i++) {
+            threadFactory.newThread(() -> {
+                try {
+                    protectedSupplier.get();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(VirtualThreadBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -7,6 +7,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
 import io.github.resilience4j.cache.Cache;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.RateLimiter;
@@ -86,6 +87,10 @@ public interface Decorators{
             return this;
         }
 
+        public DecorateCompletionStage<T> withThreadPoolBulkhead(ThreadPoolBulkhead threadPoolBulkhead) {
+            return Decorators.ofCompletionStage(ThreadPoolBulkhead.decorateSupplier(threadPoolBulkhead, supplier));
+        }
+
         public Supplier<T> decorate() {
             return supplier;
         }
@@ -293,6 +298,15 @@ public interface Decorators{
             return this;
         }
 
+        public <K> DecorateFunction<K, CompletionStage<T>> withCache(Cache<K, T> cache) {
+            return Decorators.ofFunction(Cache.decorateCompletionStage(cache, stageSupplier));
+        }
+
+        public DecorateCompletionStage<T> withRetry(AsyncRetry retryContext) {
+            stageSupplier = AsyncRetry.decorateCompletionStage(retryContext, stageSupplier);
+            return this;
+        }
+
         public DecorateCompletionStage<T> withRetry(AsyncRetry retryContext, ScheduledExecutorService scheduler) {
             stageSupplier = AsyncRetry.decorateCompletionStage(retryContext, scheduler, stageSupplier);
             return this;
@@ -19,6 +19,7 @@
 package io.github.resilience4j.decorators;
 
 import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
 import io.github.resilience4j.cache.Cache;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.RateLimiter;
@@ -41,6 +42,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -81,6 +83,29 @@ public class DecoratorsTest {
         BDDMockito.then(helloWorldService).should(times(1)).returnHelloWorld();
     }
 
+    @Test
+    public void testDecorateSupplierWithThreadPoolBulkhead() throws ExecutionException, InterruptedException {
+        // Given the HelloWorldService returns Hello world
+        given(helloWorldService.returnHelloWorld()).willReturn("Hello world");
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("helloBackend");
+        ThreadPoolBulkhead bulkhead = ThreadPoolBulkhead.ofDefaults("testName");
+
+        CompletionStage<String> completionStage = Decorators.ofSupplier(() -> helloWorldService.returnHelloWorld())
+            .withThreadPoolBulkhead(bulkhead)
+            .withCircuitBreaker(circuitBreaker)
+            .get();
+
+        String result = completionStage.toCompletableFuture().get();
+        assertThat(result).isEqualTo("Hello world");
+
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        assertThat(metrics.getNumberOfBufferedCalls()).isEqualTo(1);
+        assertThat(metrics.getNumberOfSuccessfulCalls()).isEqualTo(1);
+        // Then the helloWorldService should be invoked 1 time
+        BDDMockito.then(helloWorldService).should(times(1)).returnHelloWorld();
+        bulkhead.close();
+    }
+
     @Test
     public void testDecorateCheckedSupplier() throws IOException {
         // Given the HelloWorldService returns Hello world
@@ -331,4 +356,18 @@ public class DecoratorsTest {
         assertThat(value).isEqualTo("Hello from cache");
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDecorateCompletionStageWithCache() throws Exception {
+        javax.cache.Cache<String, String> cache = mock(javax.cache.Cache.class);
+        // Return the value from cache
+        given(cache.get("testKey")).willReturn("Hello from cache");
+
+        Function<String, CompletionStage<String>> cachedFunction = Decorators
+            .ofCompletionStage(() -> CompletableFuture.completedFuture("Hello world"))
+            .withCache(Cache.of(cache))
+            .decorate();
+        String value = cachedFunction.apply("testKey").toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(value).isEqualTo("Hello from cache");
+    }
 }
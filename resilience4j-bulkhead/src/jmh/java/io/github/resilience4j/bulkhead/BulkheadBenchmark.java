@@ -54,12 +54,19 @@ public class BulkheadBenchmark {
     private Supplier<String> protectedSupplierWithSb;
     private Supplier<String> stringSupplier;
 
+    private Bulkhead fairBulkhead;
+    private Bulkhead nonFairBulkhead;
+    private Bulkhead casBulkhead;
+
     public static void main(String[] args) throws RunnerException {
-        Options options = new OptionsBuilder()
-            .threads(2)
-            .addProfiler(GCProfiler.class)
-            .build();
-        new Runner(options).run();
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Options options = new OptionsBuilder()
+                .include(BulkheadBenchmark.class.getSimpleName())
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .build();
+            new Runner(options).run();
+        }
     }
 
     @Setup
@@ -79,6 +86,21 @@ public class BulkheadBenchmark {
         Bulkhead bulkheadWithSubscriber = Bulkhead.of("test-with-subscriber", config);
         RxJava2Adapter.toFlowable(bulkheadWithSubscriber.getEventPublisher()).subscribe();
         protectedSupplierWithSb = Bulkhead.decorateSupplier(bulkheadWithSubscriber, stringSupplier);
+
+        fairBulkhead = Bulkhead.of("fair", BulkheadConfig.custom()
+            .maxConcurrentCalls(16)
+            .maxWaitTime(100)
+            .build());
+        nonFairBulkhead = Bulkhead.of("non-fair", BulkheadConfig.custom()
+            .maxConcurrentCalls(16)
+            .maxWaitTime(100)
+            .fairCallHandling(false)
+            .build());
+        casBulkhead = Bulkhead.of("cas", BulkheadConfig.custom()
+            .maxConcurrentCalls(16)
+            .maxWaitTime(0)
+            .fairCallHandling(false)
+            .build());
     }
 
     @Benchmark
@@ -107,4 +129,40 @@ public class BulkheadBenchmark {
     public String protectedSupplierWithSubscriber() {
         return protectedSupplierWithSb.get();
     }
-}
\ No newline at end of file
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean fairPermission() {
+        return enterAndLeave(fairBulkhead);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean nonFairPermission() {
+        return enterAndLeave(nonFairBulkhead);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean casPermission() {
+        return enterAndLeave(casBulkhead);
+    }
+
+    private static boolean enterAndLeave(Bulkhead bulkhead) {
+        boolean permitted = bulkhead.isCallPermitted();
+        if (permitted) {
+            Blackhole.consumeCPU(100);
+            bulkhead.onComplete();
+        }
+        return permitted;
+    }
+}
@@ -47,8 +47,10 @@ import java.util.function.Supplier;
  * In order to execute an operation protected by this bulkhead, a permission must be obtained by calling {@link Bulkhead#isCallPermitted()}
  * If the bulkhead is full, no additional operations will be permitted to execute until space is available.
  *
- * Once the operation is complete, regardless of the result, client needs to call {@link Bulkhead#onComplete()} in order to maintain
- * integrity of internal bulkhead state.
+ * Once the operation is complete, regardless of the result, client needs to call {@link Bulkhead#onComplete()},
+ * {@link Bulkhead#onSuccess(long)} or {@link Bulkhead#onError(long, Throwable)} in order to maintain
+ * integrity of internal bulkhead state. The latter two also feed an adaptive concurrency limit with the duration
+ * and outcome of the call.
  *
  */
 public interface Bulkhead {
@@ -65,6 +67,25 @@ public interface Bulkhead {
      */
     void onComplete();
 
+    /**
+     * Records a successful call and releases its permit.
+     *
+     * @param durationInNanos The elapsed time duration of the call
+     */
+    default void onSuccess(long durationInNanos) {
+        onComplete();
+    }
+
+    /**
+     * Records a failed call and releases its permit.
+     *
+     * @param durationInNanos The elapsed time duration of the call
+     * @param throwable The throwable of the call
+     */
+    default void onError(long durationInNanos, Throwable throwable) {
+        onComplete();
+    }
+
     /**
      * Returns the name of this bulkhead.
      *
@@ -149,12 +170,16 @@ public interface Bulkhead {
     static <T> CheckedFunction0<T> decorateCheckedSupplier(Bulkhead bulkhead, CheckedFunction0<T> supplier){
         return () -> {
             BulkheadUtils.isCallPermitted(bulkhead);
+            long start = System.nanoTime();
+            T returnValue;
             try {
-                return supplier.apply();
-            }
-            finally {
-                bulkhead.onComplete();
+                returnValue = supplier.apply();
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
+            bulkhead.onSuccess(System.nanoTime() - start);
+            return returnValue;
         };
     }
 
@@ -175,24 +200,29 @@ public interface Bulkhead {
                 promise.completeExceptionally(new BulkheadFullException(String.format("Bulkhead '%s' is open", bulkhead.getName())));
             }
             else {
+                long start = System.nanoTime();
+                CompletionStage<T> stage;
                 try {
-                    supplier.get()
-                            .whenComplete(
-                                (result, throwable) -> {
-                                    bulkhead.onComplete();
-                                    if (throwable != null) {
-                                        promise.completeExceptionally(throwable);
-                                    }
-                                    else {
-                                        promise.complete(result);
-                                    }
-                                }
-                            );
+                    stage = supplier.get();
                 }
                 catch (Throwable throwable) {
-                    bulkhead.onComplete();
+                    bulkhead.onError(System.nanoTime() - start, throwable);
                     promise.completeExceptionally(throwable);
+                    return promise;
                 }
+                stage.whenComplete(
+                    (result, throwable) -> {
+                        long durationInNanos = System.nanoTime() - start;
+                        if (throwable != null) {
+                            bulkhead.onError(durationInNanos, throwable);
+                            promise.completeExceptionally(throwable);
+                        }
+                        else {
+                            bulkhead.onSuccess(durationInNanos);
+                            promise.complete(result);
+                        }
+                    }
+                );
             }
 
             return promise;
@@ -210,12 +240,14 @@ public interface Bulkhead {
     static CheckedRunnable decorateCheckedRunnable(Bulkhead bulkhead, CheckedRunnable runnable){
         return () -> {
             BulkheadUtils.isCallPermitted(bulkhead);
-            try{
+            long start = System.nanoTime();
+            try {
                 runnable.run();
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
-            finally {
-                bulkhead.onComplete();
-            }
+            bulkhead.onSuccess(System.nanoTime() - start);
         };
     }
 
@@ -231,12 +263,16 @@ public interface Bulkhead {
     static <T> Callable<T> decorateCallable(Bulkhead bulkhead, Callable<T> callable){
         return () -> {
             BulkheadUtils.isCallPermitted(bulkhead);
+            long start = System.nanoTime();
+            T returnValue;
             try {
-                return callable.call();
-            }
-            finally {
-                bulkhead.onComplete();
+                returnValue = callable.call();
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
+            bulkhead.onSuccess(System.nanoTime() - start);
+            return returnValue;
         };
     }
 
@@ -252,12 +288,16 @@ public interface Bulkhead {
     static <T> Supplier<T> decorateSupplier(Bulkhead bulkhead, Supplier<T> supplier){
         return () -> {
             BulkheadUtils.isCallPermitted(bulkhead);
+            long start = System.nanoTime();
+            T returnValue;
             try {
-                return supplier.get();
-            }
-            finally {
-                bulkhead.onComplete();
+                returnValue = supplier.get();
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
+            bulkhead.onSuccess(System.nanoTime() - start);
+            return returnValue;
         };
     }
 
@@ -273,12 +313,14 @@ public interface Bulkhead {
     static <T> Consumer<T> decorateConsumer(Bulkhead bulkhead, Consumer<T> consumer){
         return (t) -> {
             BulkheadUtils.isCallPermitted(bulkhead);
+            long start = System.nanoTime();
             try {
                 consumer.accept(t);
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
-            finally {
-                bulkhead.onComplete();
-            }
+            bulkhead.onSuccess(System.nanoTime() - start);
         };
     }
 
@@ -294,12 +336,14 @@ public interface Bulkhead {
     static <T> CheckedConsumer<T> decorateCheckedConsumer(Bulkhead bulkhead, CheckedConsumer<T> consumer){
         return (t) -> {
             BulkheadUtils.isCallPermitted(bulkhead);
+            long start = System.nanoTime();
             try {
                 consumer.accept(t);
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
-            finally {
-                bulkhead.onComplete();
-            }
+            bulkhead.onSuccess(System.nanoTime() - start);
         };
     }
 
@@ -314,12 +358,14 @@ public interface Bulkhead {
     static Runnable decorateRunnable(Bulkhead bulkhead, Runnable runnable){
         return () -> {
             BulkheadUtils.isCallPermitted(bulkhead);
-            try{
+            long start = System.nanoTime();
+            try {
                 runnable.run();
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
-            finally {
-                bulkhead.onComplete();
-            }
+            bulkhead.onSuccess(System.nanoTime() - start);
         };
     }
 
@@ -335,12 +381,16 @@ public interface Bulkhead {
     static <T, R> Function<T, R> decorateFunction(Bulkhead bulkhead, Function<T, R> function){
         return (T t) -> {
             BulkheadUtils.isCallPermitted(bulkhead);
-            try{
-                return function.apply(t);
-            }
-            finally {
-                bulkhead.onComplete();
+            long start = System.nanoTime();
+            R returnValue;
+            try {
+                returnValue = function.apply(t);
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
+            bulkhead.onSuccess(System.nanoTime() - start);
+            return returnValue;
         };
     }
 
@@ -356,12 +406,16 @@ public interface Bulkhead {
     static <T, R> CheckedFunction1<T, R> decorateCheckedFunction(Bulkhead bulkhead, CheckedFunction1<T, R> function){
         return (T t) -> {
             BulkheadUtils.isCallPermitted(bulkhead);
-            try{
-                return function.apply(t);
-            }
-            finally {
-                bulkhead.onComplete();
+            long start = System.nanoTime();
+            R returnValue;
+            try {
+                returnValue = function.apply(t);
+            } catch (Throwable throwable) {
+                bulkhead.onError(System.nanoTime() - start, throwable);
+                throw throwable;
             }
+            bulkhead.onSuccess(System.nanoTime() - start);
+            return returnValue;
         };
     }
 
@@ -406,6 +460,19 @@ public interface Bulkhead {
          * @return remaining bulkhead depth
          */
         int getAvailableConcurrentCalls();
+
+        /**
+         * Returns the current concurrency limit of this bulkhead. It is fixed to
+         * {@link BulkheadConfig#getMaxConcurrentCalls()}, unless a limit algorithm adapts it.
+         *
+         * <p>The default implementation returns the number of available concurrent calls, which is a lower bound
+         * of the limit, for bulkheads which do not track it.
+         *
+         * @return the current concurrency limit
+         */
+        default int getMaxAllowedConcurrentCalls() {
+            return getAvailableConcurrentCalls();
+        }
     }
 
     /**
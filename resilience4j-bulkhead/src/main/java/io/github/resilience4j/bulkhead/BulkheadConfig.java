@@ -18,6 +18,10 @@
  */
 package io.github.resilience4j.bulkhead;
 
+import io.github.resilience4j.bulkhead.adaptive.LimitAlgorithm;
+
+import java.util.function.Supplier;
+
 /**
  * A {@link BulkheadConfig} configures a {@link Bulkhead}
  */
@@ -28,6 +32,8 @@ public class BulkheadConfig {
 
     private int maxConcurrentCalls = DEFAULT_MAX_CONCURRENT_CALLS;
     private long maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+    private Supplier<LimitAlgorithm> limitAlgorithmSupplier = null;
+    private boolean fairCallHandlingEnabled = true;
 
     private BulkheadConfig() { }
 
@@ -39,6 +45,20 @@ public class BulkheadConfig {
         return maxWaitTime;
     }
 
+    /**
+     * Returns the supplier of the algorithm which adapts the concurrency limit of each bulkhead,
+     * or null if the bulkheads use the fixed {@link #getMaxConcurrentCalls()}.
+     *
+     * @return the supplier of the limit algorithm or null
+     */
+    public Supplier<LimitAlgorithm> getLimitAlgorithmSupplier() {
+        return limitAlgorithmSupplier;
+    }
+
+    public boolean isFairCallHandlingEnabled() {
+        return fairCallHandlingEnabled;
+    }
+
     /**
      * Returns a builder to create a custom BulkheadConfig.
      *
@@ -93,6 +113,37 @@ public class BulkheadConfig {
             return this;
         }
 
+        /**
+         * Configures an algorithm which adapts the concurrency limit to the observed round-trip time
+         * and errors of the calls, e.g. {@link io.github.resilience4j.bulkhead.adaptive.AimdLimit} or
+         * {@link io.github.resilience4j.bulkhead.adaptive.VegasLimit}. maxConcurrentCalls is ignored in that case.
+         * The supplier is called once per bulkhead, because each bulkhead needs its own algorithm instance.
+         *
+         * @param limitAlgorithmSupplier supplier of the limit algorithm
+         * @return the BulkheadConfig.Builder
+         */
+        public Builder limitAlgorithm(Supplier<LimitAlgorithm> limitAlgorithmSupplier) {
+            if (limitAlgorithmSupplier == null) {
+                throw new IllegalArgumentException("limitAlgorithmSupplier must not be null");
+            }
+            config.limitAlgorithmSupplier = limitAlgorithmSupplier;
+            return this;
+        }
+
+        /**
+         * Configures whether waiting threads enter the bulkhead in the order in which they arrived. Fair call handling
+         * is enabled by default. If it is disabled, a thread may overtake waiting threads, which increases
+         * the throughput under contention. With a maxWaitTime of 0 nobody waits, so a non-fair bulkhead then
+         * uses a lock-free counter instead of a semaphore.
+         *
+         * @param fairCallHandlingEnabled true to let threads enter the bulkhead in order
+         * @return the BulkheadConfig.Builder
+         */
+        public Builder fairCallHandling(boolean fairCallHandlingEnabled) {
+            config.fairCallHandlingEnabled = fairCallHandlingEnabled;
+            return this;
+        }
+
         /**
          * Builds a BulkheadConfig
          *
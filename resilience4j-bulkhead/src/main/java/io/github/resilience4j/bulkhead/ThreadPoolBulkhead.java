@@ -0,0 +1,199 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.internal.FixedThreadPoolBulkhead;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ThreadPoolBulkhead} limits the amount of parallel executions like a {@link Bulkhead}, but executes the calls
+ * on its own bounded thread pool instead of the calling thread. A slow dependency therefore only ties up the threads of
+ * its bulkhead, while the calling threads get a {@link CompletionStage} immediately.
+ *
+ * If all threads are busy, calls wait in a bounded queue. If the queue is full as well, the call is rejected and the
+ * returned CompletionStage is completed exceptionally with a {@link BulkheadFullException}.
+ */
+public interface ThreadPoolBulkhead extends AutoCloseable {
+
+    /**
+     * Submits a call to the thread pool of this bulkhead.
+     *
+     * @param callable the call to execute
+     * @param <T> the result type of the call
+     * @return a CompletionStage which is completed with the result of the call,
+     * or with a {@link BulkheadFullException} if the bulkhead is full
+     */
+    <T> CompletionStage<T> submit(Callable<T> callable);
+
+    /**
+     * Submits a call to the thread pool of this bulkhead.
+     *
+     * @param runnable the call to execute
+     * @return a CompletionStage which is completed when the call has finished,
+     * or with a {@link BulkheadFullException} if the bulkhead is full
+     */
+    CompletionStage<Void> submit(Runnable runnable);
+
+    /**
+     * Returns the name of this bulkhead.
+     *
+     * @return the name of this bulkhead
+     */
+    String getName();
+
+    /**
+     * Returns the ThreadPoolBulkheadConfig of this bulkhead.
+     *
+     * @return bulkhead config
+     */
+    ThreadPoolBulkheadConfig getBulkheadConfig();
+
+    /**
+     * Get the Metrics of this bulkhead.
+     *
+     * @return the Metrics of this bulkhead
+     */
+    Metrics getMetrics();
+
+    /**
+     * Returns an EventPublisher which subscribes to the reactive stream of BulkheadEvent and
+     * can be used to register event consumers.
+     *
+     * @return an EventPublisher
+     */
+    Bulkhead.EventPublisher getEventPublisher();
+
+    /**
+     * Shuts down the thread pool of this bulkhead. Calls which are already submitted are still executed.
+     * Calls which are submitted afterwards are completed exceptionally with an {@link IllegalStateException}.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns a supplier which submits the decorated supplier to the thread pool of a bulkhead.
+     *
+     * @param bulkhead the bulkhead
+     * @param supplier the original supplier
+     * @param <T> the type of results supplied by this supplier
+     * @return a supplier which is decorated by a ThreadPoolBulkhead.
+     */
+    static <T> Supplier<CompletionStage<T>> decorateSupplier(ThreadPoolBulkhead bulkhead, Supplier<T> supplier) {
+        return () -> bulkhead.submit(supplier::get);
+    }
+
+    /**
+     * Returns a supplier which submits the decorated callable to the thread pool of a bulkhead.
+     *
+     * @param bulkhead the bulkhead
+     * @param callable the original callable
+     * @param <T> the result type of the callable
+     * @return a supplier which is decorated by a ThreadPoolBulkhead.
+     */
+    static <T> Supplier<CompletionStage<T>> decorateCallable(ThreadPoolBulkhead bulkhead, Callable<T> callable) {
+        return () -> bulkhead.submit(callable);
+    }
+
+    /**
+     * Returns a supplier which submits the decorated runnable to the thread pool of a bulkhead.
+     *
+     * @param bulkhead the bulkhead
+     * @param runnable the original runnable
+     * @return a supplier which is decorated by a ThreadPoolBulkhead.
+     */
+    static Supplier<CompletionStage<Void>> decorateRunnable(ThreadPoolBulkhead bulkhead, Runnable runnable) {
+        return () -> bulkhead.submit(runnable);
+    }
+
+    /**
+     * Create a ThreadPoolBulkhead with a default configuration.
+     *
+     * @param name the name of the bulkhead
+     * @return a ThreadPoolBulkhead instance
+     */
+    static ThreadPoolBulkhead ofDefaults(String name) {
+        return new FixedThreadPoolBulkhead(name);
+    }
+
+    /**
+     * Creates a ThreadPoolBulkhead with a custom configuration
+     *
+     * @param name the name of the bulkhead
+     * @param config a custom ThreadPoolBulkheadConfig configuration
+     * @return a ThreadPoolBulkhead instance
+     */
+    static ThreadPoolBulkhead of(String name, ThreadPoolBulkheadConfig config) {
+        return new FixedThreadPoolBulkhead(name, config);
+    }
+
+    interface Metrics {
+
+        /**
+         * Returns the configured core number of threads.
+         *
+         * @return the core thread pool size
+         */
+        int getCoreThreadPoolSize();
+
+        /**
+         * Returns the current number of threads in the pool.
+         *
+         * @return the thread pool size
+         */
+        int getThreadPoolSize();
+
+        /**
+         * Returns the configured maximum number of threads.
+         *
+         * @return the maximum thread pool size
+         */
+        int getMaximumThreadPoolSize();
+
+        /**
+         * Returns the approximate number of threads which are executing calls.
+         *
+         * @return the active thread count
+         */
+        int getActiveThreadCount();
+
+        /**
+         * Returns the number of calls which wait in the queue for a thread.
+         *
+         * @return the queue depth
+         */
+        int getQueueDepth();
+
+        /**
+         * Returns the number of calls which can still be queued.
+         *
+         * @return the remaining queue capacity
+         */
+        int getRemainingQueueCapacity();
+
+        /**
+         * Returns the configured capacity of the queue.
+         *
+         * @return the queue capacity
+         */
+        int getQueueCapacity();
+    }
+}
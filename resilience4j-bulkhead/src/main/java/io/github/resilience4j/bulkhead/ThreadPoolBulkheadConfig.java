@@ -0,0 +1,147 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead;
+
+/**
+ * A {@link ThreadPoolBulkheadConfig} configures a {@link ThreadPoolBulkhead}
+ */
+public class ThreadPoolBulkheadConfig {
+
+    public static final int DEFAULT_MAX_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_CORE_THREAD_POOL_SIZE = Math.max(1, DEFAULT_MAX_THREAD_POOL_SIZE - 1);
+    public static final int DEFAULT_QUEUE_CAPACITY = 100;
+    public static final long DEFAULT_KEEP_ALIVE_TIME = 20L;
+
+    private int maxThreadPoolSize = DEFAULT_MAX_THREAD_POOL_SIZE;
+    private int coreThreadPoolSize = DEFAULT_CORE_THREAD_POOL_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private long keepAliveTime = DEFAULT_KEEP_ALIVE_TIME;
+
+    private ThreadPoolBulkheadConfig() { }
+
+    public int getMaxThreadPoolSize() {
+        return maxThreadPoolSize;
+    }
+
+    public int getCoreThreadPoolSize() {
+        return coreThreadPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getKeepAliveTime() {
+        return keepAliveTime;
+    }
+
+    /**
+     * Returns a builder to create a custom ThreadPoolBulkheadConfig.
+     *
+     * @return a {@link Builder}
+     */
+    public static Builder custom(){
+        return new Builder();
+    }
+
+    /**
+     * Creates a default ThreadPoolBulkhead configuration.
+     *
+     * @return a default ThreadPoolBulkhead configuration.
+     */
+    public static ThreadPoolBulkheadConfig ofDefaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+
+        private ThreadPoolBulkheadConfig config = new ThreadPoolBulkheadConfig();
+
+        /**
+         * Configures the max amount of threads which execute the calls of the bulkhead.
+         *
+         * @param maxThreadPoolSize max thread pool size
+         * @return the ThreadPoolBulkheadConfig.Builder
+         */
+        public Builder maxThreadPoolSize(int maxThreadPoolSize) {
+            if (maxThreadPoolSize < 1) {
+                throw new IllegalArgumentException("maxThreadPoolSize must be a positive integer value >= 1");
+            }
+            config.maxThreadPoolSize = maxThreadPoolSize;
+            return this;
+        }
+
+        /**
+         * Configures the amount of threads which are kept alive, even if they are idle.
+         *
+         * @param coreThreadPoolSize core thread pool size
+         * @return the ThreadPoolBulkheadConfig.Builder
+         */
+        public Builder coreThreadPoolSize(int coreThreadPoolSize) {
+            if (coreThreadPoolSize < 1) {
+                throw new IllegalArgumentException("coreThreadPoolSize must be a positive integer value >= 1");
+            }
+            config.coreThreadPoolSize = coreThreadPoolSize;
+            return this;
+        }
+
+        /**
+         * Configures the capacity of the queue which holds the calls while all core threads are busy.
+         * Additional threads up to maxThreadPoolSize are only started once the queue is full and a call
+         * is rejected if the queue is full and all threads are busy.
+         *
+         * @param queueCapacity the capacity of the queue
+         * @return the ThreadPoolBulkheadConfig.Builder
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("queueCapacity must be a positive integer value >= 1");
+            }
+            config.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Configures the amount of time in ms an idle thread above the core thread pool size waits for a new call
+         * before it terminates.
+         *
+         * @param keepAliveTime keep alive time of idle threads
+         * @return the ThreadPoolBulkheadConfig.Builder
+         */
+        public Builder keepAliveTime(long keepAliveTime) {
+            if (keepAliveTime < 0) {
+                throw new IllegalArgumentException("keepAliveTime must be a positive integer value >= 0");
+            }
+            config.keepAliveTime = keepAliveTime;
+            return this;
+        }
+
+        /**
+         * Builds a ThreadPoolBulkheadConfig
+         *
+         * @return the ThreadPoolBulkheadConfig
+         */
+        public ThreadPoolBulkheadConfig build() {
+            if (config.maxThreadPoolSize < config.coreThreadPoolSize) {
+                throw new IllegalArgumentException("maxThreadPoolSize must be greater than or equal to coreThreadPoolSize");
+            }
+            return config;
+        }
+    }
+}
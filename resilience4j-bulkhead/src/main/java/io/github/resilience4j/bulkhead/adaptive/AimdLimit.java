@@ -0,0 +1,186 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.adaptive;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive increase, multiplicative decrease. The limit grows by one after each successful call which used
+ * the whole limit, and is multiplied by the backoff ratio after a failed call or a call slower than the timeout.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutInNanos;
+    private final AtomicInteger limit;
+
+    private AimdLimit(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.timeoutInNanos = builder.timeout.toNanos();
+        this.limit = new AtomicInteger(builder.initialLimit);
+    }
+
+    /**
+     * Returns a builder to create a custom AimdLimit.
+     *
+     * @return a {@link Builder}
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * Creates an AimdLimit with the default configuration.
+     *
+     * @return an AimdLimit with the default configuration
+     */
+    public static AimdLimit ofDefaults() {
+        return new Builder().build();
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.get();
+    }
+
+    @Override
+    public int onSample(long rttInNanos, int inFlight, boolean didDrop) {
+        int currentLimit;
+        int nextLimit;
+        do {
+            currentLimit = limit.get();
+            if (didDrop || rttInNanos > timeoutInNanos) {
+                nextLimit = Math.max(minLimit, (int) (currentLimit * backoffRatio));
+            } else if (inFlight >= currentLimit) {
+                nextLimit = Math.min(maxLimit, currentLimit + 1);
+            } else {
+                return currentLimit;
+            }
+        } while (!limit.compareAndSet(currentLimit, nextLimit));
+        return nextLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit{limit=" + limit.get() + '}';
+    }
+
+    public static class Builder {
+
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private Duration timeout = Duration.ofSeconds(5);
+
+        private Builder() {
+        }
+
+        /**
+         * Configures the limit before the first call completed. Default value is 20.
+         *
+         * @param initialLimit the initial limit
+         * @return the AimdLimit.Builder
+         */
+        public Builder initialLimit(int initialLimit) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("initialLimit must be a positive integer value >= 1");
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Configures the lower bound of the limit. Default value is 1.
+         *
+         * @param minLimit the minimum limit
+         * @return the AimdLimit.Builder
+         */
+        public Builder minLimit(int minLimit) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("minLimit must be a positive integer value >= 1");
+            }
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * Configures the upper bound of the limit. Default value is 200.
+         *
+         * @param maxLimit the maximum limit
+         * @return the AimdLimit.Builder
+         */
+        public Builder maxLimit(int maxLimit) {
+            if (maxLimit < 1) {
+                throw new IllegalArgumentException("maxLimit must be a positive integer value >= 1");
+            }
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Configures the factor the limit is multiplied with after a failed or slow call. Default value is 0.9.
+         *
+         * @param backoffRatio the backoff ratio, between 0.5 and 1 exclusive
+         * @return the AimdLimit.Builder
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (backoffRatio < 0.5 || backoffRatio >= 1.0) {
+                throw new IllegalArgumentException("backoffRatio must be in the range [0.5, 1)");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Configures the round-trip time above which a successful call is treated like a failed one.
+         * Default value is 5 seconds.
+         *
+         * @param timeout the round-trip time threshold
+         * @return the AimdLimit.Builder
+         */
+        public Builder timeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("timeout must be a positive duration");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Builds an AimdLimit
+         *
+         * @return the AimdLimit
+         */
+        public AimdLimit build() {
+            if (minLimit > maxLimit) {
+                throw new IllegalArgumentException("minLimit must not be greater than maxLimit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+            }
+            return new AimdLimit(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.adaptive;
+
+/**
+ * A LimitAlgorithm adjusts the concurrency limit of an adaptive {@link io.github.resilience4j.bulkhead.Bulkhead}
+ * from the round-trip time and the outcome of completed calls.
+ * <p>An instance belongs to a single bulkhead. Implementations must be thread-safe, because calls complete concurrently.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the current concurrency limit
+     */
+    int getLimit();
+
+    /**
+     * Updates the concurrency limit with the sample of a completed call.
+     *
+     * @param rttInNanos the round-trip time of the call
+     * @param inFlight   the number of calls which were in flight when the call completed, including the call itself
+     * @param didDrop    whether the call failed, which is taken as a sign of overload
+     * @return the new concurrency limit
+     */
+    int onSample(long rttInNanos, int inFlight, boolean didDrop);
+}
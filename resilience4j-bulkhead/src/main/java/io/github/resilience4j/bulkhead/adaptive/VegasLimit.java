@@ -0,0 +1,240 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.adaptive;
+
+/**
+ * A delay based limit, inspired by TCP Vegas. The shortest round-trip time that was observed is taken as the
+ * round-trip time without load and the size of the queue in front of the backend is estimated as
+ * {@code limit * (1 - rttNoLoad / rtt)}. The limit grows while the queue is short and shrinks when it grows
+ * beyond {@code beta}, so the backend is kept busy without building up a queue.
+ * <p>The round-trip time without load is measured again every {@code probeMultiplier * limit} samples,
+ * so the limit follows the backend if its latency increases permanently.
+ */
+public class VegasLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int alphaFactor;
+    private final int betaFactor;
+    private final double smoothing;
+    private final int probeMultiplier;
+
+    private double estimatedLimit;
+    private volatile int limit;
+    private long rttNoLoadInNanos;
+    private long samplesUntilProbe;
+
+    private VegasLimit(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.alphaFactor = builder.alphaFactor;
+        this.betaFactor = builder.betaFactor;
+        this.smoothing = builder.smoothing;
+        this.probeMultiplier = builder.probeMultiplier;
+        this.estimatedLimit = builder.initialLimit;
+        this.limit = builder.initialLimit;
+        this.samplesUntilProbe = (long) probeMultiplier * builder.initialLimit;
+    }
+
+    /**
+     * Returns a builder to create a custom VegasLimit.
+     *
+     * @return a {@link Builder}
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a VegasLimit with the default configuration.
+     *
+     * @return a VegasLimit with the default configuration
+     */
+    public static VegasLimit ofDefaults() {
+        return new Builder().build();
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized int onSample(long rttInNanos, int inFlight, boolean didDrop) {
+        if (rttInNanos <= 0) {
+            return limit;
+        }
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = (long) probeMultiplier * limit;
+            rttNoLoadInNanos = rttInNanos;
+            return limit;
+        }
+        if (rttNoLoadInNanos == 0 || rttInNanos < rttNoLoadInNanos) {
+            rttNoLoadInNanos = rttInNanos;
+            return limit;
+        }
+
+        double log = Math.max(1.0, Math.log10(estimatedLimit));
+        double nextLimit;
+        if (didDrop) {
+            nextLimit = estimatedLimit - log;
+        } else if (inFlight * 2 < estimatedLimit) {
+            // the caller does not use the limit, so the samples tell nothing about a higher one
+            return limit;
+        } else {
+            double queueSize = Math.ceil(estimatedLimit * (1 - (double) rttNoLoadInNanos / rttInNanos));
+            if (queueSize <= log) {
+                nextLimit = estimatedLimit + betaFactor * log;
+            } else if (queueSize < alphaFactor * log) {
+                nextLimit = estimatedLimit + log;
+            } else if (queueSize > betaFactor * log) {
+                nextLimit = estimatedLimit - log;
+            } else {
+                return limit;
+            }
+        }
+        nextLimit = Math.max(minLimit, Math.min(maxLimit, nextLimit));
+        estimatedLimit = (1 - smoothing) * estimatedLimit + smoothing * nextLimit;
+        limit = (int) estimatedLimit;
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "VegasLimit{limit=" + limit + '}';
+    }
+
+    public static class Builder {
+
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private int alphaFactor = 3;
+        private int betaFactor = 6;
+        private double smoothing = 1.0;
+        private int probeMultiplier = 30;
+
+        private Builder() {
+        }
+
+        /**
+         * Configures the limit before the first call completed. Default value is 20.
+         *
+         * @param initialLimit the initial limit
+         * @return the VegasLimit.Builder
+         */
+        public Builder initialLimit(int initialLimit) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("initialLimit must be a positive integer value >= 1");
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Configures the lower bound of the limit. Default value is 1.
+         *
+         * @param minLimit the minimum limit
+         * @return the VegasLimit.Builder
+         */
+        public Builder minLimit(int minLimit) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("minLimit must be a positive integer value >= 1");
+            }
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * Configures the upper bound of the limit. Default value is 1000.
+         *
+         * @param maxLimit the maximum limit
+         * @return the VegasLimit.Builder
+         */
+        public Builder maxLimit(int maxLimit) {
+            if (maxLimit < 1) {
+                throw new IllegalArgumentException("maxLimit must be a positive integer value >= 1");
+            }
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Configures the queue size thresholds as multiples of {@code log10(limit)}. The limit grows quickly while the
+         * estimated queue is shorter than {@code log10(limit)}, slowly while it is shorter than alpha and it shrinks
+         * when the queue is longer than beta. Default values are 3 and 6.
+         *
+         * @param alphaFactor the factor of the slow growth threshold
+         * @param betaFactor  the factor of the shrink threshold
+         * @return the VegasLimit.Builder
+         */
+        public Builder queueSizeFactors(int alphaFactor, int betaFactor) {
+            if (alphaFactor < 1 || betaFactor <= alphaFactor) {
+                throw new IllegalArgumentException("alphaFactor must be >= 1 and betaFactor must be greater than alphaFactor");
+            }
+            this.alphaFactor = alphaFactor;
+            this.betaFactor = betaFactor;
+            return this;
+        }
+
+        /**
+         * Configures how much of a limit change is applied at once. Default value is 1.0.
+         *
+         * @param smoothing the smoothing factor, in the range (0, 1]
+         * @return the VegasLimit.Builder
+         */
+        public Builder smoothing(double smoothing) {
+            if (smoothing <= 0.0 || smoothing > 1.0) {
+                throw new IllegalArgumentException("smoothing must be in the range (0, 1]");
+            }
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * Configures after how many samples, as a multiple of the limit, the round-trip time without load is
+         * measured again. Default value is 30.
+         *
+         * @param probeMultiplier the probe multiplier
+         * @return the VegasLimit.Builder
+         */
+        public Builder probeMultiplier(int probeMultiplier) {
+            if (probeMultiplier < 1) {
+                throw new IllegalArgumentException("probeMultiplier must be a positive integer value >= 1");
+            }
+            this.probeMultiplier = probeMultiplier;
+            return this;
+        }
+
+        /**
+         * Builds a VegasLimit
+         *
+         * @return the VegasLimit
+         */
+        public VegasLimit build() {
+            if (minLimit > maxLimit) {
+                throw new IllegalArgumentException("minLimit must not be greater than maxLimit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+            }
+            return new VegasLimit(this);
+        }
+    }
+}
@@ -18,16 +18,18 @@
  */
 package io.github.resilience4j.bulkhead.event;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 abstract class AbstractBulkheadEvent implements io.github.resilience4j.bulkhead.event.BulkheadEvent {
 
     private final String bulkheadName;
-    private final ZonedDateTime creationTime;
+    private final long creationTimeInMillis;
 
     AbstractBulkheadEvent(String bulkheadName) {
         this.bulkheadName = bulkheadName;
-        this.creationTime = ZonedDateTime.now();
+        this.creationTimeInMillis = System.currentTimeMillis();
     }
 
     @Override
@@ -37,6 +39,6 @@ abstract class AbstractBulkheadEvent implements io.github.resilience4j.bulkhead.
 
     @Override
     public ZonedDateTime getCreationTime() {
-        return creationTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(creationTimeInMillis), ZoneId.systemDefault());
     }
 }
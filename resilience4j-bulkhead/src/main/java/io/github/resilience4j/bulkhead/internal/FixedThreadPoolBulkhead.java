@@ -0,0 +1,226 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.internal;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A ThreadPoolBulkhead implementation based on a {@link ThreadPoolExecutor} with a bounded queue.
+ * The bulkhead is full if all threads are busy and the queue is full.
+ */
+public class FixedThreadPoolBulkhead implements ThreadPoolBulkhead {
+
+    private final String name;
+    private final ThreadPoolBulkheadConfig config;
+    private final ThreadPoolExecutor executorService;
+    private final BulkheadMetrics metrics;
+    private final BulkheadEventProcessor eventProcessor;
+
+    /**
+     * Creates a bulkhead using a configuration supplied
+     *
+     * @param name the name of this bulkhead
+     * @param bulkheadConfig custom bulkhead configuration
+     */
+    public FixedThreadPoolBulkhead(String name, ThreadPoolBulkheadConfig bulkheadConfig) {
+        this.name = name;
+        this.config = bulkheadConfig != null ? bulkheadConfig
+                                             : ThreadPoolBulkheadConfig.ofDefaults();
+        this.executorService = new ThreadPoolExecutor(config.getCoreThreadPoolSize(),
+                                                      config.getMaxThreadPoolSize(),
+                                                      config.getKeepAliveTime(), TimeUnit.MILLISECONDS,
+                                                      new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                                                      new BulkheadThreadFactory(name));
+        this.metrics = new BulkheadMetrics();
+        this.eventProcessor = new BulkheadEventProcessor();
+    }
+
+    /**
+     * Creates a bulkhead with a default config.
+     *
+     * @param name the name of this bulkhead
+     */
+    public FixedThreadPoolBulkhead(String name) {
+        this(name, ThreadPoolBulkheadConfig.ofDefaults());
+    }
+
+    @Override
+    public <T> CompletionStage<T> submit(Callable<T> callable) {
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        try {
+            executorService.execute(() -> {
+                try {
+                    promise.complete(callable.call());
+                } catch (Throwable throwable) {
+                    promise.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException rejected) {
+            if (executorService.isShutdown()) {
+                promise.completeExceptionally(new IllegalStateException(String.format("Bulkhead '%s' is closed", name)));
+                return promise;
+            }
+            publishBulkheadEvent(false);
+            promise.completeExceptionally(new BulkheadFullException(String.format("Bulkhead '%s' is full", name)));
+            return promise;
+        }
+        publishBulkheadEvent(true);
+        return promise;
+    }
+
+    @Override
+    public CompletionStage<Void> submit(Runnable runnable) {
+        return submit(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ThreadPoolBulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Bulkhead.EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FixedThreadPoolBulkhead '%s'", this.name);
+    }
+
+    private void publishBulkheadEvent(boolean callPermitted) {
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(callPermitted ? new BulkheadOnCallPermittedEvent(name)
+                                                      : new BulkheadOnCallRejectedEvent(name));
+        }
+    }
+
+    private class BulkheadEventProcessor extends EventProcessor<BulkheadEvent> implements Bulkhead.EventPublisher, EventConsumer<BulkheadEvent> {
+
+        @Override
+        public Bulkhead.EventPublisher onCallPermitted(EventConsumer<BulkheadOnCallPermittedEvent> onCallPermittedEventConsumer) {
+            registerConsumer(BulkheadOnCallPermittedEvent.class, onCallPermittedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public Bulkhead.EventPublisher onCallRejected(EventConsumer<BulkheadOnCallRejectedEvent> onCallRejectedEventConsumer) {
+            registerConsumer(BulkheadOnCallRejectedEvent.class, onCallRejectedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(BulkheadEvent event) {
+            super.processEvent(event);
+        }
+    }
+
+    private static final class BulkheadThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private BulkheadThreadFactory(String bulkheadName) {
+            this.namePrefix = "bulkhead-" + bulkheadName + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private final class BulkheadMetrics implements Metrics {
+        private BulkheadMetrics() {
+        }
+
+        @Override
+        public int getCoreThreadPoolSize() {
+            return executorService.getCorePoolSize();
+        }
+
+        @Override
+        public int getThreadPoolSize() {
+            return executorService.getPoolSize();
+        }
+
+        @Override
+        public int getMaximumThreadPoolSize() {
+            return executorService.getMaximumPoolSize();
+        }
+
+        @Override
+        public int getActiveThreadCount() {
+            return executorService.getActiveCount();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return executorService.getQueue().size();
+        }
+
+        @Override
+        public int getRemainingQueueCapacity() {
+            return executorService.getQueue().remainingCapacity();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return config.getQueueCapacity();
+        }
+    }
+}
@@ -21,6 +21,7 @@ package io.github.resilience4j.bulkhead.internal;
 
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.adaptive.LimitAlgorithm;
 import io.github.resilience4j.bulkhead.event.BulkheadEvent;
 import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
 import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
@@ -29,15 +30,23 @@ import io.github.resilience4j.core.EventProcessor;
 
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
  * A Bulkhead implementation based on a semaphore.
+ * <p>If fair call handling is disabled and the bulkhead does not wait for permits, a lock-free counter replaces
+ * the semaphore.
+ * <p>If the {@link BulkheadConfig} has a {@link LimitAlgorithm}, the number of permits of the semaphore follows
+ * the limit which the algorithm computes from the calls recorded by {@link #onSuccess(long)} and
+ * {@link #onError(long, Throwable)}. A lower limit takes effect as soon as enough calls in flight completed.
  */
 public class SemaphoreBulkhead implements Bulkhead{
 
     private final String name;
-    private final Semaphore semaphore;
+    private final Permits permits;
+    private final LimitAlgorithm limitAlgorithm;
+    private final AtomicInteger limit;
     private final BulkheadConfig bulkheadConfig;
     private final BulkheadMetrics metrics;
     private final BulkheadEventProcessor eventProcessor;
@@ -52,8 +61,18 @@ public class SemaphoreBulkhead implements Bulkhead{
         this.name = name;
         this.bulkheadConfig = bulkheadConfig != null ? bulkheadConfig
                                                      : BulkheadConfig.ofDefaults();
-        // init semaphore
-        this.semaphore = new Semaphore(this.bulkheadConfig.getMaxConcurrentCalls(), true);
+        this.limitAlgorithm = this.bulkheadConfig.getLimitAlgorithmSupplier() != null
+            ? this.bulkheadConfig.getLimitAlgorithmSupplier().get()
+            : null;
+        int initialLimit = limitAlgorithm != null ? limitAlgorithm.getLimit()
+                                                  : this.bulkheadConfig.getMaxConcurrentCalls();
+        this.limit = new AtomicInteger(initialLimit);
+        // init permits
+        if (this.bulkheadConfig.isFairCallHandlingEnabled() || this.bulkheadConfig.getMaxWaitTime() > 0) {
+            this.permits = new SemaphorePermits(initialLimit, this.bulkheadConfig.isFairCallHandlingEnabled());
+        } else {
+            this.permits = new AtomicPermits(initialLimit);
+        }
 
         this.metrics = new BulkheadMetrics();
         this.eventProcessor = new BulkheadEventProcessor();
@@ -84,17 +103,41 @@ public class SemaphoreBulkhead implements Bulkhead{
 
         boolean callPermitted = tryEnterBulkhead();
 
-        publishBulkheadEvent(
-            () -> callPermitted ? new BulkheadOnCallPermittedEvent(name)
-                                : new BulkheadOnCallRejectedEvent(name)
-        );
+        publishBulkheadEvent(callPermitted);
 
         return callPermitted;
     }
 
     @Override
     public void onComplete() {
-        semaphore.release();
+        permits.release(1);
+    }
+
+    @Override
+    public void onSuccess(long durationInNanos) {
+        if (limitAlgorithm != null) {
+            adjustLimit(durationInNanos, false);
+        }
+        onComplete();
+    }
+
+    @Override
+    public void onError(long durationInNanos, Throwable throwable) {
+        if (limitAlgorithm != null) {
+            adjustLimit(durationInNanos, true);
+        }
+        onComplete();
+    }
+
+    private void adjustLimit(long durationInNanos, boolean didDrop) {
+        int inFlight = limit.get() - permits.available();
+        int nextLimit = limitAlgorithm.onSample(durationInNanos, inFlight, didDrop);
+        int delta = nextLimit - limit.getAndSet(nextLimit);
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reduce(-delta);
+        }
     }
 
     @Override
@@ -144,38 +187,114 @@ public class SemaphoreBulkhead implements Bulkhead{
     }
 
     boolean tryEnterBulkhead() {
+        return permits.tryEnter(bulkheadConfig.getMaxWaitTime());
+    }
 
-        boolean callPermitted = false;
-        long timeout = bulkheadConfig.getMaxWaitTime();
+    private void publishBulkheadEvent(boolean callPermitted) {
+        if(eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(callPermitted ? new BulkheadOnCallPermittedEvent(name)
+                                                      : new BulkheadOnCallRejectedEvent(name));
+        }
+    }
 
-        if (timeout == 0) {
-            callPermitted = semaphore.tryAcquire();
+    private final class BulkheadMetrics implements Metrics {
+        private BulkheadMetrics() {
+        }
+
+        @Override
+        public int getAvailableConcurrentCalls() {
+            return Math.max(0, permits.available());
+        }
+
+        @Override
+        public int getMaxAllowedConcurrentCalls() {
+            return limit.get();
         }
-        else {
+    }
+
+    /**
+     * The permits of the bulkhead. The number of available permits can be negative after the limit was reduced.
+     */
+    private interface Permits {
+
+        boolean tryEnter(long timeoutInMillis);
+
+        void release(int count);
+
+        void reduce(int count);
+
+        int available();
+    }
+
+    /**
+     * Permits based on a {@link Semaphore}, which lets threads wait for a permit.
+     */
+    private static final class SemaphorePermits extends Semaphore implements Permits {
+
+        SemaphorePermits(int permits, boolean fair) {
+            super(permits, fair);
+        }
+
+        @Override
+        public boolean tryEnter(long timeoutInMillis) {
+            if (timeoutInMillis == 0) {
+                return tryAcquire();
+            }
             try {
-                callPermitted = semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+                return tryAcquire(timeoutInMillis, TimeUnit.MILLISECONDS);
             }
             catch (InterruptedException ex) {
-                callPermitted = false;
+                return false;
             }
         }
-        //
-        return callPermitted;
-    }
 
-    private void publishBulkheadEvent(Supplier<BulkheadEvent> eventSupplier) {
-        if(eventProcessor.hasConsumers()) {
-            eventProcessor.consumeEvent(eventSupplier.get());
+        @Override
+        public void reduce(int count) {
+            reducePermits(count);
+        }
+
+        @Override
+        public int available() {
+            return availablePermits();
         }
     }
 
-    private final class BulkheadMetrics implements Metrics {
-        private BulkheadMetrics() {
+    /**
+     * Permits based on a CAS counter, which never lets threads wait for a permit.
+     */
+    private static final class AtomicPermits implements Permits {
+
+        private final AtomicInteger available;
+
+        AtomicPermits(int permits) {
+            this.available = new AtomicInteger(permits);
         }
 
         @Override
-        public int getAvailableConcurrentCalls() {
-            return semaphore.availablePermits();
+        public boolean tryEnter(long timeoutInMillis) {
+            int current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        @Override
+        public void release(int count) {
+            available.addAndGet(count);
+        }
+
+        @Override
+        public void reduce(int count) {
+            available.addAndGet(-count);
+        }
+
+        @Override
+        public int available() {
+            return available.get();
         }
     }
 
@@ -41,6 +41,19 @@ public class BulkheadConfigTest {
         assertThat(config).isNotNull();
         assertThat(config.getMaxConcurrentCalls()).isEqualTo(maxConcurrent);
         assertThat(config.getMaxWaitTime()).isEqualTo(maxWait);
+        assertThat(config.isFairCallHandlingEnabled()).isTrue();
+    }
+
+    @Test
+    public void testBuildWithoutFairCallHandling() {
+
+        // when
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .fairCallHandling(false)
+                                              .build();
+
+        // then
+        assertThat(config.isFairCallHandlingEnabled()).isFalse();
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -62,4 +75,13 @@ public class BulkheadConfigTest {
                       .build();
     }
 
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalLimitAlgorithm() {
+
+        // when
+        BulkheadConfig.custom()
+                      .limitAlgorithm(null)
+                      .build();
+    }
 }
@@ -105,6 +105,25 @@ public class BulkheadTest {
         BDDMockito.then(helloWorldService).should(times(1)).returnHelloWorld();
     }
 
+    @Test
+    public void shouldNotReleasePermissionTwiceIfOnSuccessFails() {
+
+        // Given
+        Bulkhead bulkhead = Mockito.mock(Bulkhead.class);
+        BDDMockito.given(bulkhead.isCallPermitted()).willReturn(true);
+        BDDMockito.willThrow(new IllegalStateException("BAM!")).given(bulkhead).onSuccess(Mockito.anyLong());
+        BDDMockito.given(helloWorldService.returnHelloWorld()).willReturn("Hello world");
+
+        // When
+        Supplier<String> supplier = Bulkhead.decorateSupplier(bulkhead, helloWorldService::returnHelloWorld);
+        Try<String> result = Try.of(supplier::get);
+
+        //Then
+        assertThat(result.failed().get()).isInstanceOf(IllegalStateException.class);
+        BDDMockito.then(bulkhead).should(times(1)).onSuccess(Mockito.anyLong());
+        BDDMockito.then(bulkhead).should(Mockito.never()).onError(Mockito.anyLong(), Mockito.any());
+    }
+
     @Test
     public void shouldDecorateCheckedSupplierAndReturnWithSuccess() throws Throwable {
 
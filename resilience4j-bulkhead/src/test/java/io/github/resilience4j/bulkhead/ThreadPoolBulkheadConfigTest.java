@@ -0,0 +1,84 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+public class ThreadPoolBulkheadConfigTest {
+
+    @Test
+    public void testBuildCustom() {
+
+        // when
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+                                                                  .maxThreadPoolSize(4)
+                                                                  .coreThreadPoolSize(2)
+                                                                  .queueCapacity(10)
+                                                                  .keepAliveTime(50)
+                                                                  .build();
+
+        // then
+        assertThat(config).isNotNull();
+        assertThat(config.getMaxThreadPoolSize()).isEqualTo(4);
+        assertThat(config.getCoreThreadPoolSize()).isEqualTo(2);
+        assertThat(config.getQueueCapacity()).isEqualTo(10);
+        assertThat(config.getKeepAliveTime()).isEqualTo(50);
+    }
+
+    @Test
+    public void testBuildDefaults() {
+
+        // when
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.ofDefaults();
+
+        // then
+        assertThat(config.getCoreThreadPoolSize()).isLessThanOrEqualTo(config.getMaxThreadPoolSize());
+        assertThat(config.getQueueCapacity()).isEqualTo(ThreadPoolBulkheadConfig.DEFAULT_QUEUE_CAPACITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalMaxThreadPoolSize() {
+
+        // when
+        ThreadPoolBulkheadConfig.custom()
+                                .maxThreadPoolSize(0)
+                                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalQueueCapacity() {
+
+        // when
+        ThreadPoolBulkheadConfig.custom()
+                                .queueCapacity(0)
+                                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithCoreThreadPoolSizeAboveMax() {
+
+        // when
+        ThreadPoolBulkheadConfig.custom()
+                                .maxThreadPoolSize(1)
+                                .coreThreadPoolSize(2)
+                                .build();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.adaptive;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AimdLimitTest {
+
+    private static final long RTT = Duration.ofMillis(10).toNanos();
+
+    @Test
+    public void shouldIncreaseLimitWhenItIsUsedCompletely() {
+        AimdLimit limit = AimdLimit.custom().initialLimit(10).build();
+
+        assertThat(limit.onSample(RTT, 10, false)).isEqualTo(11);
+        assertThat(limit.onSample(RTT, 5, false)).isEqualTo(11);
+        assertThat(limit.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    public void shouldDecreaseLimitOnDropOrTimeout() {
+        AimdLimit limit = AimdLimit.custom()
+            .initialLimit(10)
+            .backoffRatio(0.5)
+            .timeout(Duration.ofSeconds(1))
+            .build();
+
+        assertThat(limit.onSample(RTT, 1, true)).isEqualTo(5);
+        assertThat(limit.onSample(Duration.ofSeconds(2).toNanos(), 1, false)).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldStayWithinBounds() {
+        AimdLimit limit = AimdLimit.custom()
+            .initialLimit(2)
+            .minLimit(2)
+            .maxLimit(3)
+            .build();
+
+        assertThat(limit.onSample(RTT, 2, true)).isEqualTo(2);
+        assertThat(limit.onSample(RTT, 2, false)).isEqualTo(3);
+        assertThat(limit.onSample(RTT, 3, false)).isEqualTo(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInitialLimitOutOfBounds() {
+        AimdLimit.custom().maxLimit(5).initialLimit(10).build();
+    }
+}
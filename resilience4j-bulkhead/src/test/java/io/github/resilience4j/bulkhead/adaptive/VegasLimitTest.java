@@ -0,0 +1,82 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.adaptive;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VegasLimitTest {
+
+    private static final long RTT = Duration.ofMillis(10).toNanos();
+
+    private VegasLimit limit(int initialLimit) {
+        VegasLimit limit = VegasLimit.custom()
+            .initialLimit(initialLimit)
+            .probeMultiplier(1000)
+            .build();
+        limit.onSample(RTT, 1, false);
+        return limit;
+    }
+
+    @Test
+    public void shouldIncreaseLimitWithoutQueue() {
+        VegasLimit limit = limit(10);
+
+        assertThat(limit.onSample(RTT, 10, false)).isEqualTo(16);
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenQueueBuildsUp() {
+        VegasLimit limit = limit(100);
+
+        assertThat(limit.onSample(RTT * 2, 100, false)).isEqualTo(98);
+    }
+
+    @Test
+    public void shouldDecreaseLimitOnDrop() {
+        VegasLimit limit = limit(100);
+
+        assertThat(limit.onSample(RTT, 1, true)).isEqualTo(98);
+    }
+
+    @Test
+    public void shouldIgnoreSamplesIfLimitIsNotUsed() {
+        VegasLimit limit = limit(100);
+
+        assertThat(limit.onSample(RTT, 10, false)).isEqualTo(100);
+    }
+
+    @Test
+    public void shouldMeasureRttWithoutLoadAgainAfterProbeInterval() {
+        VegasLimit limit = VegasLimit.custom()
+            .initialLimit(10)
+            .probeMultiplier(1)
+            .build();
+        for (int i = 0; i < 9; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+
+        limit.onSample(RTT * 2, 1, false);
+
+        assertThat(limit.onSample(RTT * 2, 10, false)).isEqualTo(16);
+    }
+}
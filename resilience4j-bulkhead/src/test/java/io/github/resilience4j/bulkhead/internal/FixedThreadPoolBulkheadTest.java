@@ -0,0 +1,151 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler, Lucas Lech
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.bulkhead.internal;
+
+import io.github.resilience4j.adapter.RxJava2Adapter;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static io.github.resilience4j.bulkhead.event.BulkheadEvent.Type.CALL_PERMITTED;
+import static io.github.resilience4j.bulkhead.event.BulkheadEvent.Type.CALL_REJECTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class FixedThreadPoolBulkheadTest {
+
+    private ThreadPoolBulkhead bulkhead;
+    private TestSubscriber<BulkheadEvent.Type> testSubscriber;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+                                                                  .maxThreadPoolSize(1)
+                                                                  .coreThreadPoolSize(1)
+                                                                  .queueCapacity(1)
+                                                                  .build();
+        bulkhead = ThreadPoolBulkhead.of("test", config);
+        testSubscriber = RxJava2Adapter.toFlowable(bulkhead.getEventPublisher())
+                                       .map(BulkheadEvent::getEventType)
+                                       .test();
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        bulkhead.close();
+    }
+
+    @Test
+    public void shouldReturnTheCorrectName() {
+        assertThat(bulkhead.getName()).isEqualTo("test");
+    }
+
+    @Test
+    public void shouldExecuteCallOnBulkheadThread() throws Exception {
+        CompletionStage<String> result = bulkhead.submit(() -> Thread.currentThread().getName());
+
+        assertThat(result.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("bulkhead-test-1");
+        testSubscriber.assertValues(CALL_PERMITTED);
+    }
+
+    @Test
+    public void shouldRejectCallIfThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletionStage<Void> running = bulkhead.submit(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletionStage<String> queued = bulkhead.submit(() -> "queued");
+
+        CompletionStage<String> rejected = bulkhead.submit(() -> "rejected");
+
+        assertThat(bulkhead.getMetrics().getActiveThreadCount()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getQueueDepth()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getRemainingQueueCapacity()).isEqualTo(0);
+        Throwable throwable = catchThrowable(() -> rejected.toCompletableFuture().get());
+        assertThat(throwable).isInstanceOf(ExecutionException.class)
+                             .hasCauseInstanceOf(BulkheadFullException.class);
+        testSubscriber.assertValues(CALL_PERMITTED, CALL_PERMITTED, CALL_REJECTED);
+
+        release.countDown();
+        running.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(queued.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    public void shouldNotReportCallsAfterCloseAsBulkheadFull() {
+        bulkhead.close();
+
+        CompletionStage<String> result = bulkhead.submit(() -> "Hello world");
+
+        Throwable throwable = catchThrowable(() -> result.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertThat(throwable).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(throwable.getCause()).hasMessage("Bulkhead 'test' is closed");
+        testSubscriber.assertNoValues();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfCallFails() {
+        CompletionStage<String> result = bulkhead.submit(() -> {
+            throw new IllegalStateException("BAM!");
+        });
+
+        Throwable throwable = catchThrowable(() -> result.toCompletableFuture().get(5, TimeUnit.SECONDS));
+
+        assertThat(throwable).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldDecorateSupplier() throws Exception {
+        Supplier<CompletionStage<String>> supplier = ThreadPoolBulkhead.decorateSupplier(bulkhead, () -> "Hello world");
+
+        assertThat(supplier.get().toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+    }
+
+    @Test
+    public void shouldReturnConfiguredMetrics() {
+        assertThat(bulkhead.getMetrics().getCoreThreadPoolSize()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getMaximumThreadPoolSize()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getQueueCapacity()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getQueueDepth()).isEqualTo(0);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -21,17 +21,24 @@ package io.github.resilience4j.bulkhead.internal;
 import io.github.resilience4j.adapter.RxJava2Adapter;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.adaptive.AimdLimit;
 import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.test.Allocations;
 import io.reactivex.subscribers.TestSubscriber;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static io.github.resilience4j.bulkhead.event.BulkheadEvent.Type.*;
 
+import static com.jayway.awaitility.Awaitility.await;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 public class SemaphoreBulkheadTest {
 
@@ -188,4 +195,135 @@ public class SemaphoreBulkheadTest {
             ex.printStackTrace();
         }
     }
+    @Test
+    public void shouldAdaptLimitToRecordedCalls() {
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .limitAlgorithm(() -> AimdLimit.custom()
+                                                                             .initialLimit(2)
+                                                                             .backoffRatio(0.5)
+                                                                             .build())
+                                              .build();
+        Bulkhead adaptiveBulkhead = Bulkhead.of("adaptive", config);
+
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+        assertThat(adaptiveBulkhead.isCallPermitted()).isFalse();
+
+        adaptiveBulkhead.onSuccess(1000);
+
+        assertThat(adaptiveBulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(3);
+        assertThat(adaptiveBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+
+        adaptiveBulkhead.onError(1000, new RuntimeException("BAM!"));
+
+        assertThat(adaptiveBulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(1);
+        assertThat(adaptiveBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+        assertThat(adaptiveBulkhead.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    public void shouldReportFixedLimitWithoutLimitAlgorithm() {
+        assertThat(bulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLimitCallsWithLockFreeCounterIfFairCallHandlingIsDisabled() {
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .maxConcurrentCalls(2)
+                                              .maxWaitTime(0)
+                                              .fairCallHandling(false)
+                                              .build();
+        Bulkhead nonFairBulkhead = Bulkhead.of("non-fair", config);
+
+        assertThat(nonFairBulkhead.isCallPermitted()).isTrue();
+        assertThat(nonFairBulkhead.isCallPermitted()).isTrue();
+        assertThat(nonFairBulkhead.isCallPermitted()).isFalse();
+        assertThat(nonFairBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(0);
+
+        nonFairBulkhead.onComplete();
+
+        assertThat(nonFairBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(nonFairBulkhead.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    public void shouldAdaptLimitOfLockFreeCounter() {
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .fairCallHandling(false)
+                                              .limitAlgorithm(() -> AimdLimit.custom()
+                                                                             .initialLimit(2)
+                                                                             .backoffRatio(0.5)
+                                                                             .build())
+                                              .build();
+        Bulkhead adaptiveBulkhead = Bulkhead.of("adaptive", config);
+
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+
+        adaptiveBulkhead.onError(1000, new RuntimeException("BAM!"));
+
+        assertThat(adaptiveBulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(1);
+        assertThat(adaptiveBulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(0);
+        assertThat(adaptiveBulkhead.isCallPermitted()).isFalse();
+
+        adaptiveBulkhead.onComplete();
+
+        assertThat(adaptiveBulkhead.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    public void shouldWaitForPermitIfFairCallHandlingIsDisabled() throws InterruptedException {
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .maxConcurrentCalls(1)
+                                              .maxWaitTime(1000)
+                                              .fairCallHandling(false)
+                                              .build();
+        Bulkhead nonFairBulkhead = Bulkhead.of("non-fair", config);
+        nonFairBulkhead.isCallPermitted();
+        AtomicBoolean entered = new AtomicBoolean(false);
+        Thread waiting = new Thread(() -> entered.set(nonFairBulkhead.isCallPermitted()));
+
+        waiting.start();
+        nonFairBulkhead.onComplete();
+        waiting.join(2000);
+
+        assertThat(entered.get()).isTrue();
+    }
+
+    @Test
+    public void shouldWaitForPermitWithoutHoldingMonitor() throws InterruptedException {
+        BulkheadConfig config = BulkheadConfig.custom()
+                                              .maxConcurrentCalls(1)
+                                              .maxWaitTime(5000)
+                                              .build();
+        Bulkhead waitingBulkhead = Bulkhead.of("waiting", config);
+        waitingBulkhead.isCallPermitted();
+        Thread waitingThread = new Thread(waitingBulkhead::isCallPermitted);
+
+        waitingThread.start();
+        await().atMost(5, SECONDS).until(() -> waitingThread.getState() == Thread.State.TIMED_WAITING);
+
+        ThreadInfo threadInfo = ManagementFactory.getThreadMXBean()
+                                                 .getThreadInfo(new long[]{waitingThread.getId()}, true, true)[0];
+        assertThat(threadInfo.getLockedMonitors()).isEmpty();
+        waitingBulkhead.onComplete();
+        waitingThread.join(5000);
+    }
+
+    @Test
+    public void shouldNotAllocateWithoutEventConsumers() {
+        assumeTrue(Allocations.isMeasurable());
+        Bulkhead bulkheadWithoutConsumers = Bulkhead.of("test", BulkheadConfig.custom()
+            .maxConcurrentCalls(2)
+            .maxWaitTime(0)
+            .build());
+        Supplier<String> decorated = Bulkhead.decorateSupplier(bulkheadWithoutConsumers, () -> "Hello world");
+        String[] result = new String[1];
+
+        long allocatedBytes = Allocations.minAllocatedBytesPerRound(() -> result[0] = decorated.get());
+
+        assertThat(allocatedBytes).isEqualTo(0);
+        assertThat(result[0]).isEqualTo("Hello world");
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures a cache hit through a decorated supplier. Run with the {@link GCProfiler}: without event consumers,
+ * gc.alloc.rate.norm of cacheHit and nearCacheHit is expected to be 0 B/op. The JCache of these benchmarks is an
+ * in-memory map, so nearCacheHit only shows the overhead of the near cache, not the saved network hop.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class CacheBenchmark {
+
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 10;
+    private static final int THREAD_COUNT = 2;
+    private static final int FORK_COUNT = 2;
+
+    private static final String KEY = "key";
+    private static final int BULK_SIZE = 100;
+
+    private Function<String, String> cachedFunction;
+    private Function<String, String> cachedFunctionWithSb;
+    private Function<String, String> nearCachedFunction;
+    private Cache<String, String> bulkCache;
+    private Set<String> bulkKeys;
+
+    @Setup
+    public void setUp() {
+        Cache<String, String> cache = Cache.of(new ConcurrentMapCache<>("testCache"));
+        cachedFunction = Cache.decorateSupplier(cache, () -> "Hello Benchmark");
+        cachedFunction.apply(KEY);
+
+        Cache<String, String> cacheWithSubscriber = Cache.of(new ConcurrentMapCache<>("testCacheWithSb"));
+        cacheWithSubscriber.getEventPublisher().onEvent(event -> { });
+        cachedFunctionWithSb = Cache.decorateSupplier(cacheWithSubscriber, () -> "Hello Benchmark");
+        cachedFunctionWithSb.apply(KEY);
+
+        Cache<String, String> cacheWithNearCache = Cache.of(new ConcurrentMapCache<>("testCacheWithNearCache"),
+            CacheConfig.custom()
+                .nearCache(1000, Duration.ofMinutes(10))
+                .build());
+        nearCachedFunction = Cache.decorateSupplier(cacheWithNearCache, () -> "Hello Benchmark");
+        nearCachedFunction.apply(KEY);
+
+        bulkCache = Cache.of(new ConcurrentMapCache<>("testBulkCache"));
+        bulkKeys = new HashSet<>();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            bulkKeys.add(KEY + i);
+        }
+        bulkCache.computeAllIfAbsent(bulkKeys, CacheBenchmark::loadAll);
+    }
+
+    private static Map<String, String> loadAll(Set<String> keys) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            values.put(key, "Hello Benchmark");
+        }
+        return values;
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String cacheHit() {
+        return cachedFunction.apply(KEY);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String cacheHitWithSubscriber() {
+        return cachedFunctionWithSb.apply(KEY);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String nearCacheHit() {
+        return nearCachedFunction.apply(KEY);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public Map<String, String> bulkCacheHit() {
+        return bulkCache.computeAllIfAbsent(bulkKeys, CacheBenchmark::loadAll);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(CacheBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulates bursts of calls for cold keys: every key is requested CALLS_PER_KEY times by concurrent threads and
+ * the backend takes 100µs to respond. Compare the backendCalls counter with the number of operations:
+ * without request coalescing every call which misses the cache during the load calls the backend, with request
+ * coalescing the backend is called once per key.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class CoalescingBenchmark {
+
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 10;
+    private static final int THREAD_COUNT = 16;
+    private static final int FORK_COUNT = 2;
+
+    private static final int CALLS_PER_KEY = 64;
+    private static final long BACKEND_LATENCY_IN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"true", "false"})
+    private boolean requestCoalescing;
+
+    private final AtomicLong calls = new AtomicLong();
+    private Cache<Long, String> cache;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        cache = Cache.of(new ConcurrentMapCache<>("testCache"), CacheConfig.custom()
+            .requestCoalescing(requestCoalescing)
+            .build());
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class BackendCalls {
+
+        public long backendCalls;
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String coldKeyBurst(BackendCalls counters) {
+        long key = calls.getAndIncrement() / CALLS_PER_KEY;
+        return cache.computeIfAbsent(key, () -> {
+            counters.backendCalls++;
+            LockSupport.parkNanos(BACKEND_LATENCY_IN_NANOS);
+            return "Hello Benchmark";
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(CoalescingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -27,8 +27,15 @@ import io.github.resilience4j.core.EventConsumer;
 import io.vavr.CheckedFunction0;
 import io.vavr.CheckedFunction1;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -46,10 +53,22 @@ public interface Cache<K, V>  {
      */
     Metrics getMetrics();
 
+    /**
+     * Returns the CacheConfig of this Cache.
+     * <p>The default implementation returns the default CacheConfig.
+     *
+     * @return the CacheConfig of this Cache
+     */
+    default CacheConfig getCacheConfig() {
+        return CacheConfig.ofDefaults();
+    }
+
     /**
      * If the key is not already associated with a cached value, attempts to compute its value using the
      * given supplier and puts it into the cache. Otherwise it returns the cached value.
      * If the function itself throws an (unchecked) exception, the exception is rethrown.
+     * If request coalescing is enabled, concurrent calls for a key which is being computed
+     * wait for that computation and return its result or rethrow its exception.
      *
      * @param key   key with which the specified value is to be associated
      * @param supplier value to be associated with the specified key
@@ -58,6 +77,56 @@ public interface Cache<K, V>  {
      */
     V computeIfAbsent(K key, CheckedFunction0<V> supplier);
 
+    /**
+     * If the key is not already associated with a cached value, attempts to compute its value using the
+     * given supplier and puts it into the cache. Otherwise it returns the cached value.
+     * The JCache is looked up and populated on the executor of the CacheConfig, so that the calling thread
+     * is never blocked. If the supplier throws an exception or its stage completes exceptionally, the returned
+     * stage completes with that exception. If request coalescing is enabled, concurrent calls for a key which
+     * is being computed share the result of that computation.
+     * <p>The default implementation calls {@link #computeIfAbsent} on the executor of the CacheConfig, which blocks
+     * a thread of the executor until the supplied stage completes.
+     *
+     * @param key      key with which the specified value is to be associated
+     * @param supplier supplier of a stage of the value to be associated with the specified key
+     *
+     * @return a stage of the cached value
+     */
+    default CompletionStage<V> computeIfAbsentAsync(K key, Supplier<CompletionStage<V>> supplier) {
+        return CompletableFuture.supplyAsync(() -> computeIfAbsent(key, () -> {
+            try {
+                return supplier.get().toCompletableFuture().get();
+            } catch (ExecutionException exception) {
+                throw exception.getCause();
+            }
+        }), getCacheConfig().getAsyncExecutor());
+    }
+
+    /**
+     * Returns the cached values of the given keys and computes the values of the keys which are not cached
+     * using the given loader. The cache is read with one call to {@code getAll} and the computed values are put into
+     * the cache with one call to {@code putAll}. The loader is called once with the set of the missing keys, and
+     * not at all if every key is cached. Keys for which the loader returns no value are absent from the result.
+     * If the loader throws an exception, the exception is rethrown.
+     * <p>The default implementation calls {@link #computeIfAbsent} for every key, so that the loader is called
+     * once per missing key.
+     *
+     * @param keys   the keys whose values are to be returned
+     * @param loader function which computes the values of the given missing keys
+     *
+     * @return the cached and the computed values by key
+     */
+    default Map<K, V> computeAllIfAbsent(Set<? extends K> keys, CheckedFunction1<Set<K>, Map<K, V>> loader) {
+        Map<K, V> values = new HashMap<>();
+        for (K key : keys) {
+            V value = computeIfAbsent(key, () -> loader.apply(Collections.singleton(key)).get(key));
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
     /**
      * Returns an EventPublisher which can be used to register event consumers.
      *
@@ -65,6 +134,14 @@ public interface Cache<K, V>  {
      */
     EventPublisher getEventPublisher();
 
+    /**
+     * Deregisters the listener, which the near cache registered on the wrapped JCache to invalidate its entries.
+     * A Cache with a near cache should be closed once it is no longer used, as the JCache holds on to the listener
+     * otherwise. The wrapped JCache is not closed.
+     */
+    default void close() {
+    }
+
     /**
      * Creates a Retry with default configuration.
      *
@@ -74,8 +151,22 @@ public interface Cache<K, V>  {
      * @return a Cache
      */
     static <K,V> Cache<K,V> of(javax.cache.Cache<K, V> cache){
+        return of(cache, CacheConfig.ofDefaults());
+    }
+
+    /**
+     * Creates a Cache with a custom Cache configuration.
+     *
+     * @param cache the wrapped JCache instance
+     * @param cacheConfig a custom Cache configuration
+     * @param <K> the type of key
+     * @param <V> the type of value
+     * @return a Cache
+     */
+    static <K,V> Cache<K,V> of(javax.cache.Cache<K, V> cache, CacheConfig cacheConfig){
         Objects.requireNonNull(cache, "Cache must not be null");
-        return new CacheImpl<>(cache);
+        Objects.requireNonNull(cacheConfig, "CacheConfig must not be null");
+        return new CacheImpl<>(cache, cacheConfig);
     }
 
     /**
@@ -103,7 +194,8 @@ public interface Cache<K, V>  {
      * @return a supplier which is secured by a CircuitBreaker.
      */
     static <K, R> Function<K, R> decorateSupplier(Cache<K, R> cache, Supplier<R> supplier){
-        return (K cacheKey) -> cache.computeIfAbsent(cacheKey, supplier::get);
+        CheckedFunction0<R> checkedSupplier = supplier::get;
+        return (K cacheKey) -> cache.computeIfAbsent(cacheKey, checkedSupplier);
     }
 
     /**
@@ -117,7 +209,22 @@ public interface Cache<K, V>  {
      * @return a supplier which is secured by a CircuitBreaker.
      */
     static <K, R> CheckedFunction1<K, R> decorateCallable(Cache<K, R> cache, Callable<R> callable){
-        return (K cacheKey) -> cache.computeIfAbsent(cacheKey, callable::call);
+        CheckedFunction0<R> checkedSupplier = callable::call;
+        return (K cacheKey) -> cache.computeIfAbsent(cacheKey, checkedSupplier);
+    }
+
+    /**
+     * Creates a functions which returns a stage of a value from a cache, if it exists.
+     * Otherwise it calls the Supplier of the CompletionStage.
+     *
+     * @param cache the Cache
+     * @param supplier the original Supplier of a CompletionStage
+     * @param <K> the type of key
+     * @param <R> the type of value
+     * @return a function which returns a stage of the cached value
+     */
+    static <K, R> Function<K, CompletionStage<R>> decorateCompletionStage(Cache<K, R> cache, Supplier<CompletionStage<R>> supplier){
+        return (K cacheKey) -> cache.computeIfAbsentAsync(cacheKey, supplier);
     }
 
     interface Metrics {
@@ -129,12 +236,66 @@ public interface Cache<K, V>  {
          */
         long getNumberOfCacheHits();
 
+        /**
+         * Returns the current number of cache hits which were served by the near cache.
+         * It is always 0 if the near cache is disabled.
+         * <p>The default implementation returns 0, for caches without a near cache.
+         *
+         * @return the current number of near cache hits
+         */
+        default long getNumberOfL1CacheHits() {
+            return 0;
+        }
+
+        /**
+         * Returns the current number of cache hits which were served by the JCache.
+         * <p>The default implementation counts every cache hit as a JCache hit.
+         *
+         * @return the current number of JCache hits
+         */
+        default long getNumberOfL2CacheHits() {
+            return getNumberOfCacheHits();
+        }
+
         /**
          * Returns the current number of cache misses.
          *
          * @return the current number of cache misses
          */
         long getNumberOfCacheMisses();
+
+        /**
+         * Returns the current number of calls which waited for the value of a concurrent call
+         * instead of loading it themselves.
+         * <p>The default implementation returns 0, for caches which do not coalesce calls.
+         *
+         * @return the current number of coalesced calls
+         */
+        default long getNumberOfCoalescedCalls() {
+            return 0;
+        }
+
+        /**
+         * Returns the current number of background refreshes which were started for stale entries of the near cache.
+         * It is always 0 if stale-while-revalidate is disabled.
+         * <p>The default implementation returns 0, for caches which do not refresh entries.
+         *
+         * @return the current number of background refreshes
+         */
+        default long getNumberOfBackgroundRefreshes() {
+            return 0;
+        }
+
+        /**
+         * Returns the current number of calls which returned an expired value, because the supplier failed.
+         * It is always 0 if serve-stale-on-failure is disabled.
+         * <p>The default implementation returns 0, for caches which do not serve stale values.
+         *
+         * @return the current number of stale hits
+         */
+        default long getNumberOfStaleHits() {
+            return 0;
+        }
     }
 
     /**
@@ -0,0 +1,217 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A {@link CacheConfig} configures a {@link Cache}
+ */
+public class CacheConfig {
+
+    public static final Duration DEFAULT_COALESCED_CALL_TIMEOUT = Duration.ofSeconds(5);
+
+    private boolean requestCoalescingEnabled = false;
+    private Duration coalescedCallTimeout = DEFAULT_COALESCED_CALL_TIMEOUT;
+    private int nearCacheMaximumSize = 0;
+    private Duration nearCacheTimeToLive = Duration.ZERO;
+    private Duration refreshAfter = Duration.ZERO;
+    private boolean serveStaleOnFailureEnabled = false;
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+
+    private CacheConfig() { }
+
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescingEnabled;
+    }
+
+    public Duration getCoalescedCallTimeout() {
+        return coalescedCallTimeout;
+    }
+
+    public boolean isNearCacheEnabled() {
+        return nearCacheMaximumSize > 0;
+    }
+
+    public int getNearCacheMaximumSize() {
+        return nearCacheMaximumSize;
+    }
+
+    public Duration getNearCacheTimeToLive() {
+        return nearCacheTimeToLive;
+    }
+
+    public boolean isStaleWhileRevalidateEnabled() {
+        return !refreshAfter.isZero();
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public boolean isServeStaleOnFailureEnabled() {
+        return serveStaleOnFailureEnabled;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Returns a builder to create a custom CacheConfig.
+     *
+     * @return a {@link Builder}
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a default Cache configuration.
+     *
+     * @return a default Cache configuration.
+     */
+    public static CacheConfig ofDefaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+
+        private CacheConfig config = new CacheConfig();
+
+        /**
+         * Configures whether concurrent cache misses of the same key are coalesced. If enabled, only one call
+         * per key loads the value, while the other calls wait for its result instead of calling the backend as well.
+         * If the load fails, the waiting calls fail with the same exception instead of calling the backend themselves.
+         * Request coalescing is disabled by default.
+         *
+         * @param requestCoalescingEnabled true to load the value of a key only once at a time
+         * @return the CacheConfig.Builder
+         */
+        public Builder requestCoalescing(boolean requestCoalescingEnabled) {
+            config.requestCoalescingEnabled = requestCoalescingEnabled;
+            return this;
+        }
+
+        /**
+         * Configures how long the load of a key is shared with concurrent calls. When the load takes longer,
+         * the waiting calls stop waiting and the next of them loads the value itself, so that a hanging
+         * load of one key does not block the calls for that key indefinitely.
+         *
+         * @param coalescedCallTimeout the maximum time to wait for the load of a concurrent call
+         * @return the CacheConfig.Builder
+         */
+        public Builder coalescedCallTimeout(Duration coalescedCallTimeout) {
+            if (coalescedCallTimeout == null || coalescedCallTimeout.isNegative() || coalescedCallTimeout.isZero()) {
+                throw new IllegalArgumentException("coalescedCallTimeout must be greater than 0");
+            }
+            config.coalescedCallTimeout = coalescedCallTimeout;
+            return this;
+        }
+
+        /**
+         * Enables a bounded on-heap near cache in front of the JCache, which serves the most frequently read keys
+         * without a call to the JCache. This saves the serialization and the network hop of a distributed JCache,
+         * at the price of reading a value which is at most timeToLive old. The near cache is disabled by default.
+         *
+         * An entry is invalidated when the JCache notifies the Cache that the key was updated, removed or expired.
+         * JCache providers which do not support listeners only rely on the time to live.
+         *
+         * @param maximumSize the maximum number of entries of the near cache
+         * @param timeToLive  the time after which an entry of the near cache expires
+         * @return the CacheConfig.Builder
+         */
+        public Builder nearCache(int maximumSize, Duration timeToLive) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be a positive integer value >= 1");
+            }
+            if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("timeToLive must be greater than 0");
+            }
+            config.nearCacheMaximumSize = maximumSize;
+            config.nearCacheTimeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Enables stale-while-revalidate for the near cache. An entry of the near cache becomes stale, its soft expiry,
+         * after refreshAfter and expires, its hard expiry, after the time to live of the near cache.
+         * A stale entry is still returned immediately, while a single background refresh per key calls the supplier
+         * on the async executor and replaces the entry. If the refresh fails, the next one starts after another
+         * refreshAfter. Stale-while-revalidate is disabled by default and requires a near cache.
+         *
+         * @param refreshAfter the time after which an entry of the near cache is refreshed in the background,
+         *                     which must be less than the time to live of the near cache
+         * @return the CacheConfig.Builder
+         */
+        public Builder staleWhileRevalidate(Duration refreshAfter) {
+            if (refreshAfter == null || refreshAfter.isNegative() || refreshAfter.isZero()) {
+                throw new IllegalArgumentException("refreshAfter must be greater than 0");
+            }
+            config.refreshAfter = refreshAfter;
+            return this;
+        }
+
+        /**
+         * Configures whether an expired entry of the near cache is returned when the supplier fails, for example
+         * because the backend is down or its CircuitBreaker is open. Expired entries are then retained until they are
+         * evicted by the maximum size or invalidated by the JCache. Disabled by default and requires a near cache.
+         *
+         * @param serveStaleOnFailureEnabled true to return an expired value instead of the failure of the supplier
+         * @return the CacheConfig.Builder
+         */
+        public Builder serveStaleOnFailure(boolean serveStaleOnFailureEnabled) {
+            config.serveStaleOnFailureEnabled = serveStaleOnFailureEnabled;
+            return this;
+        }
+
+        /**
+         * Configures the executor which looks up and populates the JCache for
+         * {@link Cache#computeIfAbsentAsync(Object, java.util.function.Supplier)} and refreshes stale entries. The calls to the JCache may block,
+         * so an executor dedicated to I/O is recommended for a distributed JCache. Defaults to the common ForkJoinPool.
+         *
+         * @param asyncExecutor the executor of the asynchronous JCache calls
+         * @return the CacheConfig.Builder
+         */
+        public Builder asyncExecutor(Executor asyncExecutor) {
+            if (asyncExecutor == null) {
+                throw new IllegalArgumentException("asyncExecutor must not be null");
+            }
+            config.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Builds a CacheConfig
+         *
+         * @return the CacheConfig
+         */
+        public CacheConfig build() {
+            if ((config.isStaleWhileRevalidateEnabled() || config.serveStaleOnFailureEnabled) && !config.isNearCacheEnabled()) {
+                throw new IllegalArgumentException("staleWhileRevalidate and serveStaleOnFailure require a near cache");
+            }
+            if (config.isStaleWhileRevalidateEnabled() && config.refreshAfter.compareTo(config.nearCacheTimeToLive) >= 0) {
+                throw new IllegalArgumentException("refreshAfter must be less than the timeToLive of the near cache");
+            }
+            return config;
+        }
+    }
+}
@@ -18,16 +18,18 @@
  */
 package io.github.resilience4j.cache.event;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 abstract class AbstractCacheEvent implements CacheEvent {
 
     private final String cacheName;
-    private final ZonedDateTime creationTime;
+    private final long creationTimeInMillis;
 
     AbstractCacheEvent(String cacheName) {
         this.cacheName = cacheName;
-        this.creationTime = ZonedDateTime.now();
+        this.creationTimeInMillis = System.currentTimeMillis();
     }
 
     @Override
@@ -37,6 +39,6 @@ abstract class AbstractCacheEvent implements CacheEvent {
 
     @Override
     public ZonedDateTime getCreationTime() {
-        return creationTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(creationTimeInMillis), ZoneId.systemDefault());
     }
 }
@@ -19,6 +19,7 @@
 package io.github.resilience4j.cache.internal;
 
 import io.github.resilience4j.cache.Cache;
+import io.github.resilience4j.cache.CacheConfig;
 import io.github.resilience4j.cache.event.CacheEvent;
 import io.github.resilience4j.cache.event.CacheOnErrorEvent;
 import io.github.resilience4j.cache.event.CacheOnHitEvent;
@@ -26,11 +27,28 @@ import io.github.resilience4j.cache.event.CacheOnMissEvent;
 import io.github.resilience4j.core.EventConsumer;
 import io.github.resilience4j.core.EventProcessor;
 import io.vavr.CheckedFunction0;
-import io.vavr.control.Option;
+import io.vavr.CheckedFunction1;
 import io.vavr.control.Try;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
@@ -39,15 +57,44 @@ public class CacheImpl<K, V>  implements Cache<K,V> {
     private static final Logger LOG = LoggerFactory.getLogger(CacheImpl.class);
 
     private final javax.cache.Cache<K, V> cache;
+    private final CacheConfig cacheConfig;
+    private final long coalescedCallTimeoutInNanos;
+    private final ConcurrentMap<K, InFlightLoad<V>> inFlightLoads;
+    private final NearCache<K, V> nearCache;
+    private final CacheEntryListenerConfiguration<K, V> invalidationListenerConfiguration;
     private final CacheMetrics metrics;
     private final CacheEventProcessor eventProcessor;
 
     public CacheImpl(javax.cache.Cache<K, V> cache) {
+        this(cache, CacheConfig.ofDefaults());
+    }
+
+    public CacheImpl(javax.cache.Cache<K, V> cache, CacheConfig cacheConfig) {
         this.cache = cache;
+        this.cacheConfig = cacheConfig;
+        this.coalescedCallTimeoutInNanos = cacheConfig.getCoalescedCallTimeout().toNanos();
+        this.inFlightLoads = new ConcurrentHashMap<>();
+        this.nearCache = cacheConfig.isNearCacheEnabled() ? new NearCache<>(cacheConfig.getNearCacheMaximumSize(),
+            cacheConfig.getNearCacheTimeToLive().toNanos(), cacheConfig.getRefreshAfter().toNanos(),
+            cacheConfig.isServeStaleOnFailureEnabled()) : null;
+        this.invalidationListenerConfiguration = nearCache != null ? registerInvalidationListener(cache, nearCache) : null;
         this.metrics = new CacheMetrics();
         this.eventProcessor = new CacheEventProcessor();
     }
 
+    private static <K, V> CacheEntryListenerConfiguration<K, V> registerInvalidationListener(javax.cache.Cache<K, V> cache,
+                                                                                           NearCache<K, V> nearCache) {
+        CacheEntryListenerConfiguration<K, V> listenerConfiguration = nearCache.invalidationListenerConfiguration();
+        try {
+            cache.registerCacheEntryListener(listenerConfiguration);
+            return listenerConfiguration;
+        } catch (Exception exception) {
+            LOG.warn(String.format("Failed to register a listener on Cache %s, near cache entries are only invalidated by their time to live",
+                cache.getName()), exception);
+            return null;
+        }
+    }
+
     @Override
     public String getName() {
         return cache.getName();
@@ -58,10 +105,375 @@ public class CacheImpl<K, V>  implements Cache<K,V> {
         return metrics;
     }
 
+    @Override
+    public void close() {
+        if (invalidationListenerConfiguration == null) {
+            return;
+        }
+        try {
+            cache.deregisterCacheEntryListener(invalidationListenerConfiguration);
+        } catch (Exception exception) {
+            LOG.warn(String.format("Failed to deregister the listener of the near cache from Cache %s", getName()), exception);
+        }
+    }
+
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
     @Override
     public V computeIfAbsent(K cacheKey, CheckedFunction0<V> supplier) {
-        return getValueFromCache(cacheKey)
-                .getOrElse(() -> computeAndPut(cacheKey, supplier));
+        NearCache.Node<K, V> expiredEntry = null;
+        if (nearCache != null) {
+            NearCache.Node<K, V> entry = getEntryFromNearCache(cacheKey);
+            if (entry != null) {
+                if (!entry.isExpired()) {
+                    if (nearCache.tryStartRefresh(entry)) {
+                        refresh(cacheKey, () -> {
+                            CompletableFuture<V> promise = new CompletableFuture<>();
+                            Try.of(supplier).onSuccess(promise::complete).onFailure(promise::completeExceptionally);
+                            return promise;
+                        });
+                    }
+                    return entry.getValue();
+                }
+                expiredEntry = entry;
+            }
+        }
+        V cachedValue = getValueFromBackendCache(cacheKey);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+        if (expiredEntry == null) {
+            return compute(cacheKey, supplier);
+        }
+        try {
+            return compute(cacheKey, supplier);
+        } catch (Throwable throwable) {
+            return serveStale(expiredEntry, throwable);
+        }
+    }
+
+    private V compute(K cacheKey, CheckedFunction0<V> supplier) {
+        if (cacheConfig.isRequestCoalescingEnabled()) {
+            return computeCoalesced(cacheKey, supplier);
+        }
+        return computeAndPut(cacheKey, supplier);
+    }
+
+    /**
+     * Returns the value of the expired entry instead of the failure of the supplier.
+     * The near cache only retains expired entries if serve-stale-on-failure is enabled.
+     */
+    private V serveStale(NearCache.Node<K, V> expiredEntry, Throwable throwable) {
+        LOG.debug(String.format("Serving an expired value of Cache %s, because the supplier failed", getName()), throwable);
+        metrics.onStaleHit();
+        return expiredEntry.getValue();
+    }
+
+    /**
+     * Calls the supplier of a stale entry on the executor of the CacheConfig and puts its value into the cache.
+     * The caller has already received the stale value, so a failure is only logged.
+     */
+    private void refresh(K cacheKey, Supplier<CompletionStage<V>> supplier) {
+        metrics.onBackgroundRefresh();
+        Executor executor = cacheConfig.getAsyncExecutor();
+        try {
+            executor.execute(() -> {
+                try {
+                    supplier.get().whenCompleteAsync((value, throwable) -> {
+                        if (throwable != null) {
+                            onRefreshFailure(throwable);
+                        } else {
+                            putValueIntoCache(cacheKey, value);
+                        }
+                    }, executor);
+                } catch (Throwable throwable) {
+                    onRefreshFailure(throwable);
+                }
+            });
+        } catch (Throwable throwable) {
+            onRefreshFailure(throwable);
+        }
+    }
+
+    private void onRefreshFailure(Throwable throwable) {
+        LOG.warn(String.format("Failed to refresh a stale value of Cache %s", getName()), throwable);
+    }
+
+    /**
+     * Computes the value, unless a concurrent call is already computing the value of the same key.
+     * In that case the call waits for the result of the concurrent call until the deadline of that load.
+     * A load which exceeded its deadline is replaced, so that the next call loads the value itself.
+     */
+    private V computeCoalesced(K cacheKey, CheckedFunction0<V> supplier) {
+        boolean coalesced = false;
+        while (true) {
+            InFlightLoad<V> load = new InFlightLoad<>(System.nanoTime() + coalescedCallTimeoutInNanos);
+            InFlightLoad<V> inFlightLoad = inFlightLoads.putIfAbsent(cacheKey, load);
+            if (inFlightLoad == null) {
+                return computeAndPut(cacheKey, supplier, load);
+            }
+            if (!coalesced) {
+                coalesced = true;
+                metrics.onCoalescedCall();
+            }
+            long remainingNanos = inFlightLoad.deadline - System.nanoTime();
+            if (remainingNanos > 0) {
+                try {
+                    return inFlightLoad.get(remainingNanos, TimeUnit.NANOSECONDS);
+                } catch (ExecutionException exception) {
+                    return Try.<V>failure(exception.getCause()).get();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return Try.<V>failure(exception).get();
+                } catch (TimeoutException exception) {
+                    LOG.debug("Timed out waiting for a concurrent call of Cache {}", getName());
+                }
+            }
+            if (inFlightLoads.replace(cacheKey, inFlightLoad, load)) {
+                return computeAndPut(cacheKey, supplier, load);
+            }
+        }
+    }
+
+    @Override
+    public CompletionStage<V> computeIfAbsentAsync(K cacheKey, Supplier<CompletionStage<V>> supplier) {
+        NearCache.Node<K, V> expiredEntry = null;
+        if (nearCache != null) {
+            NearCache.Node<K, V> entry = getEntryFromNearCache(cacheKey);
+            if (entry != null) {
+                if (!entry.isExpired()) {
+                    if (nearCache.tryStartRefresh(entry)) {
+                        refresh(cacheKey, supplier);
+                    }
+                    return CompletableFuture.completedFuture(entry.getValue());
+                }
+                expiredEntry = entry;
+            }
+        }
+        CompletableFuture<V> result = computeAsync(cacheKey, supplier);
+        if (expiredEntry == null) {
+            return result;
+        }
+        NearCache.Node<K, V> staleEntry = expiredEntry;
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        result.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                promise.complete(serveStale(staleEntry, throwable));
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    private CompletableFuture<V> computeAsync(K cacheKey, Supplier<CompletionStage<V>> supplier) {
+        if (!cacheConfig.isRequestCoalescingEnabled()) {
+            CompletableFuture<V> promise = new CompletableFuture<>();
+            computeAndPutAsync(cacheKey, supplier, promise);
+            return promise;
+        }
+        return computeCoalescedAsync(cacheKey, supplier, false);
+    }
+
+    /**
+     * Computes the value asynchronously, unless a concurrent call is already computing the value of the same key.
+     * In that case the call waits for the result of the concurrent call until the deadline of that load, and then
+     * replaces the load and loads the value itself, so that a stage which never completes does not hold up the call.
+     */
+    private CompletableFuture<V> computeCoalescedAsync(K cacheKey, Supplier<CompletionStage<V>> supplier, boolean coalesced) {
+        while (true) {
+            InFlightLoad<V> load = new InFlightLoad<>(System.nanoTime() + coalescedCallTimeoutInNanos);
+            InFlightLoad<V> inFlightLoad = inFlightLoads.putIfAbsent(cacheKey, load);
+            long remainingNanos = inFlightLoad != null ? inFlightLoad.deadline - System.nanoTime() : 0L;
+            if (inFlightLoad == null || (remainingNanos <= 0 && inFlightLoads.replace(cacheKey, inFlightLoad, load))) {
+                load.whenComplete((value, throwable) -> inFlightLoads.remove(cacheKey, load));
+                computeAndPutAsync(cacheKey, supplier, load);
+                return copyOf(load);
+            }
+            if (remainingNanos > 0) {
+                if (!coalesced) {
+                    metrics.onCoalescedCall();
+                }
+                return awaitLoad(cacheKey, supplier, inFlightLoad, remainingNanos);
+            }
+        }
+    }
+
+    private CompletableFuture<V> awaitLoad(K cacheKey, Supplier<CompletionStage<V>> supplier, InFlightLoad<V> inFlightLoad,
+                                           long remainingNanos) {
+        CompletableFuture<V> result = copyOf(inFlightLoad);
+        ScheduledFuture<?> timeout = Timeouts.SCHEDULER.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            LOG.debug("Timed out waiting for a concurrent call of Cache {}", getName());
+            computeCoalescedAsync(cacheKey, supplier, true).whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(value);
+                }
+            });
+        }, remainingNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((value, throwable) -> timeout.cancel(false));
+        return result;
+    }
+
+    /**
+     * Looks up the JCache, calls the supplier on a miss and puts its value into the JCache on the executor of
+     * the CacheConfig, so that neither the caller nor the thread which completes the supplied stage is blocked.
+     */
+    private void computeAndPutAsync(K cacheKey, Supplier<CompletionStage<V>> supplier, CompletableFuture<V> promise) {
+        Executor executor = cacheConfig.getAsyncExecutor();
+        try {
+            executor.execute(() -> {
+                V cachedValue = getValueFromBackendCache(cacheKey);
+                if (cachedValue != null) {
+                    promise.complete(cachedValue);
+                    return;
+                }
+                try {
+                    supplier.get().whenCompleteAsync((value, throwable) -> {
+                        if (throwable != null) {
+                            promise.completeExceptionally(throwable);
+                        } else {
+                            putValueIntoCache(cacheKey, value);
+                            promise.complete(value);
+                        }
+                    }, executor);
+                } catch (Throwable throwable) {
+                    promise.completeExceptionally(throwable);
+                }
+            });
+        } catch (Throwable throwable) {
+            promise.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Returns a stage of the result of a shared load, which the caller can complete or cancel without
+     * affecting the other calls which wait for the load.
+     */
+    private static <V> CompletableFuture<V> copyOf(CompletableFuture<V> load) {
+        CompletableFuture<V> copy = new CompletableFuture<>();
+        load.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                copy.completeExceptionally(throwable);
+            } else {
+                copy.complete(value);
+            }
+        });
+        return copy;
+    }
+
+    private V computeAndPut(K cacheKey, CheckedFunction0<V> supplier, InFlightLoad<V> load) {
+        try {
+            V value = computeAndPut(cacheKey, supplier);
+            load.complete(value);
+            return value;
+        } catch (Throwable throwable) {
+            load.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            inFlightLoads.remove(cacheKey, load);
+        }
+    }
+
+    @Override
+    public Map<K, V> computeAllIfAbsent(Set<? extends K> cacheKeys, CheckedFunction1<Set<K>, Map<K, V>> loader) {
+        Map<K, V> values = new HashMap<>();
+        Set<K> missingKeys = new HashSet<>(cacheKeys);
+        if (nearCache != null) {
+            getAllValuesFromNearCache(missingKeys, values);
+        }
+        if (!missingKeys.isEmpty()) {
+            getAllValuesFromBackendCache(missingKeys, values);
+        }
+        if (!missingKeys.isEmpty()) {
+            Set<K> keysToLoad = Collections.unmodifiableSet(missingKeys);
+            Map<K, V> loadedValues = Try.of(() -> loader.apply(keysToLoad)).get();
+            if (loadedValues != null) {
+                Map<K, V> valuesToPut = new HashMap<>();
+                for (K cacheKey : missingKeys) {
+                    V loadedValue = loadedValues.get(cacheKey);
+                    if (loadedValue != null) {
+                        valuesToPut.put(cacheKey, loadedValue);
+                    }
+                }
+                putAllValuesIntoCache(valuesToPut);
+                values.putAll(valuesToPut);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Moves the keys which are found in the near cache from the missing keys to the values.
+     */
+    private void getAllValuesFromNearCache(Set<K> missingKeys, Map<K, V> values) {
+        int hits = 0;
+        for (Iterator<K> iterator = missingKeys.iterator(); iterator.hasNext(); ) {
+            K cacheKey = iterator.next();
+            V nearCachedValue = nearCache.get(cacheKey);
+            if (nearCachedValue != null) {
+                values.put(cacheKey, nearCachedValue);
+                iterator.remove();
+                onCacheHit(cacheKey);
+                hits++;
+            }
+        }
+        metrics.onNearCacheHits(hits);
+    }
+
+    /**
+     * Moves the keys which are found in the JCache from the missing keys to the values with one call to the JCache.
+     * If the JCache fails, all keys remain missing.
+     */
+    private void getAllValuesFromBackendCache(Set<K> missingKeys, Map<K, V> values) {
+        Map<K, V> cachedValues;
+        try {
+            cachedValues = cache.getAll(new HashSet<>(missingKeys));
+        } catch (Exception exception) {
+            LOG.warn(String.format("Failed to get values from Cache %s", getName()), exception);
+            onError(exception);
+            return;
+        }
+        int hits = 0;
+        for (Iterator<K> iterator = missingKeys.iterator(); iterator.hasNext(); ) {
+            K cacheKey = iterator.next();
+            V cachedValue = cachedValues.get(cacheKey);
+            if (cachedValue != null) {
+                if (nearCache != null) {
+                    nearCache.put(cacheKey, cachedValue);
+                }
+                values.put(cacheKey, cachedValue);
+                iterator.remove();
+                onCacheHit(cacheKey);
+                hits++;
+            } else if (eventProcessor.hasConsumers()) {
+                eventProcessor.processEvent(new CacheOnMissEvent<>(cache.getName(), cacheKey));
+            }
+        }
+        metrics.onBackendCacheHits(hits);
+        metrics.onCacheMisses(missingKeys.size());
+    }
+
+    private void putAllValuesIntoCache(Map<K, V> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (nearCache != null) {
+            values.forEach(nearCache::put);
+        }
+        try {
+            cache.putAll(values);
+        } catch (Exception exception){
+            LOG.warn(String.format("Failed to put values into Cache %s", getName()), exception);
+            onError(exception);
+        }
     }
 
     private V computeAndPut(K cacheKey, CheckedFunction0<V> supplier) {
@@ -70,28 +482,49 @@ public class CacheImpl<K, V>  implements Cache<K,V> {
             .get();
     }
 
-    private Option<V> getValueFromCache(K cacheKey){
+    /**
+     * Returns the entry of the near cache or null, without recording a miss. An expired entry is not recorded
+     * as a hit, because it is only returned if the value cannot be loaded.
+     */
+    private NearCache.Node<K, V> getEntryFromNearCache(K cacheKey){
+        NearCache.Node<K, V> entry = nearCache.getEntry(cacheKey);
+        if (entry != null && !entry.isExpired()) {
+            metrics.onNearCacheHit();
+            onCacheHit(cacheKey);
+        }
+        return entry;
+    }
+
+    private V getValueFromBackendCache(K cacheKey){
         try {
-            Option<V> result = Option.of(cache.get(cacheKey));
-            if (result.isDefined()) {
+            V cachedValue = cache.get(cacheKey);
+            if (cachedValue != null) {
+                if (nearCache != null) {
+                    nearCache.put(cacheKey, cachedValue);
+                }
+                metrics.onBackendCacheHit();
                 onCacheHit(cacheKey);
-                return result;
             } else {
                 onCacheMiss(cacheKey);
-                return result;
             }
+            return cachedValue;
         }catch (Exception exception){
             LOG.warn(String.format("Failed to get a value from Cache %s", getName()), exception);
             onError(exception);
-            return Option.none();
+            return null;
         }
     }
 
     private void putValueIntoCache(K cacheKey, V value) {
+        if (value == null) {
+            return;
+        }
+        // The near cache is updated first, so that the invalidation listener recognizes the update event of this put
+        if (nearCache != null) {
+            nearCache.put(cacheKey, value);
+        }
         try {
-            if(value != null) {
-                cache.put(cacheKey, value);
-            }
+            cache.put(cacheKey, value);
         } catch (Exception exception){
             LOG.warn(String.format("Failed to put a value into Cache %s", getName()), exception);
             onError(exception);
@@ -99,22 +532,21 @@ public class CacheImpl<K, V>  implements Cache<K,V> {
     }
 
     private void onError(Throwable throwable) {
-        publishCacheEvent(() -> new CacheOnErrorEvent(cache.getName(), throwable));
+        if(eventProcessor.hasConsumers()) {
+            eventProcessor.processEvent(new CacheOnErrorEvent(cache.getName(), throwable));
+        }
     }
 
     private void onCacheMiss(K cacheKey) {
         metrics.onCacheMiss();
-        publishCacheEvent(() -> new CacheOnMissEvent<>(cache.getName(), cacheKey));
+        if(eventProcessor.hasConsumers()) {
+            eventProcessor.processEvent(new CacheOnMissEvent<>(cache.getName(), cacheKey));
+        }
     }
 
     private void onCacheHit(K cacheKey) {
-        metrics.onCacheHit();
-        publishCacheEvent(() -> new CacheOnHitEvent<>(cache.getName(), cacheKey));
-    }
-
-    private void publishCacheEvent(Supplier<CacheEvent> event) {
         if(eventProcessor.hasConsumers()) {
-            eventProcessor.processEvent(event.get());
+            eventProcessor.processEvent(new CacheOnHitEvent<>(cache.getName(), cacheKey));
         }
     }
 
@@ -149,31 +581,123 @@ public class CacheImpl<K, V>  implements Cache<K,V> {
         }
     }
 
+    /**
+     * The pending result of a load, which is shared with the concurrent calls for the same key until its deadline.
+     */
+    /**
+     * A daemon thread, which is started on first use and times out asynchronous calls waiting for the load of
+     * a concurrent call.
+     */
+    private static final class Timeouts {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "resilience4j-cache-timeouts");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private static final class InFlightLoad<V> extends CompletableFuture<V> {
+
+        private final long deadline;
+
+        private InFlightLoad(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
     private final class CacheMetrics implements Metrics {
 
         private final LongAdder cacheMisses;
-        private final LongAdder cacheHits;
+        private final LongAdder nearCacheHits;
+        private final LongAdder backendCacheHits;
+        private final LongAdder coalescedCalls;
+        private final LongAdder backgroundRefreshes;
+        private final LongAdder staleHits;
         private CacheMetrics() {
             cacheMisses = new LongAdder();
-            cacheHits = new LongAdder();
+            nearCacheHits = new LongAdder();
+            backendCacheHits = new LongAdder();
+            coalescedCalls = new LongAdder();
+            backgroundRefreshes = new LongAdder();
+            staleHits = new LongAdder();
+        }
+
+        void onBackgroundRefresh(){
+            backgroundRefreshes.increment();
+        }
+
+        void onStaleHit(){
+            staleHits.increment();
+        }
+
+        void onCoalescedCall(){
+            coalescedCalls.increment();
         }
 
         void onCacheMiss(){
             cacheMisses.increment();
         }
 
-        void onCacheHit(){
-            cacheHits.increment();
+        void onCacheMisses(int misses){
+            cacheMisses.add(misses);
+        }
+
+        void onNearCacheHit(){
+            nearCacheHits.increment();
+        }
+
+        void onNearCacheHits(int hits){
+            nearCacheHits.add(hits);
+        }
+
+        void onBackendCacheHit(){
+            backendCacheHits.increment();
+        }
+
+        void onBackendCacheHits(int hits){
+            backendCacheHits.add(hits);
         }
 
         @Override
         public long getNumberOfCacheHits() {
-            return cacheHits.longValue();
+            return nearCacheHits.longValue() + backendCacheHits.longValue();
+        }
+
+        @Override
+        public long getNumberOfL1CacheHits() {
+            return nearCacheHits.longValue();
+        }
+
+        @Override
+        public long getNumberOfL2CacheHits() {
+            return backendCacheHits.longValue();
         }
 
         @Override
         public long getNumberOfCacheMisses() {
             return cacheMisses.longValue();
         }
+
+        @Override
+        public long getNumberOfCoalescedCalls() {
+            return coalescedCalls.longValue();
+        }
+
+        @Override
+        public long getNumberOfBackgroundRefreshes() {
+            return backgroundRefreshes.longValue();
+        }
+
+        @Override
+        public long getNumberOfStaleHits() {
+            return staleHits.longValue();
+        }
     }
 }
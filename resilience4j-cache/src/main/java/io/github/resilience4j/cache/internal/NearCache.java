@@ -0,0 +1,351 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache.internal;
+
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded on-heap cache in front of a JCache, which uses a segmented LRU policy and a time to live.
+ *
+ * New entries are admitted to a probation segment and are promoted to a protected segment on their first hit, so that
+ * a scan of keys which are read only once evicts other one-hit entries instead of the frequently read ones.
+ * The protected segment holds 80% of the entries and demotes its least recently used entry back to probation.
+ *
+ * Reads do not block: the access order is only updated if the lock is free, which makes it an approximation under
+ * contention, and not at all for the most recently used entry.
+ *
+ * An entry may carry a soft expiry before its time to live, after which it is still served but is due for a refresh.
+ * Expired entries may be retained until they are evicted, so that they can be served if a value cannot be loaded.
+ */
+final class NearCache<K, V> {
+
+    private static final int NONE = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int maximumSize;
+    private final int maximumProtectedSize;
+    private final long timeToLiveInNanos;
+    private final long refreshAfterInNanos;
+    private final boolean retainExpiredEntries;
+    private final ConcurrentMap<K, Node<K, V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node<K, V> probation = new Node<>();
+    private final Node<K, V> protectedSegment = new Node<>();
+    private int size;
+    private int protectedSize;
+
+    NearCache(int maximumSize, long timeToLiveInNanos) {
+        this(maximumSize, timeToLiveInNanos, 0L, false);
+    }
+
+    /**
+     * @param refreshAfterInNanos  the time after which an entry is due for a refresh, or 0 to never refresh entries
+     * @param retainExpiredEntries true to keep expired entries until they are evicted or invalidated
+     */
+    NearCache(int maximumSize, long timeToLiveInNanos, long refreshAfterInNanos, boolean retainExpiredEntries) {
+        this.maximumSize = maximumSize;
+        this.maximumProtectedSize = (int) (maximumSize * 0.8);
+        this.timeToLiveInNanos = timeToLiveInNanos;
+        this.refreshAfterInNanos = refreshAfterInNanos;
+        this.retainExpiredEntries = retainExpiredEntries;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the value of the key, or null if the key is absent or expired.
+     */
+    V get(K key) {
+        Node<K, V> node = getEntry(key);
+        return node != null && !node.isExpired() ? node.value : null;
+    }
+
+    /**
+     * Returns the entry of the key, or null if the key is absent. An expired entry is only returned if expired
+     * entries are retained, and is not counted as an access.
+     */
+    Node<K, V> getEntry(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.isExpired()) {
+            if (retainExpiredEntries) {
+                return node;
+            }
+            invalidate(key, node);
+            return null;
+        }
+        if (node != protectedSegment.next && lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns true to exactly one caller once the entry is due for a refresh. The entry becomes due again after
+     * another refresh interval, so that a failed refresh is retried without calling the backend on every read.
+     */
+    boolean tryStartRefresh(Node<K, V> node) {
+        if (refreshAfterInNanos <= 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long refreshAt = node.refreshAt;
+        return now - refreshAt >= 0 && Node.REFRESH_AT.compareAndSet(node, refreshAt, now + refreshAfterInNanos);
+    }
+
+    void put(K key, V value) {
+        long now = System.nanoTime();
+        Node<K, V> node = new Node<>(key, value, now + refreshAfterInNanos, now + timeToLiveInNanos);
+        lock.lock();
+        try {
+            Node<K, V> previous = entries.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(probation, node, PROBATION);
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = entries.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates the key after the JCache updated it, unless the near cache already holds an equal value, which is
+     * the case for the values written through the near cache itself.
+     */
+    void onUpdated(K key, V value) {
+        Node<K, V> node = entries.get(key);
+        if (node != null && !Objects.equals(node.value, value)) {
+            onRemoved(key, node);
+        }
+    }
+
+    /**
+     * Invalidates the key after the JCache removed or expired it.
+     */
+    void onRemoved(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            onRemoved(key, node);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Creates the configuration of a JCache listener, which invalidates keys of this near cache when the JCache
+     * updates, removes or expires them. Created entries are ignored, as the near cache cannot contain them.
+     * If expired entries are retained, the entries are expired instead, so that they can still be served if a value
+     * cannot be loaded.
+     */
+    MutableCacheEntryListenerConfiguration<K, V> invalidationListenerConfiguration() {
+        return new MutableCacheEntryListenerConfiguration<>(
+            FactoryBuilder.factoryOf(new InvalidationListener<>(this)), null, false, false);
+    }
+
+    private void invalidate(K key, Node<K, V> node) {
+        lock.lock();
+        try {
+            if (entries.remove(key, node)) {
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRemoved(K key, Node<K, V> node) {
+        if (retainExpiredEntries) {
+            node.expire();
+        } else {
+            invalidate(key, node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.segment == PROBATION) {
+            unlink(node);
+            link(protectedSegment, node, PROTECTED);
+            while (protectedSize > maximumProtectedSize) {
+                Node<K, V> demoted = protectedSegment.prev;
+                unlink(demoted);
+                link(probation, demoted, PROBATION);
+            }
+        } else if (node.segment == PROTECTED) {
+            unlink(node);
+            link(protectedSegment, node, PROTECTED);
+        }
+    }
+
+    private void evictIfNecessary() {
+        while (size > maximumSize) {
+            Node<K, V> victim = probation.prev != probation ? probation.prev : protectedSegment.prev;
+            entries.remove(victim.key, victim);
+            unlink(victim);
+        }
+    }
+
+    private void link(Node<K, V> head, Node<K, V> node, int segment) {
+        node.segment = segment;
+        node.prev = head;
+        node.next = head.next;
+        head.next.prev = node;
+        head.next = node;
+        size++;
+        if (segment == PROTECTED) {
+            protectedSize++;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.segment == NONE) {
+            return;
+        }
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        size--;
+        if (node.segment == PROTECTED) {
+            protectedSize--;
+        }
+        node.segment = NONE;
+    }
+
+    /**
+     * An entry of the near cache and a node of the list of its segment. The list of a segment is circular, with
+     * a sentinel node as head, whose next node is the most recently used and whose previous node is the least
+     * recently used entry.
+     */
+    static final class Node<K, V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<Node> REFRESH_AT =
+            AtomicLongFieldUpdater.newUpdater(Node.class, "refreshAt");
+
+        private final K key;
+        private final V value;
+        private volatile long expiresAt;
+        private volatile long refreshAt;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+        private int segment;
+
+        private Node() {
+            this(null, null, 0L, 0L);
+            this.prev = this;
+            this.next = this;
+        }
+
+        private Node(K key, V value, long refreshAt, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+
+        private void expire() {
+            expiresAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * The near cache is transient, because a JCache provider may serialize the listener to register it on other
+     * members of a cluster, where there is no near cache to invalidate.
+     */
+    private static final class InvalidationListener<K, V> implements CacheEntryUpdatedListener<K, V>,
+        CacheEntryRemovedListener<K, V>, CacheEntryExpiredListener<K, V>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient NearCache<K, V> nearCache;
+
+        private InvalidationListener(NearCache<K, V> nearCache) {
+            this.nearCache = nearCache;
+        }
+
+        @Override
+        public void onUpdated(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+            if (nearCache == null) {
+                return;
+            }
+            for (CacheEntryEvent<? extends K, ? extends V> event : events) {
+                nearCache.onUpdated(event.getKey(), event.getValue());
+            }
+        }
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+            remove(events);
+        }
+
+        @Override
+        public void onExpired(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+            remove(events);
+        }
+
+        private void remove(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+            if (nearCache == null) {
+                return;
+            }
+            for (CacheEntryEvent<? extends K, ? extends V> event : events) {
+                nearCache.onRemoved(event.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheConfigTest {
+
+    @Test
+    public void testBuildDefault() {
+
+        // when
+        CacheConfig config = CacheConfig.ofDefaults();
+
+        // then
+        assertThat(config.isRequestCoalescingEnabled()).isFalse();
+        assertThat(config.getCoalescedCallTimeout()).isEqualTo(CacheConfig.DEFAULT_COALESCED_CALL_TIMEOUT);
+    }
+
+    @Test
+    public void testBuildCustom() {
+
+        // when
+        CacheConfig config = CacheConfig.custom()
+                                        .requestCoalescing(true)
+                                        .coalescedCallTimeout(Duration.ofMillis(200))
+                                        .build();
+
+        // then
+        assertThat(config.isRequestCoalescingEnabled()).isTrue();
+        assertThat(config.getCoalescedCallTimeout()).isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    public void testBuildWithNearCache() {
+
+        // when
+        CacheConfig config = CacheConfig.custom()
+                                        .nearCache(1000, Duration.ofSeconds(10))
+                                        .build();
+
+        // then
+        assertThat(config.isNearCacheEnabled()).isTrue();
+        assertThat(config.getNearCacheMaximumSize()).isEqualTo(1000);
+        assertThat(config.getNearCacheTimeToLive()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(CacheConfig.ofDefaults().isNearCacheEnabled()).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalNearCacheMaximumSize() {
+
+        // when
+        CacheConfig.custom()
+                   .nearCache(0, Duration.ofSeconds(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalNearCacheTimeToLive() {
+
+        // when
+        CacheConfig.custom()
+                   .nearCache(1000, Duration.ZERO);
+    }
+
+    @Test
+    public void testBuildWithStaleWhileRevalidate() {
+
+        // when
+        CacheConfig config = CacheConfig.custom()
+                                        .nearCache(1000, Duration.ofMinutes(10))
+                                        .staleWhileRevalidate(Duration.ofSeconds(30))
+                                        .serveStaleOnFailure(true)
+                                        .build();
+
+        // then
+        assertThat(config.isStaleWhileRevalidateEnabled()).isTrue();
+        assertThat(config.getRefreshAfter()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.isServeStaleOnFailureEnabled()).isTrue();
+        assertThat(CacheConfig.ofDefaults().isStaleWhileRevalidateEnabled()).isFalse();
+        assertThat(CacheConfig.ofDefaults().isServeStaleOnFailureEnabled()).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithStaleWhileRevalidateWithoutNearCache() {
+
+        // when
+        CacheConfig.custom()
+                   .staleWhileRevalidate(Duration.ofSeconds(30))
+                   .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithServeStaleOnFailureWithoutNearCache() {
+
+        // when
+        CacheConfig.custom()
+                   .serveStaleOnFailure(true)
+                   .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithRefreshAfterNotLessThanTimeToLive() {
+
+        // when
+        CacheConfig.custom()
+                   .nearCache(1000, Duration.ofSeconds(10))
+                   .staleWhileRevalidate(Duration.ofSeconds(10))
+                   .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalAsyncExecutor() {
+
+        // when
+        CacheConfig.custom()
+                   .asyncExecutor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalCoalescedCallTimeout() {
+
+        // when
+        CacheConfig.custom()
+                   .coalescedCallTimeout(Duration.ZERO);
+    }
+}
@@ -19,15 +19,45 @@
 package io.github.resilience4j.cache;
 
 import io.github.resilience4j.cache.event.CacheEvent;
+import io.github.resilience4j.test.Allocations;
 import io.reactivex.subscribers.TestSubscriber;
+import io.vavr.CheckedFunction0;
 import io.vavr.CheckedFunction1;
+import io.vavr.control.Try;
 import org.junit.Before;
 import org.junit.Test;
-
+import org.mockito.ArgumentCaptor;
+
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import static com.jayway.awaitility.Awaitility.await;
 import static io.github.resilience4j.adapter.RxJava2Adapter.toFlowable;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.mock;
 
@@ -195,4 +225,562 @@ public class CacheTest {
                 .assertValueCount(1)
                 .assertValues(CacheEvent.Type.ERROR);
     }
+
+    @Test
+    public void shouldCoalesceConcurrentCallsForTheSameKey() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(true)
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch backendResponse = new CountDownLatch(1);
+        Function<String, String> cachedFunction = Cache.decorateSupplier(cacheContext, () -> {
+            backendCalls.incrementAndGet();
+            awaitUninterruptibly(backendResponse);
+            return "Hello world";
+        });
+
+        // When 5 calls miss the cache while the first call is loading the value
+        CompletableFuture<String> firstCall = CompletableFuture.supplyAsync(() -> cachedFunction.apply("testKey"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> backendCalls.get() == 1);
+        CompletableFuture<?>[] coalescedCalls = new CompletableFuture<?>[4];
+        for (int i = 0; i < coalescedCalls.length; i++) {
+            coalescedCalls[i] = CompletableFuture.supplyAsync(() -> cachedFunction.apply("testKey"));
+        }
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cacheContext.getMetrics().getNumberOfCoalescedCalls() == 4);
+        backendResponse.countDown();
+
+        // Then the backend is called only once
+        assertThat(firstCall.get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        for (CompletableFuture<?> coalescedCall : coalescedCalls) {
+            assertThat(coalescedCall.get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        }
+        assertThat(backendCalls.get()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(5);
+        then(cache).should(times(1)).put("testKey", "Hello world");
+    }
+
+    @Test
+    public void shouldRethrowExceptionOfConcurrentCall() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(true)
+            .build());
+        CountDownLatch backendResponse = new CountDownLatch(1);
+        CheckedFunction1<String, String> cachedFunction = Cache.decorateCheckedSupplier(cacheContext, () -> {
+            awaitUninterruptibly(backendResponse);
+            throw new IOException("BAM!");
+        });
+
+        // When a second call misses the cache while the first call is loading the value
+        CompletableFuture<String> firstCall = CompletableFuture.supplyAsync(() -> Try.of(() -> cachedFunction.apply("testKey")).get());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cacheContext.getMetrics().getNumberOfCacheMisses() == 1);
+        CompletableFuture<String> coalescedCall = CompletableFuture.supplyAsync(() -> Try.of(() -> cachedFunction.apply("testKey")).get());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cacheContext.getMetrics().getNumberOfCoalescedCalls() == 1);
+        backendResponse.countDown();
+
+        // Then both calls fail with the exception of the first call
+        assertThatThrownBy(() -> firstCall.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> coalescedCall.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        then(cache).should(never()).put(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldLoadValueItselfAfterCoalescedCallTimeout() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(true)
+            .coalescedCallTimeout(Duration.ofMillis(50))
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch backendResponse = new CountDownLatch(1);
+        Function<String, String> cachedFunction = Cache.decorateSupplier(cacheContext, () -> {
+            if (backendCalls.incrementAndGet() == 1) {
+                awaitUninterruptibly(backendResponse);
+            }
+            return "Hello world";
+        });
+
+        // When the first call hangs
+        CompletableFuture<String> firstCall = CompletableFuture.supplyAsync(() -> cachedFunction.apply("testKey"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> backendCalls.get() == 1);
+        String value = cachedFunction.apply("testKey");
+
+        // Then the second call loads the value itself after the timeout
+        assertThat(value).isEqualTo("Hello world");
+        assertThat(backendCalls.get()).isEqualTo(2);
+        assertThat(cacheContext.getMetrics().getNumberOfCoalescedCalls()).isEqualTo(1);
+        backendResponse.countDown();
+        assertThat(firstCall.get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+    }
+
+    @Test
+    public void shouldNotCoalesceCallsIfDisabled() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(false)
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch backendResponse = new CountDownLatch(1);
+        Function<String, String> cachedFunction = Cache.decorateSupplier(cacheContext, () -> {
+            if (backendCalls.incrementAndGet() == 1) {
+                awaitUninterruptibly(backendResponse);
+            }
+            return "Hello world";
+        });
+
+        // When a second call misses the cache while the first call is loading the value
+        CompletableFuture<String> firstCall = CompletableFuture.supplyAsync(() -> cachedFunction.apply("testKey"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> backendCalls.get() == 1);
+        String value = cachedFunction.apply("testKey");
+        backendResponse.countDown();
+
+        // Then both calls load the value
+        assertThat(value).isEqualTo("Hello world");
+        assertThat(firstCall.get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        assertThat(backendCalls.get()).isEqualTo(2);
+        assertThat(cacheContext.getMetrics().getNumberOfCoalescedCalls()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldServeHotKeyFromNearCache() throws Throwable {
+        // Given the cache contains the key
+        given(cache.get("testKey")).willReturn("Hello from cache");
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMinutes(1))
+            .build());
+        TestSubscriber<CacheEvent.Type> testSubscriber = toFlowable(cacheContext.getEventPublisher())
+                .map(CacheEvent::getEventType)
+                .test();
+
+        // When the key is read twice
+        CheckedFunction1<String, String> cachedFunction = Cache.decorateCheckedSupplier(cacheContext, () -> "Hello world");
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello from cache");
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello from cache");
+
+        // Then the second read is served by the near cache
+        then(cache).should(times(1)).get("testKey");
+        then(cache).should().registerCacheEntryListener(any());
+        assertThat(cacheContext.getMetrics().getNumberOfCacheHits()).isEqualTo(2);
+        assertThat(cacheContext.getMetrics().getNumberOfL1CacheHits()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfL2CacheHits()).isEqualTo(1);
+        testSubscriber
+                .assertValueCount(2)
+                .assertValues(CacheEvent.Type.CACHE_HIT, CacheEvent.Type.CACHE_HIT);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void shouldDeregisterNearCacheListenerOnClose() {
+        // Given a cache with a near cache
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMinutes(1))
+            .build());
+        ArgumentCaptor<CacheEntryListenerConfiguration> listenerConfiguration =
+            ArgumentCaptor.forClass(CacheEntryListenerConfiguration.class);
+        then(cache).should().registerCacheEntryListener(listenerConfiguration.capture());
+
+        // When the cache is closed
+        cacheContext.close();
+
+        // Then the listener is deregistered from the JCache
+        then(cache).should().deregisterCacheEntryListener(listenerConfiguration.getValue());
+    }
+
+    @Test
+    public void shouldPutComputedValueIntoNearCache() throws Throwable {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMinutes(1))
+            .build());
+
+        // When the key is read twice
+        CheckedFunction1<String, String> cachedFunction = Cache.decorateCheckedSupplier(cacheContext, () -> "Hello world");
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello world");
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello world");
+
+        // Then the computed value is served by the near cache
+        then(cache).should(times(1)).get("testKey");
+        then(cache).should(times(1)).put("testKey", "Hello world");
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfL1CacheHits()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfL2CacheHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReturnStaleValueWhileRefreshingInBackground() throws Throwable {
+        // Given a near cache whose entries become stale after 200 millis
+        given(cache.get("testKey")).willReturn(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMinutes(1))
+            .staleWhileRevalidate(Duration.ofMillis(200))
+            .asyncExecutor(executor)
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+        CountDownLatch refreshLatch = new CountDownLatch(1);
+        CheckedFunction1<String, String> cachedFunction = Cache.decorateCheckedSupplier(cacheContext, () -> {
+            int backendCall = backendCalls.incrementAndGet();
+            if (backendCall == 2) {
+                awaitUninterruptibly(refreshLatch);
+            }
+            return "Hello world " + backendCall;
+        });
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello world 1");
+        Thread.sleep(300);
+
+        // When the stale key is read twice while the refresh is running
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello world 1");
+        assertThat(cachedFunction.apply("testKey")).isEqualTo("Hello world 1");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> backendCalls.get() == 2);
+        refreshLatch.countDown();
+
+        // Then only one refresh replaces the stale value
+        then(cache).should(timeout(5000)).put("testKey", "Hello world 2");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> "Hello world 2".equals(Try.of(() -> cachedFunction.apply("testKey")).get()));
+        executor.shutdown();
+        assertThat(cacheContext.getMetrics().getNumberOfBackgroundRefreshes()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnExpiredValueIfSupplierFails() throws Throwable {
+        // Given the near cache contains an expired value
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMillis(20))
+            .serveStaleOnFailure(true)
+            .build());
+        cacheContext.computeIfAbsent("testKey", () -> "Hello world");
+        Thread.sleep(50);
+
+        // When the supplier fails
+        String value = cacheContext.computeIfAbsent("testKey", () -> {
+            throw new IOException("BAM!");
+        });
+
+        // Then the expired value is returned
+        assertThat(value).isEqualTo("Hello world");
+        then(cache).should(times(2)).get("testKey");
+        assertThat(cacheContext.getMetrics().getNumberOfStaleHits()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfL1CacheHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRethrowExceptionOfSupplierIfExpiredValuesAreNotServed() throws Throwable {
+        // Given the near cache contained a value which has expired
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMillis(20))
+            .build());
+        cacheContext.computeIfAbsent("testKey", () -> "Hello world");
+        Thread.sleep(50);
+
+        // When
+        Try<String> result = Try.of(() -> cacheContext.computeIfAbsent("testKey", () -> {
+            throw new IOException("BAM!");
+        }));
+
+        // Then
+        assertThat(result.getCause()).isInstanceOf(IOException.class);
+        assertThat(cacheContext.getMetrics().getNumberOfStaleHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReturnExpiredValueAsyncIfSupplierFails() throws Exception {
+        // Given the near cache contains an expired value
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMillis(20))
+            .serveStaleOnFailure(true)
+            .build());
+        cacheContext.computeIfAbsentAsync("testKey", () -> CompletableFuture.completedFuture("Hello world"))
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        CompletableFuture<String> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new IOException("BAM!"));
+
+        // When the supplier fails
+        String value = cacheContext.computeIfAbsentAsync("testKey", () -> failedFuture)
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // Then the expired value is returned
+        assertThat(value).isEqualTo("Hello world");
+        assertThat(cacheContext.getMetrics().getNumberOfStaleHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnCachedValueAsync() throws Exception {
+        // Given the cache contains the key
+        given(cache.get("testKey")).willReturn("Hello from cache");
+        Cache<String, String> cacheContext = Cache.of(cache);
+
+        // When
+        Function<String, CompletionStage<String>> cachedFunction = Cache.decorateCompletionStage(cacheContext,
+            () -> CompletableFuture.completedFuture("Hello world"));
+        String value = cachedFunction.apply("testKey").toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(value).isEqualTo("Hello from cache");
+        assertThat(cacheContext.getMetrics().getNumberOfCacheHits()).isEqualTo(1);
+        then(cache).should(never()).put(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldComputeValueAsyncOffTheCallerThread() throws Exception {
+        // Given the cache does not contain the key
+        AtomicReference<Thread> lookupThread = new AtomicReference<>();
+        AtomicReference<Thread> putThread = new AtomicReference<>();
+        given(cache.get("testKey")).willAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread());
+            return null;
+        });
+        willAnswer(invocation -> {
+            putThread.set(Thread.currentThread());
+            return null;
+        }).given(cache).put("testKey", "Hello world");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .asyncExecutor(executor)
+            .build());
+
+        // When
+        String value = cacheContext.computeIfAbsentAsync("testKey", () -> CompletableFuture.completedFuture("Hello world"))
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then the cache is looked up and populated on the executor
+        assertThat(value).isEqualTo("Hello world");
+        assertThat(lookupThread.get()).isNotNull().isNotEqualTo(Thread.currentThread());
+        assertThat(putThread.get()).isEqualTo(lookupThread.get());
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSharePendingStageBetweenConcurrentMisses() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(true)
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+        CompletableFuture<String> backendResponse = new CompletableFuture<>();
+        Supplier<CompletionStage<String>> supplier = () -> {
+            backendCalls.incrementAndGet();
+            return backendResponse;
+        };
+
+        // When a second call misses the cache while the first call is loading the value
+        CompletionStage<String> firstCall = cacheContext.computeIfAbsentAsync("testKey", supplier);
+        CompletionStage<String> coalescedCall = cacheContext.computeIfAbsentAsync("testKey", supplier);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> backendCalls.get() == 1);
+        backendResponse.complete("Hello world");
+
+        // Then the backend is called only once
+        assertThat(firstCall.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        assertThat(coalescedCall.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        assertThat(backendCalls.get()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfCoalescedCalls()).isEqualTo(1);
+        then(cache).should(times(1)).put("testKey", "Hello world");
+    }
+
+    @Test
+    public void shouldLoadValueAsyncItselfIfCoalescedStageNeverCompletes() throws Exception {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .requestCoalescing(true)
+            .coalescedCallTimeout(Duration.ofMillis(50))
+            .build());
+        AtomicInteger backendCalls = new AtomicInteger();
+
+        // When the stage of the first call never completes
+        CompletionStage<String> firstCall = cacheContext.computeIfAbsentAsync("testKey", () -> {
+            backendCalls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        CompletionStage<String> coalescedCall = cacheContext.computeIfAbsentAsync("testKey", () -> {
+            backendCalls.incrementAndGet();
+            return CompletableFuture.completedFuture("Hello world");
+        });
+
+        // Then the second call loads the value itself after the timeout
+        assertThat(coalescedCall.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        assertThat(backendCalls.get()).isEqualTo(2);
+        assertThat(cacheContext.getMetrics().getNumberOfCoalescedCalls()).isEqualTo(1);
+        assertThat(firstCall.toCompletableFuture().isDone()).isFalse();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfAsyncSupplierFails() {
+        // Given the cache does not contain the key
+        given(cache.get("testKey")).willReturn(null);
+        Cache<String, String> cacheContext = Cache.of(cache);
+        CompletableFuture<String> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new IOException("BAM!"));
+
+        // When
+        CompletionStage<String> stage = cacheContext.computeIfAbsentAsync("testKey", () -> failedFuture);
+
+        // Then
+        assertThatThrownBy(() -> stage.toCompletableFuture().get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IOException.class);
+        then(cache).should(never()).put(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldLoadOnlyMissingKeysInOneBatch() throws Throwable {
+        // Given the cache contains only one of the keys
+        given(cache.getAll(anySet())).willReturn(singletonMap("key1", "cached1"));
+        Cache<String, String> cacheContext = Cache.of(cache);
+        TestSubscriber<CacheEvent.Type> testSubscriber = toFlowable(cacheContext.getEventPublisher())
+                .map(CacheEvent::getEventType)
+                .test();
+        List<Set<String>> loadedKeys = new ArrayList<>();
+
+        // When
+        Map<String, String> values = cacheContext.computeAllIfAbsent(new HashSet<>(asList("key1", "key2", "key3")), keys -> {
+            loadedKeys.add(new HashSet<>(keys));
+            Map<String, String> loadedValues = new HashMap<>();
+            loadedValues.put("key2", "loaded2");
+            loadedValues.put("key3", "loaded3");
+            return loadedValues;
+        });
+
+        // Then the loader is called once with the missing keys
+        assertThat(values).containsOnly(entry("key1", "cached1"), entry("key2", "loaded2"), entry("key3", "loaded3"));
+        assertThat(loadedKeys).containsExactly(new HashSet<>(asList("key2", "key3")));
+        Map<String, String> expectedPut = new HashMap<>();
+        expectedPut.put("key2", "loaded2");
+        expectedPut.put("key3", "loaded3");
+        then(cache).should(times(1)).getAll(new HashSet<>(asList("key1", "key2", "key3")));
+        then(cache).should(times(1)).putAll(expectedPut);
+        then(cache).should(never()).get(anyString());
+        assertThat(cacheContext.getMetrics().getNumberOfCacheHits()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(2);
+        testSubscriber.assertValueCount(3);
+    }
+
+    @Test
+    public void shouldNotCallLoaderIfAllKeysAreCached() throws Throwable {
+        // Given the cache contains all keys
+        Map<String, String> cachedValues = new HashMap<>();
+        cachedValues.put("key1", "cached1");
+        cachedValues.put("key2", "cached2");
+        given(cache.getAll(anySet())).willReturn(cachedValues);
+        Cache<String, String> cacheContext = Cache.of(cache);
+
+        // When
+        Map<String, String> values = cacheContext.computeAllIfAbsent(new HashSet<>(asList("key1", "key2")), keys -> {
+            throw new IllegalStateException("Loader must not be called");
+        });
+
+        // Then
+        assertThat(values).isEqualTo(cachedValues);
+        then(cache).should(never()).putAll(anyMap());
+        assertThat(cacheContext.getMetrics().getNumberOfCacheHits()).isEqualTo(2);
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldLoadAllKeysIfGetAllFails() throws Throwable {
+        // Given the cache is not available
+        given(cache.getAll(anySet())).willThrow(new RuntimeException("Cache is not available"));
+        Cache<String, String> cacheContext = Cache.of(cache);
+        TestSubscriber<CacheEvent.Type> testSubscriber = toFlowable(cacheContext.getEventPublisher())
+                .map(CacheEvent::getEventType)
+                .test();
+
+        // When
+        Map<String, String> values = cacheContext.computeAllIfAbsent(singleton("key1"), keys -> singletonMap("key1", "loaded1"));
+
+        // Then
+        assertThat(values).containsOnly(entry("key1", "loaded1"));
+        then(cache).should().putAll(singletonMap("key1", "loaded1"));
+        testSubscriber
+                .assertValueCount(1)
+                .assertValues(CacheEvent.Type.ERROR);
+    }
+
+    @Test
+    public void shouldComputeValuesWithDefaultMethodsOfTheInterface() throws Exception {
+        // Given a Cache which only implements the abstract methods
+        Map<String, String> values = new HashMap<>();
+        values.put("cachedKey", "Hello from cache");
+        Cache<String, String> cacheContext = new Cache<String, String>() {
+            @Override
+            public String getName() {
+                return "testCache";
+            }
+
+            @Override
+            public Metrics getMetrics() {
+                return null;
+            }
+
+            @Override
+            public String computeIfAbsent(String key, CheckedFunction0<String> supplier) {
+                return values.computeIfAbsent(key, k -> Try.of(supplier).get());
+            }
+
+            @Override
+            public EventPublisher getEventPublisher() {
+                return null;
+            }
+        };
+
+        // When values are computed asynchronously and in a batch
+        String value = cacheContext.computeIfAbsentAsync("testKey", () -> CompletableFuture.completedFuture("Hello world"))
+            .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Map<String, String> batch = cacheContext.computeAllIfAbsent(new HashSet<>(asList("cachedKey", "missingKey")),
+            keys -> singletonMap("missingKey", "Hello " + keys.iterator().next()));
+
+        // Then the defaults delegate to computeIfAbsent
+        assertThat(value).isEqualTo("Hello world");
+        assertThat(batch).containsOnly(entry("cachedKey", "Hello from cache"), entry("missingKey", "Hello missingKey"));
+    }
+
+    @Test
+    public void shouldServeBatchFromNearCache() throws Throwable {
+        // Given the cache does not contain the keys
+        given(cache.getAll(anySet())).willReturn(emptyMap());
+        Cache<String, String> cacheContext = Cache.of(cache, CacheConfig.custom()
+            .nearCache(100, Duration.ofMinutes(1))
+            .build());
+        cacheContext.computeAllIfAbsent(singleton("key1"), keys -> singletonMap("key1", "loaded1"));
+
+        // When
+        Map<String, String> values = cacheContext.computeAllIfAbsent(new HashSet<>(asList("key1", "key2")),
+            keys -> singletonMap("key2", "loaded2"));
+
+        // Then key1 is served by the near cache
+        assertThat(values).containsOnly(entry("key1", "loaded1"), entry("key2", "loaded2"));
+        then(cache).should().getAll(singleton("key2"));
+        assertThat(cacheContext.getMetrics().getNumberOfL1CacheHits()).isEqualTo(1);
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(2);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        Try.run(() -> latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotAllocateOnCacheHitWithoutEventConsumers() {
+        assumeTrue(Allocations.isMeasurable());
+        Cache<String, String> cacheContext = Cache.of(new ConcurrentMapCache<>("testCache"));
+        Function<String, String> cachedFunction = Cache.decorateSupplier(cacheContext, () -> "Hello world");
+        cachedFunction.apply("testKey");
+        String[] result = new String[1];
+
+        long allocatedBytes = Allocations.minAllocatedBytesPerRound(() -> result[0] = cachedFunction.apply("testKey"));
+
+        assertThat(allocatedBytes).isEqualTo(0);
+        assertThat(result[0]).isEqualTo("Hello world");
+        assertThat(cacheContext.getMetrics().getNumberOfCacheMisses()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.cache.internal;
+
+import org.junit.Test;
+
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class NearCacheTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    public void shouldReturnPutValue() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+
+        nearCache.put("key", "value");
+
+        assertThat(nearCache.get("key")).isEqualTo("value");
+        assertThat(nearCache.get("otherKey")).isNull();
+        assertThat(nearCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReplaceValue() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+
+        nearCache.put("key", "value");
+        nearCache.put("key", "newValue");
+
+        assertThat(nearCache.get("key")).isEqualTo("newValue");
+        assertThat(nearCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldExpireValueAfterTimeToLive() {
+        NearCache<String, String> nearCache = new NearCache<>(10, TimeUnit.MILLISECONDS.toNanos(20));
+
+        nearCache.put("key", "value");
+
+        await().atMost(1, TimeUnit.SECONDS).until(() -> nearCache.get("key") == null);
+        assertThat(nearCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRetainExpiredEntryIfConfigured() {
+        NearCache<String, String> nearCache = new NearCache<>(10, TimeUnit.MILLISECONDS.toNanos(20), 0L, true);
+
+        nearCache.put("key", "value");
+
+        await().atMost(1, TimeUnit.SECONDS).until(() -> nearCache.get("key") == null);
+        NearCache.Node<String, String> entry = nearCache.getEntry("key");
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(entry.getValue()).isEqualTo("value");
+        assertThat(nearCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldStartOnlyOneRefreshPerRefreshInterval() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE, TimeUnit.MILLISECONDS.toNanos(20), false);
+        nearCache.put("key", "value");
+        NearCache.Node<String, String> entry = nearCache.getEntry("key");
+        assertThat(nearCache.tryStartRefresh(entry)).isFalse();
+
+        await().atMost(1, TimeUnit.SECONDS).until(() -> nearCache.tryStartRefresh(entry));
+
+        assertThat(nearCache.tryStartRefresh(entry)).isFalse();
+        assertThat(entry.isExpired()).isFalse();
+    }
+
+    @Test
+    public void shouldEvictEntriesReadOnlyOnceFirst() {
+        NearCache<Integer, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+        for (int i = 0; i < 5; i++) {
+            nearCache.put(i, "hot");
+            nearCache.get(i);
+        }
+
+        // a scan of keys which are never read again
+        for (int i = 100; i < 200; i++) {
+            nearCache.put(i, "cold");
+        }
+
+        assertThat(nearCache.size()).isEqualTo(10);
+        for (int i = 0; i < 5; i++) {
+            assertThat(nearCache.get(i)).isEqualTo("hot");
+        }
+        assertThat(nearCache.get(100)).isNull();
+        assertThat(nearCache.get(199)).isEqualTo("cold");
+    }
+
+    @Test
+    public void shouldDemoteLeastRecentlyUsedProtectedEntry() {
+        NearCache<Integer, String> nearCache = new NearCache<>(5, ONE_MINUTE);
+        for (int i = 0; i < 5; i++) {
+            nearCache.put(i, "value");
+            nearCache.get(i);
+        }
+
+        nearCache.put(5, "value");
+
+        assertThat(nearCache.size()).isEqualTo(5);
+        assertThat(nearCache.get(0)).isNull();
+        assertThat(nearCache.get(5)).isEqualTo("value");
+    }
+
+    @Test
+    public void shouldInvalidateValue() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+        nearCache.put("key", "value");
+
+        nearCache.invalidate("key");
+
+        assertThat(nearCache.get("key")).isNull();
+        assertThat(nearCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldInvalidateValueUpdatedInJCache() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+        nearCache.put("key", "value");
+        CacheEntryEvent<String, String> event = mock(CacheEntryEvent.class);
+        given(event.getKey()).willReturn("key");
+
+        CacheEntryUpdatedListener<String, String> listener = (CacheEntryUpdatedListener<String, String>)
+            nearCache.invalidationListenerConfiguration().getCacheEntryListenerFactory().create();
+        listener.onUpdated(Collections.singletonList(event));
+
+        assertThat(nearCache.get("key")).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldIgnoreUpdateWithNearCachedValue() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE);
+        nearCache.put("key", "value");
+        CacheEntryEvent<String, String> event = mock(CacheEntryEvent.class);
+        given(event.getKey()).willReturn("key");
+        given(event.getValue()).willReturn("value");
+
+        CacheEntryUpdatedListener<String, String> listener = (CacheEntryUpdatedListener<String, String>)
+            nearCache.invalidationListenerConfiguration().getCacheEntryListenerFactory().create();
+        listener.onUpdated(Collections.singletonList(event));
+
+        assertThat(nearCache.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRetainEntryExpiredInJCacheIfConfigured() {
+        NearCache<String, String> nearCache = new NearCache<>(10, ONE_MINUTE, 0L, true);
+        nearCache.put("key", "value");
+        CacheEntryEvent<String, String> event = mock(CacheEntryEvent.class);
+        given(event.getKey()).willReturn("key");
+
+        CacheEntryExpiredListener<String, String> listener = (CacheEntryExpiredListener<String, String>)
+            nearCache.invalidationListenerConfiguration().getCacheEntryListenerFactory().create();
+        listener.onExpired(Collections.singletonList(event));
+
+        assertThat(nearCache.get("key")).isNull();
+        NearCache.Node<String, String> entry = nearCache.getEntry("key");
+        assertThat(entry).isNotNull();
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(entry.getValue()).isEqualTo("value");
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.StringResult1;
+
+import java.text.MessageFormat;
+
+/**
+ * Both actors race for the last trial call permission in half open state, exactly one of them must win it.
+ */
+@JCStressTest
+@State
+@Outcome(id = "first=true second=false notPermitted=1", expect = Expect.ACCEPTABLE)
+@Outcome(id = "first=false second=true notPermitted=1", expect = Expect.ACCEPTABLE)
+public class ConcurrentHalfOpenPermissionTest {
+
+    private CircuitBreakerStateMachine circuitBreaker;
+    private boolean firstPermitted;
+    private boolean secondPermitted;
+
+    public ConcurrentHalfOpenPermissionTest() {
+        circuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+            .ringBufferSizeInHalfOpenState(1)
+            .build());
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+    }
+
+    @Actor
+    public void firstActor() {
+        firstPermitted = circuitBreaker.isCallPermitted();
+    }
+
+    @Actor
+    public void secondActor() {
+        secondPermitted = circuitBreaker.isCallPermitted();
+    }
+
+    @Arbiter
+    public void arbiter(StringResult1 result) {
+        result.r1 = MessageFormat.format("first={0} second={1} notPermitted={2}",
+            firstPermitted, secondPermitted, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+}
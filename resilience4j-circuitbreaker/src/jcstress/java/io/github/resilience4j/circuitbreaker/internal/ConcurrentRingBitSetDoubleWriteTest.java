@@ -0,0 +1,61 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.StringResult1;
+
+import java.text.MessageFormat;
+
+/**
+ * Both bits are stored in the same long word, so a lost CAS update would show up as a missing bit.
+ */
+@JCStressTest
+@State
+@Outcome(id = "bits=10 cardinality=1 length=2 index=1", expect = Expect.ACCEPTABLE)
+@Outcome(id = "bits=01 cardinality=1 length=2 index=1", expect = Expect.ACCEPTABLE)
+public class ConcurrentRingBitSetDoubleWriteTest {
+
+    private RingBitSet ringBitSet;
+
+    public ConcurrentRingBitSetDoubleWriteTest() {
+        ringBitSet = new RingBitSet(2);
+    }
+
+    @Actor
+    public void firstActor() {
+        ringBitSet.setNextBit(true);
+    }
+
+    @Actor
+    public void secondActor() {
+        ringBitSet.setNextBit(false);
+    }
+
+    @Arbiter
+    public void arbiter(StringResult1 result) {
+        result.r1 = MessageFormat.format("bits={0} cardinality={1} length={2} index={3}",
+            ringBitSet.toString(), ringBitSet.cardinality(), ringBitSet.length(), ringBitSet.getIndex());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.StringResult1;
+
+import java.text.MessageFormat;
+
+/**
+ * Both writers overwrite the same single bit, the cardinality must always match the bit which survived.
+ */
+@JCStressTest
+@State
+@Outcome(id = "bits=0 cardinality=0 length=1", expect = Expect.ACCEPTABLE)
+@Outcome(id = "bits=1 cardinality=1 length=1", expect = Expect.ACCEPTABLE)
+public class ConcurrentRingBitSetOverwriteTest {
+
+    private RingBitSet ringBitSet;
+
+    public ConcurrentRingBitSetOverwriteTest() {
+        ringBitSet = new RingBitSet(1);
+        ringBitSet.setNextBit(true);
+    }
+
+    @Actor
+    public void firstActor() {
+        ringBitSet.setNextBit(false);
+    }
+
+    @Actor
+    public void secondActor() {
+        ringBitSet.setNextBit(true);
+    }
+
+    @Arbiter
+    public void arbiter(StringResult1 result) {
+        result.r1 = MessageFormat.format("bits={0} cardinality={1} length={2}",
+            ringBitSet.toString(), ringBitSet.cardinality(), ringBitSet.length());
+    }
+}
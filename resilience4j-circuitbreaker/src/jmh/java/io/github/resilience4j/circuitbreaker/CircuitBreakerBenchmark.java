@@ -18,6 +18,7 @@
  */
 package io.github.resilience4j.circuitbreaker;
 
+import io.github.resilience4j.adapter.RxJava2Adapter;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -52,6 +53,7 @@ public class CircuitBreakerBenchmark {
     private Supplier<String> protectedSupplier;
     private Supplier<String> protectedSupplierWithSb;
     private Supplier<String> stringSupplier;
+    private CircuitBreaker openCircuitBreaker;
 
     @Setup
     public void setUp() {
@@ -64,8 +66,11 @@ public class CircuitBreakerBenchmark {
         protectedSupplier = CircuitBreaker.decorateSupplier(circuitBreaker, stringSupplier);
 
         CircuitBreaker circuitBreakerWithSubscriber = CircuitBreaker.ofDefaults("testCircuitBreakerWithSb");
-        circuitBreakerWithSubscriber.getEventStream().subscribe();
+        RxJava2Adapter.toFlowable(circuitBreakerWithSubscriber.getEventPublisher()).subscribe();
         protectedSupplierWithSb = CircuitBreaker.decorateSupplier(circuitBreakerWithSubscriber, stringSupplier);
+
+        openCircuitBreaker = CircuitBreaker.ofDefaults("testOpenCircuitBreaker");
+        openCircuitBreaker.transitionToOpenState();
     }
 
     @Benchmark
@@ -95,6 +100,15 @@ public class CircuitBreakerBenchmark {
         return protectedSupplierWithSb.get();
     }
 
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean openStateRejection() {
+        return openCircuitBreaker.isCallPermitted();
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options options = new OptionsBuilder()
             .addProfiler(GCProfiler.class)
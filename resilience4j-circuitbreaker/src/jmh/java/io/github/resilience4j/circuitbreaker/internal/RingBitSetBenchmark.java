@@ -20,7 +20,12 @@ package io.github.resilience4j.circuitbreaker.internal;
 
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 
@@ -34,6 +39,7 @@ public class RingBitSetBenchmark {
     private static final int WARMUP_COUNT = 10;
     private static final int THREAD_COUNT = 2;
     private static final int FORK_COUNT = 2;
+    private static final int[] SCALING_THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
 
     private RingBitSet ringBitSet;
 
@@ -42,6 +48,7 @@ public class RingBitSetBenchmark {
         ringBitSet = new RingBitSet(CAPACITY);
     }
 
+    @Benchmark
     @Fork(value = FORK_COUNT)
     @Group("ringBitSet")
     @GroupThreads(THREAD_COUNT)
@@ -64,4 +71,26 @@ public class RingBitSetBenchmark {
         int cardinality = ringBitSet.cardinality();
         bh.consume(cardinality);
     }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public int setNextBit() {
+        return ringBitSet.setNextBit(ThreadLocalRandom.current().nextBoolean());
+    }
+
+    /**
+     * Runs the {@link #setNextBit()} benchmark with 1 up to 64 writer threads to show how
+     * the lock-free ring bit set scales with the number of concurrent callers.
+     */
+    public static void main(String[] args) throws RunnerException {
+        for (int threadCount : SCALING_THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                .include(RingBitSetBenchmark.class.getName() + ".setNextBit$")
+                .threads(threadCount)
+                .build();
+            new Runner(options).run();
+        }
+    }
 }
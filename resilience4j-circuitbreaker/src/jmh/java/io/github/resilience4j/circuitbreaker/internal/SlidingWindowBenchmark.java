@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the count-based sliding window, which is backed by a {@link RingBitSet},
+ * with the time-based sliding window.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class SlidingWindowBenchmark {
+
+    private static final int RING_BUFFER_SIZE = 1000;
+    private static final int WINDOW_SIZE_IN_SECONDS = 10;
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 10;
+    private static final int THREAD_COUNT = 4;
+    private static final int FORK_COUNT = 2;
+
+    private SlidingWindow countBasedSlidingWindow;
+    private SlidingWindow timeBasedSlidingWindow;
+
+    @Setup
+    public void setUp() {
+        countBasedSlidingWindow = new CountBasedSlidingWindow(RING_BUFFER_SIZE);
+        timeBasedSlidingWindow = new TimeBasedSlidingWindow(WINDOW_SIZE_IN_SECONDS, RING_BUFFER_SIZE);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public float countBasedRecord() {
+        return countBasedSlidingWindow.record(ThreadLocalRandom.current().nextBoolean(), false);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public float timeBasedRecord() {
+        return timeBasedSlidingWindow.record(ThreadLocalRandom.current().nextBoolean(), false);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public float countBasedFailureRate() {
+        return countBasedSlidingWindow.getFailureRate();
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public float timeBasedFailureRate() {
+        return timeBasedSlidingWindow.getFailureRate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SlidingWindowBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -76,6 +76,16 @@ public interface CircuitBreaker {
       */
     void onSuccess(long durationInNanos);
 
+    /**
+     * Releases the permission of a permitted call which completed without being recorded,
+     * e.g. because it was cancelled before it produced a result.
+     * This method must be invoked instead of onSuccess or onError, so that a cancelled trial call in HALF_OPEN state
+     * does not keep its permission forever.
+     * <p>The default implementation does nothing, for CircuitBreakers which do not limit the number of permitted calls.
+     */
+    default void releasePermission() {
+    }
+
 
     /**
      * Transitions the state machine to CLOSED state.
@@ -282,6 +292,17 @@ public interface CircuitBreaker {
          */
         float getFailureRate();
 
+        /**
+         * Returns the current percentage of calls which took longer than the slow call duration threshold.
+         * If the number of measured calls is below the minimum number of measured calls, it returns -1.
+         * <p>The default implementation returns 0, for CircuitBreakers which do not detect slow calls.
+         *
+         * @return the slow call rate in percentage
+         */
+        default float getSlowCallRate() {
+            return 0;
+        }
+
         /**
          * Returns the current number of buffered calls.
          *
@@ -308,6 +329,8 @@ public interface CircuitBreaker {
 
         /**
          * Returns the maximum number of buffered calls.
+         * For a time-based sliding window it returns the number of calls which must be recorded within the window,
+         * before the failure rate can be calculated.
          *
          * @return the maximum number of buffered calls
          */
@@ -319,6 +342,16 @@ public interface CircuitBreaker {
          * @return the current number of successful calls
          */
         int getNumberOfSuccessfulCalls();
+
+        /**
+         * Returns the current number of buffered calls which took longer than the slow call duration threshold.
+         * <p>The default implementation returns 0, for CircuitBreakers which do not detect slow calls.
+         *
+         * @return the current number of slow calls
+         */
+        default int getNumberOfSlowCalls() {
+            return 0;
+        }
     }
 
     /**
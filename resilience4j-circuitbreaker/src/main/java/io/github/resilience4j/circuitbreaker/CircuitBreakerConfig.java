@@ -31,11 +31,20 @@ public class CircuitBreakerConfig {
     public static final int DEFAULT_WAIT_DURATION_IN_OPEN_STATE = 60; // Seconds
     public static final int DEFAULT_RING_BUFFER_SIZE_IN_HALF_OPEN_STATE = 10;
     public static final int DEFAULT_RING_BUFFER_SIZE_IN_CLOSED_STATE = 100;
+    public static final int DEFAULT_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE = 60; // Seconds
+    public static final int MAX_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE = 3600; // Seconds
+    public static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100; // Percentage
+    public static final int DEFAULT_SLOW_CALL_DURATION_THRESHOLD = 60; // Seconds
 
     private float failureRateThreshold = DEFAULT_MAX_FAILURE_THRESHOLD;
     private int ringBufferSizeInHalfOpenState = DEFAULT_RING_BUFFER_SIZE_IN_HALF_OPEN_STATE;
     private int ringBufferSizeInClosedState = DEFAULT_RING_BUFFER_SIZE_IN_CLOSED_STATE;
     private Duration waitDurationInOpenState = Duration.ofSeconds(DEFAULT_WAIT_DURATION_IN_OPEN_STATE);
+    private SlidingWindowType slidingWindowType = SlidingWindowType.COUNT_BASED;
+    private Duration slidingWindowDurationInClosedState = Duration.ofSeconds(DEFAULT_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE);
+    private float slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    private Duration slowCallDurationThreshold = Duration.ofSeconds(DEFAULT_SLOW_CALL_DURATION_THRESHOLD);
+    private boolean slowCallDetectionEnabled = false;
     // The default exception predicate counts all exceptions as failures.
     private Predicate<? super Throwable> recordFailurePredicate = (exception) -> true;
 
@@ -62,6 +71,26 @@ public class CircuitBreakerConfig {
         return recordFailurePredicate;
     }
 
+    public SlidingWindowType getSlidingWindowType() {
+        return slidingWindowType;
+    }
+
+    public Duration getSlidingWindowDurationInClosedState() {
+        return slidingWindowDurationInClosedState;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDurationThreshold() {
+        return slowCallDurationThreshold;
+    }
+
+    public boolean isSlowCallDetectionEnabled() {
+        return slowCallDetectionEnabled;
+    }
+
     /**
      * Returns a builder to create a custom CircuitBreakerConfig.
      *
@@ -151,6 +180,87 @@ public class CircuitBreakerConfig {
             return this;
         }
 
+        /**
+         * Configures the type of the sliding window which records the outcome of calls when the CircuitBreaker is closed.
+         * A {@link SlidingWindowType#COUNT_BASED} window stores the outcome of the last {@code ringBufferSizeInClosedState} calls.
+         * A {@link SlidingWindowType#TIME_BASED} window aggregates the outcome of the calls of the last {@code slidingWindowDurationInClosedState}.
+         * In HALF_OPEN state the outcome of the trial calls is always recorded in a ring buffer of size {@code ringBufferSizeInHalfOpenState}.
+         *
+         * Default type is {@link SlidingWindowType#COUNT_BASED}.
+         *
+         * @param slidingWindowType the type of the sliding window when the CircuitBreaker is closed
+         * @return the CircuitBreakerConfig.Builder
+         */
+        public Builder slidingWindowType(SlidingWindowType slidingWindowType) {
+            if (slidingWindowType == null) {
+                throw new IllegalArgumentException("slidingWindowType must not be null");
+            }
+            config.slidingWindowType = slidingWindowType;
+            return this;
+        }
+
+        /**
+         * Configures the duration of the time-based sliding window which is used when the CircuitBreaker is closed.
+         * The window is divided into buckets of one second, therefore the duration is truncated to seconds.
+         * For example, if {@code ringBufferSizeInClosedState} is 100, then at least 100 calls must be recorded within the
+         * duration of the window, before the failure rate can be calculated.
+         *
+         * The window allocates counters for every second of its duration, therefore the duration must be at least
+         * 1 second and at most 1 hour. Default value is 60 seconds.
+         *
+         * @param slidingWindowDurationInClosedState the duration of the time-based sliding window
+         * @return the CircuitBreakerConfig.Builder
+         */
+        public Builder slidingWindowDurationInClosedState(Duration slidingWindowDurationInClosedState) {
+            if (slidingWindowDurationInClosedState == null || slidingWindowDurationInClosedState.getSeconds() < 1) {
+                throw new IllegalArgumentException("slidingWindowDurationInClosedState must be at least 1000[ms]");
+            }
+            if (slidingWindowDurationInClosedState.getSeconds() > MAX_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE) {
+                throw new IllegalArgumentException("slidingWindowDurationInClosedState must be at most "
+                    + MAX_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE + "[s]");
+            }
+            config.slidingWindowDurationInClosedState = slidingWindowDurationInClosedState;
+            return this;
+        }
+
+        /**
+         * Configures the slow call rate threshold in percentage above which the CircuitBreaker should trip open and start short-circuiting calls.
+         * A call is slow, if it takes longer than the {@code slowCallDurationThreshold}. Slow calls are recorded in the same
+         * sliding window as failed calls, no matter whether they succeeded or failed.
+         * Slow calls are only detected if this threshold or the {@code slowCallDurationThreshold} is configured.
+         *
+         * The threshold must be greater than 0 and not greater than 100. Default value is 100 percentage.
+         *
+         * @param slowCallRateThreshold the slow call rate threshold in percentage
+         * @return the CircuitBreakerConfig.Builder
+         */
+        public Builder slowCallRateThreshold(float slowCallRateThreshold) {
+            if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+                throw new IllegalArgumentException("slowCallRateThreshold must be between 1 and 100");
+            }
+            config.slowCallRateThreshold = slowCallRateThreshold;
+            config.slowCallDetectionEnabled = true;
+            return this;
+        }
+
+        /**
+         * Configures the duration threshold above which calls are considered as slow and increase the slow call rate.
+         * Slow calls are only detected if this threshold or the {@code slowCallRateThreshold} is configured.
+         *
+         * The duration must be at least 1 millisecond. Default value is 60 seconds.
+         *
+         * @param slowCallDurationThreshold the duration above which calls are considered as slow
+         * @return the CircuitBreakerConfig.Builder
+         */
+        public Builder slowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            if (slowCallDurationThreshold == null || slowCallDurationThreshold.toMillis() < 1) {
+                throw new IllegalArgumentException("slowCallDurationThreshold must be at least 1[ms]");
+            }
+            config.slowCallDurationThreshold = slowCallDurationThreshold;
+            config.slowCallDetectionEnabled = true;
+            return this;
+        }
+
         /**
          * Configures a Predicate which evaluates if an exception should be recorded as a failure and thus increase the failure rate.
          * The Predicate must return true if the exception should count as a failure, otherwise it must return false.
@@ -172,4 +282,14 @@ public class CircuitBreakerConfig {
             return config;
         }
     }
+
+    /**
+     * The type of the sliding window which records the outcome of calls when the CircuitBreaker is closed.
+     */
+    public enum SlidingWindowType {
+        /** Records the outcome of the last N calls. */
+        COUNT_BASED,
+        /** Records the outcome of the calls of the last N seconds. */
+        TIME_BASED
+    }
 }
@@ -18,16 +18,18 @@
  */
 package io.github.resilience4j.circuitbreaker.event;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 abstract class AbstractCircuitBreakerEvent implements CircuitBreakerEvent {
 
     private final String circuitBreakerName;
-    private final ZonedDateTime creationTime;
+    private final long creationTimeInMillis;
 
     AbstractCircuitBreakerEvent(String circuitBreakerName) {
         this.circuitBreakerName = circuitBreakerName;
-        this.creationTime = ZonedDateTime.now();
+        this.creationTimeInMillis = System.currentTimeMillis();
     }
 
     @Override
@@ -37,6 +39,6 @@ abstract class AbstractCircuitBreakerEvent implements CircuitBreakerEvent {
 
     @Override
     public ZonedDateTime getCreationTime() {
-        return creationTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(creationTimeInMillis), ZoneId.systemDefault());
     }
 }
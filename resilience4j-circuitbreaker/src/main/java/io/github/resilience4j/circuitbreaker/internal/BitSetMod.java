@@ -18,22 +18,26 @@
  */
 package io.github.resilience4j.circuitbreaker.internal;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  * {@link BitSetMod} is simplified version of {@link java.util.BitSet}.
  * It has no dynamic allocation, expanding logic, boundary checks
  * and it's set method returns previous bit state.
+ * Bits are packed into long words which are updated with CAS, so concurrent
+ * writers never lose an update of a neighbouring bit in the same word.
  */
 class BitSetMod {
 
     private final static int ADDRESS_BITS_PER_WORD = 6;
     private final int size;
-    private final long[] words;
+    private final AtomicLongArray words;
 
 
     BitSetMod(final int capacity) {
         int countOfWordsRequired = wordIndex(capacity - 1) + 1;
         size = countOfWordsRequired << ADDRESS_BITS_PER_WORD;
-        words = new long[countOfWordsRequired];
+        words = new AtomicLongArray(countOfWordsRequired);
     }
 
     /**
@@ -53,13 +57,13 @@ class BitSetMod {
     int set(int bitIndex, boolean value) {
         int wordIndex = wordIndex(bitIndex);
         long bitMask = 1L << bitIndex;
-        int previous = (words[wordIndex] & bitMask) != 0 ? 1 : 0;
-        if (value) {
-            words[wordIndex] |= bitMask;
-        } else {
-            words[wordIndex] &= ~bitMask;
-        }
-        return previous;
+        long previousWord;
+        long nextWord;
+        do {
+            previousWord = words.get(wordIndex);
+            nextWord = value ? previousWord | bitMask : previousWord & ~bitMask;
+        } while (previousWord != nextWord && !words.compareAndSet(wordIndex, previousWord, nextWord));
+        return (previousWord & bitMask) != 0 ? 1 : 0;
     }
 
     int size() {
@@ -76,6 +80,6 @@ class BitSetMod {
     boolean get(int bitIndex) {
         int wordIndex = wordIndex(bitIndex);
         long bitMask = 1L << bitIndex;
-        return (words[wordIndex] & bitMask) != 0;
+        return (words.get(wordIndex) & bitMask) != 0;
     }
 }
\ No newline at end of file
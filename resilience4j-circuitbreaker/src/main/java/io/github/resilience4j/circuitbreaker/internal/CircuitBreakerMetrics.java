@@ -25,53 +25,52 @@ import java.util.concurrent.atomic.LongAdder;
 
 class CircuitBreakerMetrics implements CircuitBreaker.Metrics {
 
-    private final int ringBufferSize;
-    private final RingBitSet ringBitSet;
+    private final SlidingWindow slidingWindow;
     private final LongAdder numberOfNotPermittedCalls;
 
     CircuitBreakerMetrics(int ringBufferSize) {
-        this(ringBufferSize, null);
+        this(new CountBasedSlidingWindow(ringBufferSize));
     }
 
-    CircuitBreakerMetrics(int ringBufferSize, RingBitSet sourceSet) {
-        this.ringBufferSize = ringBufferSize;
-        if(sourceSet != null) {
-            this.ringBitSet = new RingBitSet(this.ringBufferSize, sourceSet);
-        }else{
-            this.ringBitSet = new RingBitSet(this.ringBufferSize);
-        }
+    CircuitBreakerMetrics(SlidingWindow slidingWindow) {
+        this.slidingWindow = slidingWindow;
         this.numberOfNotPermittedCalls = new LongAdder();
     }
 
     /**
      * Creates a new CircuitBreakerMetrics instance and copies the content of the current RingBitSet
      * into the new RingBitSet.
+     * A time-based sliding window can not be copied into a ring bit set, in this case the new instance is empty.
      *
      * @param targetRingBufferSize the ringBufferSize of the new CircuitBreakerMetrics instances
      * @return a CircuitBreakerMetrics
      */
     public CircuitBreakerMetrics copy(int targetRingBufferSize) {
-        return new CircuitBreakerMetrics(targetRingBufferSize, this.ringBitSet);
+        if (slidingWindow instanceof CountBasedSlidingWindow) {
+            return new CircuitBreakerMetrics(
+                new CountBasedSlidingWindow(targetRingBufferSize, (CountBasedSlidingWindow) slidingWindow));
+        }
+        return new CircuitBreakerMetrics(targetRingBufferSize);
     }
 
     /**
      * Records a failed call and returns the current failure rate in percentage.
      *
+     * @param slowCall true, if the call took longer than the slow call duration threshold
      * @return the current failure rate  in percentage.
      */
-    float onError() {
-        int currentNumberOfFailedCalls = ringBitSet.setNextBit(true);
-        return getFailureRate(currentNumberOfFailedCalls);
+    float onError(boolean slowCall) {
+        return slidingWindow.record(true, slowCall);
     }
 
     /**
      * Records a successful call and returns the current failure rate in percentage.
      *
+     * @param slowCall true, if the call took longer than the slow call duration threshold
      * @return the current failure rate in percentage.
      */
-    float onSuccess() {
-        int currentNumberOfFailedCalls = ringBitSet.setNextBit(false);
-        return getFailureRate(currentNumberOfFailedCalls);
+    float onSuccess(boolean slowCall) {
+        return slidingWindow.record(false, slowCall);
     }
 
     /**
@@ -86,7 +85,15 @@ class CircuitBreakerMetrics implements CircuitBreaker.Metrics {
      */
     @Override
     public float getFailureRate() {
-        return getFailureRate(getNumberOfFailedCalls());
+        return slidingWindow.getFailureRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getSlowCallRate() {
+        return slidingWindow.getSlowCallRate();
     }
 
     /**
@@ -94,7 +101,7 @@ class CircuitBreakerMetrics implements CircuitBreaker.Metrics {
      */
     @Override
     public int getMaxNumberOfBufferedCalls() {
-        return ringBufferSize;
+        return slidingWindow.getMaxNumberOfBufferedCalls();
     }
 
     /**
@@ -110,7 +117,7 @@ class CircuitBreakerMetrics implements CircuitBreaker.Metrics {
      */
     @Override
     public int getNumberOfBufferedCalls() {
-        return this.ringBitSet.length();
+        return slidingWindow.getNumberOfBufferedCalls();
     }
 
     /**
@@ -126,13 +133,14 @@ class CircuitBreakerMetrics implements CircuitBreaker.Metrics {
      */
     @Override
     public int getNumberOfFailedCalls() {
-        return this.ringBitSet.cardinality();
+        return slidingWindow.getNumberOfFailedCalls();
     }
 
-    private float getFailureRate(int numberOfFailedCalls) {
-        if (getNumberOfBufferedCalls() < ringBufferSize) {
-            return -1.0f;
-        }
-        return numberOfFailedCalls * 100.0f / ringBufferSize;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfSlowCalls() {
+        return slidingWindow.getNumberOfSlowCalls();
     }
 }
@@ -33,9 +33,16 @@ abstract class CircuitBreakerState{
 
     abstract boolean isCallPermitted();
 
-    abstract void onError(Throwable throwable);
+    abstract void onError(long durationInNanos, Throwable throwable);
 
-    abstract void onSuccess();
+    abstract void onSuccess(long durationInNanos);
+
+    /**
+     * Releases the permission of a call which completed without being recorded, e.g. because the error was ignored.
+     * Only states which limit the number of concurrent calls have to release anything.
+     */
+    void releasePermission() {
+    }
 
     abstract CircuitBreaker.State getState();
 
@@ -24,6 +24,7 @@ import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.event.*;
 import io.github.resilience4j.core.EventConsumer;
 import io.github.resilience4j.core.EventProcessor;
+import io.github.resilience4j.core.NanoClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,8 @@ public final class CircuitBreakerStateMachine implements CircuitBreaker {
     private final AtomicReference<CircuitBreakerState> stateReference;
     private final CircuitBreakerConfig circuitBreakerConfig;
     private final CircuitBreakerEventProcessor eventProcessor;
+    private final long slowCallDurationThresholdInNanos;
+    private final NanoClock clock;
 
     /**
      * Creates a circuitBreaker.
@@ -52,8 +55,22 @@ public final class CircuitBreakerStateMachine implements CircuitBreaker {
      * @param circuitBreakerConfig The CircuitBreaker configuration.
      */
     public CircuitBreakerStateMachine(String name, CircuitBreakerConfig circuitBreakerConfig) {
+        this(name, circuitBreakerConfig, NanoClock.systemClock());
+    }
+
+    /**
+     * Creates a circuitBreaker which reads the time from a custom clock.
+     *
+     * @param name                 the name of the CircuitBreaker
+     * @param circuitBreakerConfig The CircuitBreaker configuration.
+     * @param clock                the clock which measures the wait duration in open state and the time-based sliding window
+     */
+    public CircuitBreakerStateMachine(String name, CircuitBreakerConfig circuitBreakerConfig, NanoClock clock) {
         this.name = name;
         this.circuitBreakerConfig = circuitBreakerConfig;
+        this.clock = clock;
+        this.slowCallDurationThresholdInNanos = circuitBreakerConfig.isSlowCallDetectionEnabled()
+            ? circuitBreakerConfig.getSlowCallDurationThreshold().toNanos() : Long.MAX_VALUE;
         this.stateReference = new AtomicReference<>(new ClosedState(this));
         this.eventProcessor = new CircuitBreakerEventProcessor();
     }
@@ -98,16 +115,51 @@ public final class CircuitBreakerStateMachine implements CircuitBreaker {
                 LOG.debug(String.format("CircuitBreaker '%s' recorded a failure:", name), throwable);
             }
             publishCircuitErrorEvent(name, durationInNanos, throwable);
-            stateReference.get().onError(throwable);
+            stateReference.get().onError(durationInNanos, throwable);
         } else {
             publishCircuitIgnoredErrorEvent(name, durationInNanos, throwable);
+            stateReference.get().releasePermission();
         }
     }
 
     @Override
     public void onSuccess(long durationInNanos) {
         publishSuccessEvent(durationInNanos);
-        stateReference.get().onSuccess();
+        stateReference.get().onSuccess(durationInNanos);
+    }
+
+    @Override
+    public void releasePermission() {
+        stateReference.get().releasePermission();
+    }
+
+    /**
+     * Get the clock of this CircuitBreaker.
+     *
+     * @return the clock of this CircuitBreaker
+     */
+    NanoClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Get the current state of the state machine.
+     *
+     * @return the current state of the state machine
+     */
+    CircuitBreakerState getCurrentState() {
+        return stateReference.get();
+    }
+
+    /**
+     * Checks if a call took longer than the slow call duration threshold. No call is slow if slow call detection
+     * is disabled.
+     *
+     * @param durationInNanos the duration of the call
+     * @return true, if the call is a slow call
+     */
+    boolean isSlowCall(long durationInNanos) {
+        return durationInNanos > slowCallDurationThresholdInNanos;
     }
 
     /**
@@ -25,6 +25,7 @@ final class ClosedState extends CircuitBreakerState {
 
     private final CircuitBreakerMetrics circuitBreakerMetrics;
     private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
 
     ClosedState(CircuitBreakerStateMachine stateMachine) {
         this(stateMachine, null);
@@ -33,13 +34,20 @@ final class ClosedState extends CircuitBreakerState {
     ClosedState(CircuitBreakerStateMachine stateMachine, CircuitBreakerMetrics circuitBreakerMetrics) {
         super(stateMachine);
         CircuitBreakerConfig circuitBreakerConfig = stateMachine.getCircuitBreakerConfig();
-        if(circuitBreakerMetrics == null){
+        if(circuitBreakerConfig.getSlidingWindowType() == CircuitBreakerConfig.SlidingWindowType.TIME_BASED){
+            // The outcome of calls recorded in another state has no timestamp, therefore the time-based window starts empty
+            this.circuitBreakerMetrics = new CircuitBreakerMetrics(new TimeBasedSlidingWindow(
+                (int) circuitBreakerConfig.getSlidingWindowDurationInClosedState().getSeconds(),
+                circuitBreakerConfig.getRingBufferSizeInClosedState(),
+                stateMachine.getClock()));
+        }else if(circuitBreakerMetrics == null){
             this.circuitBreakerMetrics = new CircuitBreakerMetrics(
                 circuitBreakerConfig.getRingBufferSizeInClosedState());
         }else{
             this.circuitBreakerMetrics = circuitBreakerMetrics.copy(circuitBreakerConfig.getRingBufferSizeInClosedState());
         }
         this.failureRateThreshold = stateMachine.getCircuitBreakerConfig().getFailureRateThreshold();
+        this.slowCallRateThreshold = stateMachine.getCircuitBreakerConfig().getSlowCallRateThreshold();
     }
 
     /**
@@ -53,30 +61,34 @@ final class ClosedState extends CircuitBreakerState {
     }
 
     @Override
-    void onError(Throwable throwable) {
+    void onError(long durationInNanos, Throwable throwable) {
         // CircuitBreakerMetrics is thread-safe
-        checkFailureRate(circuitBreakerMetrics.onError());
+        checkFailureRate(circuitBreakerMetrics.onError(stateMachine.isSlowCall(durationInNanos)));
     }
 
     @Override
-    void onSuccess() {
+    void onSuccess(long durationInNanos) {
         // CircuitBreakerMetrics is thread-safe
-        checkFailureRate(circuitBreakerMetrics.onSuccess());
+        checkFailureRate(circuitBreakerMetrics.onSuccess(stateMachine.isSlowCall(durationInNanos)));
     }
 
     /**
-     * Checks if the current failure rate is above the threshold.
-     * If the failure rate is above the threshold, transitions the state machine to OPEN state.
+     * Checks if the current failure rate or the current slow call rate is above its threshold.
+     * If one of the rates is above its threshold, transitions the state machine to OPEN state.
      *
      * @param currentFailureRate the current failure rate
      */
     private void checkFailureRate(float currentFailureRate) {
-        if (currentFailureRate >= failureRateThreshold) {
-            // Transition the state machine to OPEN state, because the failure rate is above the threshold
+        if (currentFailureRate >= failureRateThreshold || isSlowCallRateAboveThreshold(currentFailureRate)) {
+            // Transition the state machine to OPEN state, because the failure rate or the slow call rate is above the threshold
             stateMachine.transitionToOpenState();
         }
     }
 
+    private boolean isSlowCallRateAboveThreshold(float currentFailureRate) {
+        return currentFailureRate != -1 && circuitBreakerMetrics.getSlowCallRate() >= slowCallRateThreshold;
+    }
+
     /**
      * Get the state of the CircuitBreaker
      */
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+/**
+ * A {@link SlidingWindow} which stores the outcome of the latest N calls in a {@link RingBitSet}
+ * and whether these calls were slow in a second {@link RingBitSet}.
+ * The failure rate and the slow call rate can only be calculated when the ring bit set is full.
+ */
+class CountBasedSlidingWindow implements SlidingWindow {
+
+    private final int ringBufferSize;
+    private final RingBitSet ringBitSet;
+    private final RingBitSet slowCallRingBitSet;
+
+    CountBasedSlidingWindow(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+        this.ringBitSet = new RingBitSet(ringBufferSize);
+        this.slowCallRingBitSet = new RingBitSet(ringBufferSize);
+    }
+
+    /**
+     * Creates a CountBasedSlidingWindow and copies the content of the source window into the new window.
+     *
+     * @param ringBufferSize the size of the new window
+     * @param source the source window
+     */
+    CountBasedSlidingWindow(int ringBufferSize, CountBasedSlidingWindow source) {
+        this.ringBufferSize = ringBufferSize;
+        this.ringBitSet = new RingBitSet(ringBufferSize, source.ringBitSet);
+        this.slowCallRingBitSet = new RingBitSet(ringBufferSize, source.slowCallRingBitSet);
+    }
+
+    @Override
+    public float record(boolean failure, boolean slowCall) {
+        slowCallRingBitSet.setNextBit(slowCall);
+        int currentNumberOfFailedCalls = ringBitSet.setNextBit(failure);
+        return getRate(currentNumberOfFailedCalls);
+    }
+
+    @Override
+    public float getFailureRate() {
+        return getRate(getNumberOfFailedCalls());
+    }
+
+    @Override
+    public float getSlowCallRate() {
+        return getRate(getNumberOfSlowCalls());
+    }
+
+    @Override
+    public int getNumberOfBufferedCalls() {
+        return ringBitSet.length();
+    }
+
+    @Override
+    public int getNumberOfFailedCalls() {
+        return ringBitSet.cardinality();
+    }
+
+    @Override
+    public int getNumberOfSlowCalls() {
+        return slowCallRingBitSet.cardinality();
+    }
+
+    @Override
+    public int getMaxNumberOfBufferedCalls() {
+        return ringBufferSize;
+    }
+
+    private float getRate(int numberOfCalls) {
+        if (getNumberOfBufferedCalls() < ringBufferSize) {
+            return -1.0f;
+        }
+        return numberOfCalls * 100.0f / ringBufferSize;
+    }
+}
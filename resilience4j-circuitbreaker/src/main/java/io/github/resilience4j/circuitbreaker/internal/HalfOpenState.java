@@ -21,10 +21,15 @@ package io.github.resilience4j.circuitbreaker.internal;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class HalfOpenState extends CircuitBreakerState {
 
     private CircuitBreakerMetrics circuitBreakerMetrics;
     private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final int maxNumberOfPermittedCalls;
+    private final AtomicInteger numberOfPermittedCalls;
 
     HalfOpenState(CircuitBreakerStateMachine stateMachine) {
         super(stateMachine);
@@ -32,40 +37,71 @@ final class HalfOpenState extends CircuitBreakerState {
         this.circuitBreakerMetrics = new CircuitBreakerMetrics(
                 circuitBreakerConfig.getRingBufferSizeInHalfOpenState());
         this.failureRateThreshold = stateMachine.getCircuitBreakerConfig().getFailureRateThreshold();
+        this.slowCallRateThreshold = stateMachine.getCircuitBreakerConfig().getSlowCallRateThreshold();
+        this.maxNumberOfPermittedCalls = circuitBreakerConfig.getRingBufferSizeInHalfOpenState();
+        this.numberOfPermittedCalls = new AtomicInteger(maxNumberOfPermittedCalls);
     }
 
     /**
-     * Returns always true, because the CircuitBreaker is half open.
+     * Returns true, if one of the permissions for trial calls could be acquired.
+     * At most {@code ringBufferSizeInHalfOpenState} trial calls are in flight at the same time,
+     * so that the recovering backend is not flooded with all waiting calls at once.
      *
-     * @return always true, because the CircuitBreaker is half open.
+     * @return true, if a permission for a trial call could be acquired.
      */
     @Override
     boolean isCallPermitted() {
+        int current;
+        do {
+            current = numberOfPermittedCalls.get();
+            if (current == 0) {
+                circuitBreakerMetrics.onCallNotPermitted();
+                return false;
+            }
+        } while (!numberOfPermittedCalls.compareAndSet(current, current - 1));
         return true;
     }
 
     @Override
-    void onError(Throwable throwable) {
+    void onError(long durationInNanos, Throwable throwable) {
+        releasePermission();
         // CircuitBreakerMetrics is thread-safe
-        checkFailureRate(circuitBreakerMetrics.onError());
+        checkFailureRate(circuitBreakerMetrics.onError(stateMachine.isSlowCall(durationInNanos)));
     }
 
     @Override
-    void onSuccess() {
+    void onSuccess(long durationInNanos) {
+        releasePermission();
         // CircuitBreakerMetrics is thread-safe
-        checkFailureRate(circuitBreakerMetrics.onSuccess());
+        checkFailureRate(circuitBreakerMetrics.onSuccess(stateMachine.isSlowCall(durationInNanos)));
+    }
+
+    /**
+     * Releases the permission of a completed trial call.
+     * Calls which were permitted in another state may complete in this state, therefore the
+     * number of permissions never grows above {@code ringBufferSizeInHalfOpenState}.
+     */
+    @Override
+    void releasePermission() {
+        int current;
+        do {
+            current = numberOfPermittedCalls.get();
+            if (current == maxNumberOfPermittedCalls) {
+                return;
+            }
+        } while (!numberOfPermittedCalls.compareAndSet(current, current + 1));
     }
 
     /**
-     * Checks if the current failure rate is above or below the threshold.
-     * If the failure rate is above the threshold, transition the state machine to OPEN state.
-     * If the failure rate is below the threshold, transition the state machine to CLOSED state.
+     * Checks if the current failure rate and the current slow call rate are above or below their thresholds.
+     * If one of the rates is above its threshold, transition the state machine to OPEN state.
+     * If both rates are below their thresholds, transition the state machine to CLOSED state.
      *
      * @param currentFailureRate the current failure rate
      */
     private void checkFailureRate(float currentFailureRate) {
         if(currentFailureRate != -1){
-            if(currentFailureRate >= failureRateThreshold) {
+            if(currentFailureRate >= failureRateThreshold || circuitBreakerMetrics.getSlowCallRate() >= slowCallRateThreshold) {
                 stateMachine.transitionToOpenState();
             }else{
                 stateMachine.transitionToClosedState();
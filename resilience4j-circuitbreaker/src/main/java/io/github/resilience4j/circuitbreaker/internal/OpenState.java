@@ -19,32 +19,36 @@
 package io.github.resilience4j.circuitbreaker.internal;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-
-import java.time.Instant;
+import io.github.resilience4j.core.NanoClock;
 
 final class OpenState extends CircuitBreakerState {
 
-    private final Instant retryAfterWaitDuration;
+    private final NanoClock clock;
+    // A monotonic deadline, so that rejecting a call neither allocates nor depends on the wall clock
+    private final long retryAfterWaitDurationInNanos;
     private final CircuitBreakerMetrics circuitBreakerMetrics;
 
     OpenState(CircuitBreakerStateMachine stateMachine, CircuitBreakerMetrics circuitBreakerMetrics) {
         super(stateMachine);
-        this.retryAfterWaitDuration = Instant.now().plus(stateMachine.getCircuitBreakerConfig().getWaitDurationInOpenState());
+        this.clock = stateMachine.getClock();
+        this.retryAfterWaitDurationInNanos = clock.nanoTime() + stateMachine.getCircuitBreakerConfig().getWaitDurationInOpenState().toNanos();
         this.circuitBreakerMetrics = circuitBreakerMetrics;
     }
 
     /**
      * Returns false, if the wait duration has not elapsed.
-     * Returns true, if the wait duration has elapsed and transitions the state machine to HALF_OPEN state.
+     * If the wait duration has elapsed, transitions the state machine to HALF_OPEN state
+     * and returns true, if a permission for a trial call could be acquired in HALF_OPEN state.
      *
-     * @return false, if the wait duration has not elapsed. true, if the wait duration has elapsed.
+     * @return false, if the wait duration has not elapsed. true, if the wait duration has elapsed and a trial call is permitted.
      */
     @Override
     boolean isCallPermitted() {
         // Thread-safe
-        if (Instant.now().isAfter(retryAfterWaitDuration)) {
+        if (clock.nanoTime() - retryAfterWaitDurationInNanos > 0) {
             stateMachine.transitionToHalfOpenState();
-            return true;
+            // The call must acquire one of the limited permissions of the new state
+            return stateMachine.getCurrentState().isCallPermitted();
         }
         circuitBreakerMetrics.onCallNotPermitted();
         return false;
@@ -54,22 +58,22 @@ final class OpenState extends CircuitBreakerState {
      * Should never be called when isCallPermitted returns false.
      */
     @Override
-    void onError(Throwable throwable) {
+    void onError(long durationInNanos, Throwable throwable) {
         // Could be called when Thread 1 invokes isCallPermitted when the state is CLOSED, but in the meantime another
         // Thread 2 calls onError and the state changes from CLOSED to OPEN before Thread 1 calls onError.
         // But the onError event should still be recorded, even if it happened after the state transition.
-        circuitBreakerMetrics.onError();
+        circuitBreakerMetrics.onError(stateMachine.isSlowCall(durationInNanos));
     }
 
     /**
      * Should never be called when isCallPermitted returns false.
      */
     @Override
-    void onSuccess() {
+    void onSuccess(long durationInNanos) {
         // Could be called when Thread 1 invokes isCallPermitted when the state is CLOSED, but in the meantime another
         // Thread 2 calls onError and the state changes from CLOSED to OPEN before Thread 1 calls onSuccess.
         // But the onSuccess event should still be recorded, even if it happened after the state transition.
-        circuitBreakerMetrics.onSuccess();
+        circuitBreakerMetrics.onSuccess(stateMachine.isSlowCall(durationInNanos));
     }
 
     /**
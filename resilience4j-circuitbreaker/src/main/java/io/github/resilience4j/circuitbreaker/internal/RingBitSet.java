@@ -18,19 +18,24 @@
  */
 package io.github.resilience4j.circuitbreaker.internal;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A ring bit set which stores bits up to a maximum size of bits.
+ *
+ * The ring bit set is lock-free. A writer claims the next index by incrementing a sequence,
+ * sets the bit with a CAS on the long word which contains the index and
+ * adjusts the cardinality by the difference between the new and the previous bit.
  */
 class RingBitSet {
 
     private final int size;
     private final BitSetMod bitSet;
 
-    private boolean notFull;
-    private int index = -1;
-
-    private volatile int length;
-    private volatile int cardinality = 0;
+    private final AtomicLong sequence;
+    private final AtomicInteger length;
+    private final AtomicInteger cardinality;
 
 
     /**
@@ -43,9 +48,11 @@ class RingBitSet {
      *                                    is negative
      */
     RingBitSet(int bitSetSize) {
-        notFull = true;
         size = bitSetSize;
         bitSet = new BitSetMod(bitSetSize);
+        sequence = new AtomicLong();
+        length = new AtomicInteger();
+        cardinality = new AtomicInteger();
     }
 
     /**
@@ -61,8 +68,8 @@ class RingBitSet {
     RingBitSet(int bitSetSize, RingBitSet sourceSet) {
         this(bitSetSize);
 
-        int targetLength = Integer.min(bitSetSize, sourceSet.length);
-        int sourceIndex = sourceSet.index;
+        int targetLength = Integer.min(bitSetSize, sourceSet.length());
+        int sourceIndex = sourceSet.getIndex();
         int forwardIndex = sourceSet.size - sourceIndex;
         for (int i = 0; i < targetLength; i++) {
             this.setNextBit(sourceSet.bitSet.get(sourceIndex));
@@ -78,14 +85,14 @@ class RingBitSet {
      * @param value a boolean value to set
      * @return the number of bits set to {@code true}
      */
-    public synchronized int setNextBit(boolean value) {
-        increaseLength();
-        index = (index + 1) % size;
+    public int setNextBit(boolean value) {
+        int index = (int) (sequence.getAndIncrement() % size);
 
         int previous = bitSet.set(index, value);
         int current = value ? 1 : 0;
-        cardinality = cardinality - previous + current;
-        return cardinality;
+        int currentCardinality = previous == current ? cardinality.get() : cardinality.addAndGet(current - previous);
+        increaseLength();
+        return currentCardinality;
     }
 
     /**
@@ -94,7 +101,7 @@ class RingBitSet {
      * @return the number of bits set to {@code true} in this {@code RingBitSet}
      */
     public int cardinality() {
-        return cardinality;
+        return cardinality.get();
     }
 
     /**
@@ -115,7 +122,7 @@ class RingBitSet {
      * @return the logical size of this {@code RingBitSet}
      */
     public int length() {
-        return length;
+        return length.get();
     }
 
     /**
@@ -137,19 +144,25 @@ class RingBitSet {
      *
      * @return the current index of this {@code RingBitSet}
      */
-    synchronized int getIndex() {
-        return index;
+    int getIndex() {
+        long nextSequence = sequence.get();
+        if (nextSequence == 0) {
+            return -1;
+        }
+        return (int) ((nextSequence - 1) % size);
     }
 
+    /**
+     * The length is increased after the cardinality has been updated,
+     * so that a full ring bit set never reports a cardinality which misses a written bit.
+     */
     private void increaseLength() {
-        if (notFull) {
-            int nextLength = length + 1;
-            if (nextLength < size) {
-                length = nextLength;
-            } else {
-                length = size;
-                notFull = false;
+        int currentLength;
+        do {
+            currentLength = length.get();
+            if (currentLength >= size) {
+                return;
             }
-        }
+        } while (!length.compareAndSet(currentLength, currentLength + 1));
     }
 }
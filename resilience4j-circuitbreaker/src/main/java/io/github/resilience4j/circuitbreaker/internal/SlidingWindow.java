@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+/**
+ * A sliding window which records the outcome of calls and calculates the failure rate and the slow call rate
+ * of the recorded calls.
+ * Implementations must be thread-safe.
+ */
+interface SlidingWindow {
+
+    /**
+     * Records the outcome of a call and returns the current failure rate in percentage.
+     *
+     * @param failure true, if the call has failed
+     * @param slowCall true, if the call took longer than the slow call duration threshold
+     * @return the current failure rate in percentage or -1, if not enough calls have been recorded
+     */
+    float record(boolean failure, boolean slowCall);
+
+    /**
+     * Returns the current failure rate in percentage.
+     *
+     * @return the current failure rate in percentage or -1, if not enough calls have been recorded
+     */
+    float getFailureRate();
+
+    /**
+     * Returns the current slow call rate in percentage.
+     *
+     * @return the current slow call rate in percentage or -1, if not enough calls have been recorded
+     */
+    float getSlowCallRate();
+
+    /**
+     * Returns the current number of calls in the sliding window.
+     *
+     * @return the current number of calls in the sliding window
+     */
+    int getNumberOfBufferedCalls();
+
+    /**
+     * Returns the current number of failed calls in the sliding window.
+     *
+     * @return the current number of failed calls in the sliding window
+     */
+    int getNumberOfFailedCalls();
+
+    /**
+     * Returns the current number of slow calls in the sliding window.
+     *
+     * @return the current number of slow calls in the sliding window
+     */
+    int getNumberOfSlowCalls();
+
+    /**
+     * Returns the number of calls which must be recorded, before the failure rate can be calculated.
+     *
+     * @return the number of calls which must be recorded, before the failure rate can be calculated
+     */
+    int getMaxNumberOfBufferedCalls();
+}
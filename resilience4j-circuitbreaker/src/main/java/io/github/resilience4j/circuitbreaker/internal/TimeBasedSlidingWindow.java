@@ -0,0 +1,190 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import io.github.resilience4j.core.NanoClock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link SlidingWindow} which aggregates the outcome of the calls of the last N seconds.
+ *
+ * The window is divided into N buckets of one second. Every bucket and the rolling total of all buckets
+ * store the number of calls in the upper 32 bits and the number of failed calls, respectively slow calls,
+ * in the lower 32 bits of a long, so that a call is recorded with atomic additions and without allocation,
+ * and the failure rate and the slow call rate are read in O(1).
+ * The thread which moves the head of the window to a new second evicts the buckets which dropped out of the window
+ * and subtracts them from the rolling totals.
+ *
+ * Recording a call and evicting its bucket are not atomic, which makes the window an approximation. A bucket is reset
+ * with a single getAndSet and only what it contained is subtracted from the totals, so a call is never lost or counted
+ * twice. But a call whose thread determined its second before the head moved a whole window ahead, may be added to
+ * the reset bucket and counted as a call of the newer second. The rate returned by {@code record} may already miss
+ * the eviction of a concurrent head move.
+ */
+class TimeBasedSlidingWindow implements SlidingWindow {
+
+    private static final long NANOS_PER_BUCKET = TimeUnit.SECONDS.toNanos(1);
+    private static final long CALL = 1L << 32;
+    private static final long MATCHING_CALL = CALL | 1L;
+
+    private final int windowSizeInSeconds;
+    private final int minimumNumberOfCalls;
+    private final NanoClock clock;
+    private final long originNanos;
+    private final AtomicLongArray failedCallBuckets;
+    private final AtomicLongArray slowCallBuckets;
+    private final AtomicLong totalFailedCallCounts;
+    private final AtomicLong totalSlowCallCounts;
+    private final AtomicLong headSecond;
+
+    /**
+     * Creates a TimeBasedSlidingWindow.
+     *
+     * @param windowSizeInSeconds the number of one second buckets of the window
+     * @param minimumNumberOfCalls the number of calls which must be recorded in the window, before the failure rate can be calculated
+     */
+    TimeBasedSlidingWindow(int windowSizeInSeconds, int minimumNumberOfCalls) {
+        this(windowSizeInSeconds, minimumNumberOfCalls, NanoClock.systemClock());
+    }
+
+    /**
+     * Creates a TimeBasedSlidingWindow which reads the time from a custom clock.
+     *
+     * @param windowSizeInSeconds the number of one second buckets of the window
+     * @param minimumNumberOfCalls the number of calls which must be recorded in the window, before the failure rate can be calculated
+     * @param clock the clock which assigns calls to buckets
+     */
+    TimeBasedSlidingWindow(int windowSizeInSeconds, int minimumNumberOfCalls, NanoClock clock) {
+        this.windowSizeInSeconds = windowSizeInSeconds;
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+        this.clock = clock;
+        this.originNanos = clock.nanoTime();
+        this.failedCallBuckets = new AtomicLongArray(windowSizeInSeconds);
+        this.slowCallBuckets = new AtomicLongArray(windowSizeInSeconds);
+        this.totalFailedCallCounts = new AtomicLong();
+        this.totalSlowCallCounts = new AtomicLong();
+        this.headSecond = new AtomicLong();
+    }
+
+    @Override
+    public float record(boolean failure, boolean slowCall) {
+        int bucketIndex = bucketIndex(moveHeadToCurrentSecond());
+        // The totals are increased before the buckets, so that a total never drops below the sum of its buckets
+        long slowCallCount = slowCall ? MATCHING_CALL : CALL;
+        totalSlowCallCounts.addAndGet(slowCallCount);
+        slowCallBuckets.addAndGet(bucketIndex, slowCallCount);
+        long failedCallCount = failure ? MATCHING_CALL : CALL;
+        long currentFailedCallCounts = totalFailedCallCounts.addAndGet(failedCallCount);
+        failedCallBuckets.addAndGet(bucketIndex, failedCallCount);
+        return getRate(currentFailedCallCounts);
+    }
+
+    @Override
+    public float getFailureRate() {
+        moveHeadToCurrentSecond();
+        return getRate(totalFailedCallCounts.get());
+    }
+
+    @Override
+    public float getSlowCallRate() {
+        moveHeadToCurrentSecond();
+        return getRate(totalSlowCallCounts.get());
+    }
+
+    @Override
+    public int getNumberOfBufferedCalls() {
+        moveHeadToCurrentSecond();
+        return numberOfCalls(totalFailedCallCounts.get());
+    }
+
+    @Override
+    public int getNumberOfFailedCalls() {
+        moveHeadToCurrentSecond();
+        return numberOfMatchingCalls(totalFailedCallCounts.get());
+    }
+
+    @Override
+    public int getNumberOfSlowCalls() {
+        moveHeadToCurrentSecond();
+        return numberOfMatchingCalls(totalSlowCallCounts.get());
+    }
+
+    @Override
+    public int getMaxNumberOfBufferedCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * Moves the head of the window to the current second and evicts the buckets which dropped out of the window.
+     * A call which is recorded while another thread moves the head is added to the latest bucket.
+     *
+     * @return the second of the bucket which records calls
+     */
+    private long moveHeadToCurrentSecond() {
+        long currentSecond = (clock.nanoTime() - originNanos) / NANOS_PER_BUCKET;
+        long head = headSecond.get();
+        while (currentSecond > head) {
+            if (headSecond.compareAndSet(head, currentSecond)) {
+                evictBuckets(head, currentSecond);
+                return currentSecond;
+            }
+            head = headSecond.get();
+        }
+        return head;
+    }
+
+    private void evictBuckets(long previousHead, long currentHead) {
+        long firstEvictedSecond = Math.max(previousHead + 1, currentHead - windowSizeInSeconds + 1);
+        for (long second = firstEvictedSecond; second <= currentHead; second++) {
+            int bucketIndex = bucketIndex(second);
+            evictBucket(failedCallBuckets, totalFailedCallCounts, bucketIndex);
+            evictBucket(slowCallBuckets, totalSlowCallCounts, bucketIndex);
+        }
+    }
+
+    private static void evictBucket(AtomicLongArray buckets, AtomicLong totalCounts, int bucketIndex) {
+        long evictedCounts = buckets.getAndSet(bucketIndex, 0);
+        if (evictedCounts != 0) {
+            totalCounts.addAndGet(-evictedCounts);
+        }
+    }
+
+    private int bucketIndex(long second) {
+        return (int) (second % windowSizeInSeconds);
+    }
+
+    private float getRate(long totalCounts) {
+        int numberOfCalls = numberOfCalls(totalCounts);
+        if (numberOfCalls < minimumNumberOfCalls || numberOfCalls == 0) {
+            return -1.0f;
+        }
+        return numberOfMatchingCalls(totalCounts) * 100.0f / numberOfCalls;
+    }
+
+    private static int numberOfCalls(long counts) {
+        return (int) (counts >>> 32);
+    }
+
+    private static int numberOfMatchingCalls(long counts) {
+        return (int) counts;
+    }
+}
@@ -56,6 +56,51 @@ public class CircuitBreakerConfigTest {
         CircuitBreakerConfig.custom().failureRateThreshold(101).build();
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void slidingWindowDurationAboveOneHourShouldFail() {
+        CircuitBreakerConfig.custom().slidingWindowDurationInClosedState(Duration.ofHours(1).plusSeconds(1)).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void slidingWindowDurationBelowOneSecondShouldFail() {
+        CircuitBreakerConfig.custom().slidingWindowDurationInClosedState(Duration.ofMillis(999)).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSlidingWindowDurationShouldFail() {
+        CircuitBreakerConfig.custom().slidingWindowDurationInClosedState(null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSlidingWindowDurationShouldFail() {
+        CircuitBreakerConfig.custom().slidingWindowDurationInClosedState(Duration.ofSeconds(-1)).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSlidingWindowTypeShouldFail() {
+        CircuitBreakerConfig.custom().slidingWindowType(null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSlowCallRateThresholdShouldFail() {
+        CircuitBreakerConfig.custom().slowCallRateThreshold(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void slowCallRateThresholdAboveHundredShouldFail() {
+        CircuitBreakerConfig.custom().slowCallRateThreshold(101).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSlowCallDurationThresholdShouldFail() {
+        CircuitBreakerConfig.custom().slowCallDurationThreshold(Duration.ZERO).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSlowCallDurationThresholdShouldFail() {
+        CircuitBreakerConfig.custom().slowCallDurationThreshold(null).build();
+    }
+
     @Test()
     public void shouldSetDefaultSettings() {
         CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.ofDefaults();
@@ -64,6 +109,41 @@ public class CircuitBreakerConfigTest {
         then(circuitBreakerConfig.getRingBufferSizeInClosedState()).isEqualTo(CircuitBreakerConfig.DEFAULT_RING_BUFFER_SIZE_IN_CLOSED_STATE);
         then(circuitBreakerConfig.getWaitDurationInOpenState().getSeconds()).isEqualTo(CircuitBreakerConfig.DEFAULT_WAIT_DURATION_IN_OPEN_STATE);
         then(circuitBreakerConfig.getRecordFailurePredicate()).isNotNull();
+        then(circuitBreakerConfig.getSlidingWindowType()).isEqualTo(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED);
+        then(circuitBreakerConfig.getSlidingWindowDurationInClosedState().getSeconds()).isEqualTo(CircuitBreakerConfig.DEFAULT_SLIDING_WINDOW_DURATION_IN_CLOSED_STATE);
+        then(circuitBreakerConfig.getSlowCallRateThreshold()).isEqualTo(CircuitBreakerConfig.DEFAULT_SLOW_CALL_RATE_THRESHOLD);
+        then(circuitBreakerConfig.getSlowCallDurationThreshold().getSeconds()).isEqualTo(CircuitBreakerConfig.DEFAULT_SLOW_CALL_DURATION_THRESHOLD);
+        then(circuitBreakerConfig.isSlowCallDetectionEnabled()).isFalse();
+    }
+
+    @Test()
+    public void shouldSetSlowCallThresholds() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slowCallRateThreshold(30)
+                .slowCallDurationThreshold(Duration.ofSeconds(5))
+                .build();
+        then(circuitBreakerConfig.getSlowCallRateThreshold()).isEqualTo(30);
+        then(circuitBreakerConfig.getSlowCallDurationThreshold().getSeconds()).isEqualTo(5);
+        then(circuitBreakerConfig.isSlowCallDetectionEnabled()).isTrue();
+    }
+
+    @Test()
+    public void shouldEnableSlowCallDetectionWithDurationThreshold() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slowCallDurationThreshold(Duration.ofSeconds(5))
+                .build();
+        then(circuitBreakerConfig.getSlowCallRateThreshold()).isEqualTo(CircuitBreakerConfig.DEFAULT_SLOW_CALL_RATE_THRESHOLD);
+        then(circuitBreakerConfig.isSlowCallDetectionEnabled()).isTrue();
+    }
+
+    @Test()
+    public void shouldSetTimeBasedSlidingWindow() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowDurationInClosedState(Duration.ofSeconds(10))
+                .build();
+        then(circuitBreakerConfig.getSlidingWindowType()).isEqualTo(CircuitBreakerConfig.SlidingWindowType.TIME_BASED);
+        then(circuitBreakerConfig.getSlidingWindowDurationInClosedState().getSeconds()).isEqualTo(10);
     }
 
     @Test()
@@ -29,10 +29,10 @@ public class CircuitBreakerMetricsTest {
         CircuitBreakerMetrics circuitBreakerMetrics = new CircuitBreakerMetrics(10);
         assertThat(circuitBreakerMetrics.getMaxNumberOfBufferedCalls()).isEqualTo(10);
 
-        circuitBreakerMetrics.onSuccess();
-        circuitBreakerMetrics.onSuccess();
-        circuitBreakerMetrics.onError();
-        circuitBreakerMetrics.onError();
+        circuitBreakerMetrics.onSuccess(false);
+        circuitBreakerMetrics.onSuccess(false);
+        circuitBreakerMetrics.onError(false);
+        circuitBreakerMetrics.onError(false);
         circuitBreakerMetrics.onCallNotPermitted();
         circuitBreakerMetrics.onCallNotPermitted();
 
@@ -44,14 +44,14 @@ public class CircuitBreakerMetricsTest {
         // The failure rate must be -1, because the number of measured calls is below the buffer size of 10
         assertThat(circuitBreakerMetrics.getFailureRate()).isEqualTo(-1);
 
-        circuitBreakerMetrics.onError();
-        circuitBreakerMetrics.onError();
-        circuitBreakerMetrics.onError();
-        circuitBreakerMetrics.onError();
-        circuitBreakerMetrics.onSuccess();
-        circuitBreakerMetrics.onSuccess();
-        circuitBreakerMetrics.onSuccess();
-        circuitBreakerMetrics.onSuccess();
+        circuitBreakerMetrics.onError(false);
+        circuitBreakerMetrics.onError(false);
+        circuitBreakerMetrics.onError(false);
+        circuitBreakerMetrics.onError(false);
+        circuitBreakerMetrics.onSuccess(false);
+        circuitBreakerMetrics.onSuccess(false);
+        circuitBreakerMetrics.onSuccess(false);
+        circuitBreakerMetrics.onSuccess(false);
 
         // 12 calls have been recorded, but only 10 are stored in the RingBitSet. 4 successes and 6 failures.
         // The failure rate must be 60%, because the number of measured calls is above the minimum number of measured calls.
@@ -66,10 +66,10 @@ public class CircuitBreakerMetricsTest {
         CircuitBreakerMetrics halfOpenCircuitBreakerMetrics = new CircuitBreakerMetrics(10);
         assertThat(halfOpenCircuitBreakerMetrics.getMaxNumberOfBufferedCalls()).isEqualTo(10);
 
-        halfOpenCircuitBreakerMetrics.onSuccess();
-        halfOpenCircuitBreakerMetrics.onSuccess();
-        halfOpenCircuitBreakerMetrics.onError();
-        halfOpenCircuitBreakerMetrics.onError();
+        halfOpenCircuitBreakerMetrics.onSuccess(false);
+        halfOpenCircuitBreakerMetrics.onSuccess(false);
+        halfOpenCircuitBreakerMetrics.onError(false);
+        halfOpenCircuitBreakerMetrics.onError(false);
 
         assertThat(halfOpenCircuitBreakerMetrics.getNumberOfBufferedCalls()).isEqualTo(4);
         assertThat(halfOpenCircuitBreakerMetrics.getNumberOfFailedCalls()).isEqualTo(2);
@@ -83,4 +83,28 @@ public class CircuitBreakerMetricsTest {
         assertThat(closedCircuitBreakerMetrics.getNumberOfSuccessfulCalls()).isEqualTo(2);
         assertThat(closedCircuitBreakerMetrics.getNumberOfNotPermittedCalls()).isEqualTo(0);
     }
+
+    @Test
+    public void testSlowCallRate(){
+        CircuitBreakerMetrics circuitBreakerMetrics = new CircuitBreakerMetrics(4);
+
+        circuitBreakerMetrics.onSuccess(true);
+        circuitBreakerMetrics.onError(true);
+        circuitBreakerMetrics.onSuccess(false);
+
+        // The slow call rate must be -1, because the number of measured calls is below the buffer size of 4
+        assertThat(circuitBreakerMetrics.getNumberOfSlowCalls()).isEqualTo(2);
+        assertThat(circuitBreakerMetrics.getSlowCallRate()).isEqualTo(-1);
+
+        circuitBreakerMetrics.onError(false);
+
+        assertThat(circuitBreakerMetrics.getNumberOfSlowCalls()).isEqualTo(2);
+        assertThat(circuitBreakerMetrics.getSlowCallRate()).isEqualTo(50);
+        assertThat(circuitBreakerMetrics.getFailureRate()).isEqualTo(50);
+
+        // The slow calls are copied together with the failed calls
+        CircuitBreakerMetrics copiedCircuitBreakerMetrics = circuitBreakerMetrics.copy(4);
+        assertThat(copiedCircuitBreakerMetrics.getNumberOfSlowCalls()).isEqualTo(2);
+        assertThat(copiedCircuitBreakerMetrics.getSlowCallRate()).isEqualTo(50);
+    }
 }
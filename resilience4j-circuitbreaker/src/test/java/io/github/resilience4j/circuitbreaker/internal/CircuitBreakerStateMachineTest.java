@@ -24,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.Thread.sleep;
 import static org.assertj.core.api.BDDAssertions.assertThat;
@@ -174,4 +175,160 @@ public class CircuitBreakerStateMachineTest {
         assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
         assertThat(circuitBreaker.getMetrics().getFailureRate()).isEqualTo(-1f);
     }
+
+    @Test
+    public void shouldOpenWhenFailureRateInTimeBasedSlidingWindowIsAboveThreshold() {
+        CircuitBreaker timeBasedCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .failureRateThreshold(50)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowDurationInClosedState(Duration.ofSeconds(10))
+                .ringBufferSizeInClosedState(3)
+                .build());
+
+        timeBasedCircuitBreaker.onError(0, new RuntimeException());
+        timeBasedCircuitBreaker.onSuccess(0);
+        // Only 2 calls have been recorded, which is below the minimum number of calls
+        assertThat(timeBasedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(timeBasedCircuitBreaker.getMetrics().getFailureRate()).isEqualTo(-1f);
+
+        timeBasedCircuitBreaker.onSuccess(0);
+        // 1 of 3 calls has failed
+        assertThat(timeBasedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(timeBasedCircuitBreaker.getMetrics().getFailureRate()).isEqualTo(100f / 3);
+
+        timeBasedCircuitBreaker.onError(0, new RuntimeException());
+        // 2 of 4 calls have failed
+        assertThat(timeBasedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(timeBasedCircuitBreaker.getMetrics().getNumberOfBufferedCalls()).isEqualTo(4);
+        assertThat(timeBasedCircuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(timeBasedCircuitBreaker.getMetrics().getFailureRate()).isEqualTo(50f);
+    }
+
+    @Test
+    public void shouldOpenWhenSlowCallRateIsAboveThreshold() {
+        CircuitBreaker slowCallCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .ringBufferSizeInClosedState(4)
+                .slowCallRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofSeconds(5))
+                .build());
+        long slowCallDurationInNanos = Duration.ofSeconds(6).toNanos();
+
+        slowCallCircuitBreaker.onSuccess(slowCallDurationInNanos);
+        slowCallCircuitBreaker.onSuccess(0);
+        slowCallCircuitBreaker.onSuccess(Duration.ofSeconds(5).toNanos());
+        // Only 3 calls have been recorded and a call which takes exactly the threshold is not slow
+        assertThat(slowCallCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(slowCallCircuitBreaker.getMetrics().getNumberOfSlowCalls()).isEqualTo(1);
+
+        slowCallCircuitBreaker.onError(slowCallDurationInNanos, new RuntimeException());
+        // 2 of 4 calls were slow, but only 1 of 4 calls has failed
+        assertThat(slowCallCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(slowCallCircuitBreaker.getMetrics().getSlowCallRate()).isEqualTo(50f);
+        assertThat(slowCallCircuitBreaker.getMetrics().getFailureRate()).isEqualTo(25f);
+    }
+
+    @Test
+    public void shouldStayClosedWhenSlowCallRateIsBelowThreshold() {
+        CircuitBreaker slowCallCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .ringBufferSizeInClosedState(4)
+                .slowCallRateThreshold(75)
+                .slowCallDurationThreshold(Duration.ofSeconds(5))
+                .build());
+        long slowCallDurationInNanos = Duration.ofSeconds(6).toNanos();
+
+        slowCallCircuitBreaker.onSuccess(slowCallDurationInNanos);
+        slowCallCircuitBreaker.onSuccess(slowCallDurationInNanos);
+        slowCallCircuitBreaker.onSuccess(0);
+        slowCallCircuitBreaker.onSuccess(0);
+
+        assertThat(slowCallCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(slowCallCircuitBreaker.getMetrics().getSlowCallRate()).isEqualTo(50f);
+    }
+
+    @Test
+    public void shouldNotDetectSlowCallsByDefault() {
+        CircuitBreaker defaultCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .ringBufferSizeInClosedState(2)
+                .build());
+        long slowCallDurationInNanos = Duration.ofSeconds(CircuitBreakerConfig.DEFAULT_SLOW_CALL_DURATION_THRESHOLD + 1).toNanos();
+
+        defaultCircuitBreaker.onSuccess(slowCallDurationInNanos);
+        defaultCircuitBreaker.onSuccess(slowCallDurationInNanos);
+
+        assertThat(defaultCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(defaultCircuitBreaker.getMetrics().getNumberOfSlowCalls()).isEqualTo(0);
+        assertThat(defaultCircuitBreaker.getMetrics().getSlowCallRate()).isEqualTo(0f);
+    }
+
+    @Test
+    public void shouldTransitionToHalfOpenAfterWaitDurationOfTheClock() {
+        AtomicLong nanoTime = new AtomicLong(Long.MAX_VALUE - Duration.ofMillis(500).toNanos());
+        CircuitBreaker clockedCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .waitDurationInOpenState(Duration.ofSeconds(1))
+                .build(), nanoTime::get);
+        clockedCircuitBreaker.transitionToOpenState();
+
+        // The deadline overflows, but only the difference between two readings of the clock matters
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(clockedCircuitBreaker.isCallPermitted()).isEqualTo(false);
+        assertThat(clockedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        nanoTime.incrementAndGet();
+        assertThat(clockedCircuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(clockedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    public void shouldLimitTheNumberOfConcurrentCallsInHalfOpenState() {
+        // A ring buffer with size 3 is used in half open state
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+
+        // 3 trial calls are in flight
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(false);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.getMetrics().getNumberOfNotPermittedCalls()).isEqualTo(1);
+
+        // A completed trial call releases its permission
+        circuitBreaker.onSuccess(0);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(false);
+
+        // An ignored error releases its permission, too
+        circuitBreaker.onError(0, new NumberFormatException());
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.getMetrics().getNumberOfBufferedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotReleaseMorePermissionsThanAvailableInHalfOpenState() {
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        // Calls which were permitted in closed state complete in half open state
+        circuitBreaker.onError(0, new NumberFormatException());
+        circuitBreaker.onError(0, new NumberFormatException());
+
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(circuitBreaker.isCallPermitted()).isEqualTo(false);
+    }
+
+    @Test
+    public void shouldAcquireAPermissionWhenTransitioningFromOpenToHalfOpenState() {
+        AtomicLong nanoTime = new AtomicLong();
+        CircuitBreaker clockedCircuitBreaker = new CircuitBreakerStateMachine("testName", CircuitBreakerConfig.custom()
+                .ringBufferSizeInHalfOpenState(1)
+                .waitDurationInOpenState(Duration.ofSeconds(1))
+                .build(), nanoTime::get);
+        clockedCircuitBreaker.transitionToOpenState();
+        nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThat(clockedCircuitBreaker.isCallPermitted()).isEqualTo(true);
+        assertThat(clockedCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(clockedCircuitBreaker.isCallPermitted()).isEqualTo(false);
+    }
 }
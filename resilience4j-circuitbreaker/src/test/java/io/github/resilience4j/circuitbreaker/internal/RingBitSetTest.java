@@ -83,6 +83,18 @@ public class RingBitSetTest {
         assertThat(ringBitSet.length()).isEqualTo(1000);
     }
 
+    @Test
+    public void testRingBitSetParallelOverwrite() {
+        System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", "20");
+        RingBitSet ringBitSet = new RingBitSet(100);
+        IntStream.range(0, 100_000).parallel().forEach((i) -> ringBitSet.setNextBit(i % 3 == 0));
+
+        // The cardinality must always match the bits which survived the concurrent overwrites
+        long setBits = ringBitSet.toString().chars().filter(bit -> bit == '1').count();
+        assertThat(ringBitSet.cardinality()).isEqualTo((int) setBits);
+        assertThat(ringBitSet.length()).isEqualTo(100);
+    }
+
     @Test
     public void testRingBitSetWithSlightlyLessCapacity() {
         RingBitSet ringBitSet = new RingBitSet(100);
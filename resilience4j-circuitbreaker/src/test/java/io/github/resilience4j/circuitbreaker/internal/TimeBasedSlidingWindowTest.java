@@ -0,0 +1,125 @@
+/*
+ *
+ *  Copyright 2017 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circuitbreaker.internal;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeBasedSlidingWindowTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    public void shouldReturnMinusOneUntilMinimumNumberOfCallsIsRecorded() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(10, 4, nanoTime::get);
+
+        assertThat(window.getFailureRate()).isEqualTo(-1f);
+        assertThat(window.record(true, false)).isEqualTo(-1f);
+        assertThat(window.record(true, false)).isEqualTo(-1f);
+        assertThat(window.record(false, false)).isEqualTo(-1f);
+        // 2 of 4 calls have failed
+        assertThat(window.record(false, false)).isEqualTo(50f);
+
+        assertThat(window.getNumberOfBufferedCalls()).isEqualTo(4);
+        assertThat(window.getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(window.getMaxNumberOfBufferedCalls()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldEvictBucketsWhichDroppedOutOfTheWindow() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, 1, nanoTime::get);
+
+        window.record(true, false);
+        window.record(true, false);
+        advanceSeconds(1);
+        window.record(false, false);
+        advanceSeconds(1);
+        window.record(false, false);
+
+        assertThat(window.getNumberOfBufferedCalls()).isEqualTo(4);
+        assertThat(window.getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(window.getFailureRate()).isEqualTo(50f);
+
+        // The two failed calls of the first second drop out of the window
+        advanceSeconds(1);
+        assertThat(window.getNumberOfBufferedCalls()).isEqualTo(2);
+        assertThat(window.getNumberOfFailedCalls()).isEqualTo(0);
+        assertThat(window.record(true, false)).isEqualTo(100f / 3);
+
+        // All calls drop out of the window after a long idle period
+        advanceSeconds(100);
+        assertThat(window.getNumberOfBufferedCalls()).isEqualTo(0);
+        assertThat(window.getNumberOfFailedCalls()).isEqualTo(0);
+        assertThat(window.getFailureRate()).isEqualTo(-1f);
+    }
+
+    @Test
+    public void shouldRecordSlowCalls() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(2, 2, nanoTime::get);
+
+        window.record(false, true);
+        assertThat(window.getSlowCallRate()).isEqualTo(-1f);
+        window.record(true, false);
+        advanceSeconds(1);
+        window.record(false, true);
+        window.record(false, true);
+
+        assertThat(window.getNumberOfSlowCalls()).isEqualTo(3);
+        assertThat(window.getSlowCallRate()).isEqualTo(75f);
+        assertThat(window.getFailureRate()).isEqualTo(25f);
+
+        // The calls of the first second drop out of the window
+        advanceSeconds(1);
+        assertThat(window.getNumberOfSlowCalls()).isEqualTo(2);
+        assertThat(window.getSlowCallRate()).isEqualTo(100f);
+        assertThat(window.getFailureRate()).isEqualTo(0f);
+    }
+
+    @Test
+    public void shouldRecordCallsConcurrently() {
+        System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", "20");
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(5, 1, nanoTime::get);
+
+        IntStream.range(0, 100_000).parallel().forEach((i) -> {
+            if (i % 1000 == 0) {
+                nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            window.record(i % 4 == 0, false);
+        });
+
+        advanceSeconds(4);
+        int numberOfBufferedCalls = window.getNumberOfBufferedCalls();
+        assertThat(numberOfBufferedCalls).isBetween(0, 100_000);
+        assertThat(window.getNumberOfFailedCalls()).isBetween(0, numberOfBufferedCalls);
+
+        // The rolling total must drop to zero, when all buckets have been evicted
+        advanceSeconds(5);
+        assertThat(window.getNumberOfBufferedCalls()).isEqualTo(0);
+        assertThat(window.getNumberOfFailedCalls()).isEqualTo(0);
+    }
+
+    private void advanceSeconds(int seconds) {
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -32,6 +32,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -50,13 +51,16 @@ public class ConcurrentEvictingQueueBenchmark {
     private static final int WARMUP_COUNT = 10;
     private static final int ITERATION_COUNT = 10;
     private static final int CAPACITY = 10;
+    private static final int PRODUCER_COUNT = 8;
     private ConcurrentEvictingQueue<Object> queue;
+    private LockFreeEvictingQueue<Object> lockFreeQueue;
     private Object event;
 
     @Setup
     public void setUp() {
         event = new Object();
         queue = new ConcurrentEvictingQueue<>(CAPACITY);
+        lockFreeQueue = new LockFreeEvictingQueue<>(CAPACITY);
     }
 
     @Benchmark
@@ -102,10 +106,93 @@ public class ConcurrentEvictingQueueBenchmark {
         bh.consume(event);
     }
 
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueue")
+    @GroupThreads(2)
+    public void lockFreeEvictingQueueAdd() {
+        lockFreeQueue.add(event);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueue")
+    @GroupThreads(1)
+    public void lockFreeEvictingQueueSize(Blackhole bh) {
+        int size = lockFreeQueue.size();
+        bh.consume(size);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueue")
+    @GroupThreads(1)
+    public void lockFreeEvictingQueuePoll(Blackhole bh) {
+        Object event = lockFreeQueue.poll();
+        bh.consume(event);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueue")
+    @GroupThreads(1)
+    public void lockFreeEvictingQueuePeek(Blackhole bh) {
+        Object event = lockFreeQueue.peek();
+        bh.consume(event);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("concurrentEvictingQueueMultiProducer")
+    @GroupThreads(PRODUCER_COUNT)
+    public void concurrentEvictingQueueMultiProducerAdd() {
+        queue.add(event);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("concurrentEvictingQueueMultiProducer")
+    @GroupThreads(1)
+    public void concurrentEvictingQueueMultiProducerToArray(Blackhole bh) {
+        bh.consume(queue.toArray());
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueueMultiProducer")
+    @GroupThreads(PRODUCER_COUNT)
+    public void lockFreeEvictingQueueMultiProducerAdd() {
+        lockFreeQueue.add(event);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    @Group("lockFreeEvictingQueueMultiProducer")
+    @GroupThreads(1)
+    public void lockFreeEvictingQueueMultiProducerToArray(Blackhole bh) {
+        bh.consume(lockFreeQueue.toArray());
+    }
 
     public static void main(String[] args) throws RunnerException {
         Options options = new OptionsBuilder()
             .include(".*" + ConcurrentEvictingQueueBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
             .build();
         new Runner(options).run();
     }
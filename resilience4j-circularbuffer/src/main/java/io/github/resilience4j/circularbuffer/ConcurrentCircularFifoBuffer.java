@@ -22,13 +22,15 @@ import io.vavr.collection.List;
 import io.vavr.control.Option;
 
 import java.util.Arrays;
+import java.util.Queue;
 
 /**
- * Thread safe implementation of {@link CircularFifoBuffer} on top of {@link ConcurrentEvictingQueue}
+ * Thread safe implementation of {@link CircularFifoBuffer} on top of {@link ConcurrentEvictingQueue},
+ * or optionally on top of {@link LockFreeEvictingQueue}
  **/
 public class ConcurrentCircularFifoBuffer<T> implements CircularFifoBuffer<T> {
 
-    private final ConcurrentEvictingQueue<T> queue;
+    private final Queue<T> queue;
     private final int capacity;
 
     /**
@@ -39,8 +41,21 @@ public class ConcurrentCircularFifoBuffer<T> implements CircularFifoBuffer<T> {
      * @throws IllegalArgumentException if {@code capacity < 1}
      */
     public ConcurrentCircularFifoBuffer(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates an {@code ConcurrentCircularFifoBuffer} with the given (fixed)
+     * capacity. A lock-free buffer does not serialize concurrent producers on a lock,
+     * but its {@link #toList()} is only a weakly consistent snapshot.
+     *
+     * @param capacity the capacity of this {@code ConcurrentCircularFifoBuffer}
+     * @param lockFree true to use a {@link LockFreeEvictingQueue}, false to use a {@link ConcurrentEvictingQueue}
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    public ConcurrentCircularFifoBuffer(int capacity, boolean lockFree) {
         this.capacity = capacity;
-        queue = new ConcurrentEvictingQueue<>(capacity);
+        queue = lockFree ? new LockFreeEvictingQueue<>(capacity) : new ConcurrentEvictingQueue<>(capacity);
     }
 
     /**
@@ -0,0 +1,285 @@
+/*
+ *
+ *  Copyright 2016 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.circularbuffer;
+
+import static java.lang.reflect.Array.newInstance;
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *
+ * The purpose of this queue is to store the N most recently inserted elements, like {@link ConcurrentEvictingQueue},
+ * but without any locks.
+ *
+ * Every inserted element gets a sequence number from the {@code tail} counter and is stored in the slot
+ * {@code sequence % capacity}, overwriting the oldest element. The slots are preallocated: every slot has an element
+ * and a version, which encodes the sequence number of the element and whether it is being written, published,
+ * being cleared or cleared. A producer claims a slot with a CAS on its version, stores the element and publishes it
+ * with a second write of the version, so {@link #offer(Object)} does not allocate.
+ * A slot is only claimed by an element with a higher sequence number, so that a delayed producer never overwrites
+ * a newer element. Producers only contend on a slot, when they are a full lap of the ring apart.
+ * Readers only return an element, if the version of its slot was the same before and after the element was read.
+ *
+ * The {@code head} counter holds the sequence number of the oldest element which has not been polled.
+ * The elements of the queue are all slots whose sequence number lies between {@code head} and {@code tail}.
+ *
+ * Reads are weakly consistent: {@link #toArray()} and {@link #iterator()} work on a snapshot,
+ * which contains the published elements in insertion order and never throws a {@link java.util.ConcurrentModificationException}.
+ * An element, whose producer has claimed a sequence number but not yet published it, is not part of a snapshot.
+ * {@link #poll()} yields to such a producer, instead of skipping its element.
+ *
+ * This class IS thread-safe, and does NOT accept null elements.
+ *
+ */
+public class LockFreeEvictingQueue<E> extends AbstractQueue<E> {
+
+    private static final String ILLEGAL_CAPACITY = "Capacity must be bigger than 0";
+    private static final String ILLEGAL_ELEMENT = "Element must not be null";
+    private static final String ILLEGAL_DESTINATION_ARRAY = "Destination array must not be null";
+
+    private static final int WRITING = 1;
+    private static final int PUBLISHED = 2;
+    private static final int CLEARING = 3;
+    private static final int STATES = 4;
+
+    private final int capacity;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray versions;
+    private final AtomicLong tail;
+    private final AtomicLong head;
+
+    public LockFreeEvictingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(ILLEGAL_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.versions = new AtomicLongArray(capacity);
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue in proper sequence.
+     * The elements will be returned in order from first (head) to last (tail).
+     * <p>
+     * This iterator implementation does NOT allow removes.
+     *
+     * @return an iterator over the elements in this queue in proper sequence
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        return (Iterator<E>) Arrays.asList(toArray()).iterator();
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     * Elements which are inserted concurrently may already be counted.
+     *
+     * @return the number of elements in this queue
+     */
+    @Override
+    public int size() {
+        long currentTail = tail.get();
+        long size = currentTail - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue.
+     * If the capacity limit is exceeded, the oldest element (the head) is overwritten.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    @Override
+    public boolean offer(final E e) {
+        requireNonNull(e, ILLEGAL_ELEMENT);
+        long sequence = tail.getAndIncrement();
+        int index = indexOf(sequence);
+        long writing = version(sequence, WRITING);
+        while (true) {
+            long currentVersion = versions.get(index);
+            if (currentVersion >= writing) {
+                // A producer a full lap ahead has already evicted this element
+                return true;
+            }
+            if (isOwned(currentVersion)) {
+                // A producer or consumer a full lap behind is still writing or clearing this slot
+                Thread.yield();
+            } else if (versions.compareAndSet(index, currentVersion, writing)) {
+                elements.set(index, e);
+                versions.set(index, version(sequence, PUBLISHED));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E poll() {
+        while (true) {
+            long currentHead = head.get();
+            long currentTail = tail.get();
+            long sequence = Math.max(currentHead, currentTail - capacity);
+            if (sequence >= currentTail) {
+                return null;
+            }
+            int index = indexOf(sequence);
+            long published = version(sequence, PUBLISHED);
+            long currentVersion = versions.get(index);
+            if (currentVersion < published) {
+                // The producer has claimed the sequence, but not yet published its element
+                Thread.yield();
+                continue;
+            }
+            if (currentVersion == published) {
+                E element = elements.get(index);
+                if (versions.get(index) == published && head.compareAndSet(currentHead, sequence + 1)) {
+                    clearSlot(index, sequence);
+                    return element;
+                }
+            }
+            // The element was overwritten or polled concurrently, retry with the new head
+        }
+    }
+
+    /**
+     * Drops the reference to a polled element, unless a producer has already overwritten it.
+     */
+    private void clearSlot(int index, long sequence) {
+        if (versions.compareAndSet(index, version(sequence, PUBLISHED), version(sequence, CLEARING))) {
+            elements.set(index, null);
+            versions.set(index, version(sequence + 1, 0));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E peek() {
+        long currentTail = tail.get();
+        for (long sequence = Math.max(head.get(), currentTail - capacity); sequence < currentTail; sequence++) {
+            E element = getPublished(sequence);
+            if (element != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes all of the elements, which have been inserted before this call.
+     */
+    @Override
+    public void clear() {
+        long currentTail = tail.get();
+        head.accumulateAndGet(currentTail, Math::max);
+    }
+
+    /**
+     * Returns an array containing a snapshot of the elements in this queue, in
+     * proper sequence.
+     * <p>The returned array will be "safe" in that no references to it are
+     * maintained by this queue.  (In other words, this method must allocate
+     * a new array).  The caller is free to modify the returned array.
+     *
+     * @return an array containing all of the elements in this queue
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing a snapshot of the elements in this queue, in
+     * proper sequence; the runtime type of the returned array is that of
+     * the specified array.  If the queue fits in the specified array, it
+     * is returned therein.  Otherwise, a new array is allocated with the
+     * runtime type of the specified array and the size of the snapshot.
+     *
+     * @param destination the array into which the elements of the queue are to
+     *          be stored, if it is big enough; otherwise, a new array of the
+     *          same runtime type is allocated for this purpose
+     * @return an array containing all of the elements in this queue
+     * @throws ArrayStoreException if the runtime type of the specified array
+     *         is not a supertype of the runtime type of every element in
+     *         this queue
+     * @throws NullPointerException if the specified array is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(final T[] destination) {
+        requireNonNull(destination, ILLEGAL_DESTINATION_ARRAY);
+        long currentTail = tail.get();
+        long firstSequence = Math.max(head.get(), currentTail - capacity);
+        Object[] snapshot = new Object[(int) Math.max(0, currentTail - firstSequence)];
+        int count = 0;
+        for (long sequence = firstSequence; sequence < currentTail; sequence++) {
+            E element = getPublished(sequence);
+            if (element != null) {
+                snapshot[count++] = element;
+            }
+        }
+        T[] result = destination;
+        if (destination.length < count) {
+            result = (T[]) newInstance(destination.getClass().getComponentType(), count);
+        }
+        System.arraycopy(snapshot, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Returns the element of the sequence number, or null if it is not published or was overwritten or polled.
+     */
+    private E getPublished(long sequence) {
+        int index = indexOf(sequence);
+        long published = version(sequence, PUBLISHED);
+        if (versions.get(index) != published) {
+            return null;
+        }
+        E element = elements.get(index);
+        return versions.get(index) == published ? element : null;
+    }
+
+    private int indexOf(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    /**
+     * The versions of a slot grow monotonically: a slot whose last element had the sequence number s is either
+     * being written (4s + 1), published (4s + 2), being cleared (4s + 3) or cleared (4s + 4), and 0 if it was never used.
+     */
+    private static long version(long sequence, int state) {
+        return sequence * STATES + state;
+    }
+
+    private static boolean isOwned(long version) {
+        return (version & 1) == 1;
+    }
+}
@@ -31,8 +31,15 @@ public class CircularFifoBufferTest {
 
     @Test
     public void testCircularFifoBuffer(){
-        CircularFifoBuffer<Exception> exceptionBuffer = new ConcurrentCircularFifoBuffer<>(4);
+        testCircularFifoBuffer(new ConcurrentCircularFifoBuffer<>(4));
+    }
+
+    @Test
+    public void testLockFreeCircularFifoBuffer(){
+        testCircularFifoBuffer(new ConcurrentCircularFifoBuffer<>(4, true));
+    }
 
+    private void testCircularFifoBuffer(CircularFifoBuffer<Exception> exceptionBuffer){
         assertThat(exceptionBuffer.size()).isEqualTo(0);
         assertThat(exceptionBuffer.isEmpty()).isTrue();
         assertThat(exceptionBuffer.isFull()).isFalse();
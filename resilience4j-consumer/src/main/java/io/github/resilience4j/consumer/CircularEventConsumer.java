@@ -38,7 +38,19 @@ public class CircularEventConsumer<T> implements EventConsumer<T> {
      * @throws IllegalArgumentException if {@code capacity < 1}
      */
     public CircularEventConsumer(int capacity) {
-        this.eventCircularFifoBuffer = new ConcurrentCircularFifoBuffer<>(capacity);
+        this(capacity, false);
+    }
+
+    /**
+     * Creates an {@code CircuitBreakerEventConsumer} with the given (fixed)
+     * capacity, whose buffer is optionally lock-free, so that concurrent producers of events do not contend on a lock
+     *
+     * @param capacity the capacity of this CircuitBreakerEventConsumer
+     * @param lockFree true to buffer the events in a lock-free buffer
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    public CircularEventConsumer(int capacity, boolean lockFree) {
+        this.eventCircularFifoBuffer = new ConcurrentCircularFifoBuffer<>(capacity, lockFree);
     }
 
     @Override
@@ -0,0 +1,157 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class EventProcessorBenchmark {
+
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 10;
+    private static final int THREAD_COUNT = 2;
+    private static final int FORK_COUNT = 2;
+
+    private EventProcessor<Number> onEventProcessor;
+    private EventProcessor<Number> registeredConsumerProcessor;
+    private EventProcessor<Number> unmatchedEventProcessor;
+    private EventProcessor<Number> slowConsumerProcessor;
+    private EventProcessor<Number> asyncSlowConsumerProcessor;
+    private AsyncEventConsumer<Number> asyncSlowConsumer;
+
+    @Setup
+    public void setUp() {
+        onEventProcessor = new EventProcessor<>();
+        onEventProcessor.onEvent(event -> Blackhole.consumeCPU(event.longValue()));
+
+        registeredConsumerProcessor = new EventProcessor<>();
+        registeredConsumerProcessor.registerConsumer(Integer.class, event -> Blackhole.consumeCPU(event));
+        registeredConsumerProcessor.registerConsumer(Long.class, event -> Blackhole.consumeCPU(event));
+        registeredConsumerProcessor.registerConsumer(Short.class, event -> Blackhole.consumeCPU(event));
+
+        unmatchedEventProcessor = new EventProcessor<>();
+        unmatchedEventProcessor.registerConsumer(Integer.class, event -> Blackhole.consumeCPU(event));
+
+        EventConsumer<Number> slowConsumer = event -> Blackhole.consumeCPU(1000);
+        slowConsumerProcessor = new EventProcessor<>();
+        slowConsumerProcessor.onEvent(slowConsumer);
+
+        asyncSlowConsumer = AsyncEventConsumer.of(slowConsumer);
+        asyncSlowConsumerProcessor = new EventProcessor<>();
+        asyncSlowConsumerProcessor.onEvent(asyncSlowConsumer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncSlowConsumer.close();
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean onEventConsumer() {
+        return onEventProcessor.processEvent(1L);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean registeredConsumer() {
+        return registeredConsumerProcessor.processEvent(1L);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean unmatchedEvent() {
+        return unmatchedEventProcessor.processEvent(1L);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean slowConsumer() {
+        return slowConsumerProcessor.processEvent(1L);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean asyncSlowConsumer() {
+        return asyncSlowConsumerProcessor.processEvent(1L);
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public long epochMillisTimestamp() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public ZonedDateTime zonedDateTimeTimestamp() {
+        return ZonedDateTime.now();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(EventProcessorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
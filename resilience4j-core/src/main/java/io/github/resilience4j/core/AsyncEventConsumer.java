@@ -0,0 +1,236 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import io.github.resilience4j.core.internal.BoundedRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EventConsumer} which passes events to another consumer on a separate publisher thread.
+ * The thread which publishes an event only inserts it into a bounded lock-free buffer, so that a slow consumer
+ * does not add latency to the protected calls. When the buffer is full, events are dropped according to the
+ * {@link AsyncEventConsumerConfig.OverflowPolicy} and counted in the {@link Metrics}.
+ *
+ * <pre>{@code
+ * AsyncEventConsumer<CircuitBreakerEvent> consumer = AsyncEventConsumer.of(event -> LOG.info(event.toString()));
+ * circuitBreaker.getEventPublisher().onEvent(consumer);
+ * }</pre>
+ *
+ * The consumer is called by a single thread, in the order in which the events were inserted.
+ * The publisher thread is stopped by {@link #close()}.
+ *
+ * @param <T> the type of events
+ */
+public class AsyncEventConsumer<T> implements EventConsumer<T>, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventConsumer.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final EventConsumer<T> eventConsumer;
+    private final AsyncEventConsumerConfig config;
+    private final BoundedRingBuffer<T> buffer;
+    private final LongAdder numberOfDroppedEvents;
+    private final Consumer<T> eventPublisher;
+    private final AsyncEventConsumerMetrics metrics;
+    private final Thread publisherThread;
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private volatile boolean terminated;
+
+    private AsyncEventConsumer(EventConsumer<T> eventConsumer, AsyncEventConsumerConfig config) {
+        this.eventConsumer = eventConsumer;
+        this.config = config;
+        this.buffer = new BoundedRingBuffer<>(config.getBufferSize());
+        this.numberOfDroppedEvents = new LongAdder();
+        this.eventPublisher = this::publishEvent;
+        this.metrics = new AsyncEventConsumerMetrics();
+        this.publisherThread = new Thread(this::publishEvents, "AsyncEventConsumer-" + THREAD_COUNTER.incrementAndGet());
+        this.publisherThread.setDaemon(true);
+        this.publisherThread.start();
+    }
+
+    /**
+     * Creates an AsyncEventConsumer with a default configuration.
+     *
+     * @param eventConsumer the consumer which is called on the publisher thread
+     * @param <T>           the type of events
+     * @return an AsyncEventConsumer
+     */
+    public static <T> AsyncEventConsumer<T> of(EventConsumer<T> eventConsumer) {
+        return of(eventConsumer, AsyncEventConsumerConfig.ofDefaults());
+    }
+
+    /**
+     * Creates an AsyncEventConsumer with a custom configuration.
+     *
+     * @param eventConsumer the consumer which is called on the publisher thread
+     * @param config        a custom AsyncEventConsumer configuration
+     * @param <T>           the type of events
+     * @return an AsyncEventConsumer
+     */
+    public static <T> AsyncEventConsumer<T> of(EventConsumer<T> eventConsumer, AsyncEventConsumerConfig config) {
+        return new AsyncEventConsumer<>(eventConsumer, config);
+    }
+
+    /**
+     * Inserts the event into the buffer. Never blocks.
+     *
+     * @param event the event
+     */
+    @Override
+    public void consumeEvent(T event) {
+        if (closed) {
+            numberOfDroppedEvents.increment();
+            return;
+        }
+        if (!buffer.offer(event)) {
+            if (config.getOverflowPolicy() == AsyncEventConsumerConfig.OverflowPolicy.DROP_NEWEST) {
+                numberOfDroppedEvents.increment();
+                return;
+            }
+            do {
+                if (buffer.poll() != null) {
+                    numberOfDroppedEvents.increment();
+                }
+            } while (!buffer.offer(event));
+        }
+        if (terminated) {
+            // The publisher thread may have drained the buffer for the last time before the event was inserted
+            dropBufferedEvents();
+        } else if (idle) {
+            LockSupport.unpark(publisherThread);
+        }
+    }
+
+    /**
+     * Stops the publisher thread, after it has passed all buffered events to the consumer.
+     * Events which are inserted afterwards are dropped.
+     * Waits for the publisher thread to terminate, unless it is called by the consumer on the publisher thread itself.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (Thread.currentThread() == publisherThread) {
+            return;
+        }
+        LockSupport.unpark(publisherThread);
+        try {
+            publisherThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the Metrics of this AsyncEventConsumer.
+     *
+     * @return the Metrics of this AsyncEventConsumer
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private void publishEvents() {
+        while (!closed) {
+            if (buffer.drain(eventPublisher, config.getMaxBatchSize()) == 0) {
+                idle = true;
+                // Re-check after announcing the idle state, a producer either sees it or its event is seen here
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, MAX_IDLE_NANOS);
+                }
+                idle = false;
+            }
+        }
+        while (buffer.drain(eventPublisher, config.getMaxBatchSize()) > 0) {
+            // Publish the events which were buffered before the consumer was closed
+        }
+        terminated = true;
+        // Publish the events of producers which inserted them before they could see the terminated state
+        while (buffer.drain(eventPublisher, config.getMaxBatchSize()) > 0) {
+        }
+    }
+
+    private void dropBufferedEvents() {
+        while (buffer.poll() != null) {
+            numberOfDroppedEvents.increment();
+        }
+    }
+
+    /**
+     * Passes an event to the consumer. Any Throwable of the consumer is logged, so that a failing consumer
+     * cannot terminate the publisher thread and leave the buffer to overflow.
+     */
+    private void publishEvent(T event) {
+        try {
+            eventConsumer.consumeEvent(event);
+        } catch (Throwable e) {
+            LOG.warn("EventConsumer failed to consume event " + event, e);
+        }
+    }
+
+    public interface Metrics {
+
+        /**
+         * Returns the current number of buffered events.
+         *
+         * @return the current number of buffered events
+         */
+        int getNumberOfBufferedEvents();
+
+        /**
+         * Returns the maximum number of buffered events.
+         *
+         * @return the maximum number of buffered events
+         */
+        int getBufferSize();
+
+        /**
+         * Returns the number of events which have been dropped, because the buffer was full or the consumer was closed.
+         *
+         * @return the number of dropped events
+         */
+        long getNumberOfDroppedEvents();
+    }
+
+    private final class AsyncEventConsumerMetrics implements Metrics {
+
+        @Override
+        public int getNumberOfBufferedEvents() {
+            return buffer.size();
+        }
+
+        @Override
+        public int getBufferSize() {
+            return buffer.getCapacity();
+        }
+
+        @Override
+        public long getNumberOfDroppedEvents() {
+            return numberOfDroppedEvents.sum();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+/**
+ * A {@link AsyncEventConsumerConfig} configures an {@link AsyncEventConsumer}
+ */
+public class AsyncEventConsumerConfig {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    private AsyncEventConsumerConfig() {
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns a builder to create a custom AsyncEventConsumerConfig.
+     *
+     * @return a {@link Builder}
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a default AsyncEventConsumer configuration.
+     *
+     * @return a default AsyncEventConsumer configuration.
+     */
+    public static AsyncEventConsumerConfig ofDefaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+
+        private AsyncEventConsumerConfig config = new AsyncEventConsumerConfig();
+
+        /**
+         * Configures the number of events which can be buffered, before the overflow policy is applied.
+         * The size is rounded up to the next power of two.
+         *
+         * @param bufferSize the number of events which can be buffered
+         * @return the AsyncEventConsumerConfig.Builder
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 1 || bufferSize > 1 << 30) {
+                throw new IllegalArgumentException("bufferSize must be between 1 and 2^30");
+            }
+            config.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of events which the publisher thread takes from the buffer
+         * and passes to the consumer in one batch.
+         *
+         * @param maxBatchSize the maximum number of events of one batch
+         * @return the AsyncEventConsumerConfig.Builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+            }
+            config.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Configures which event is dropped, when the buffer is full.
+         *
+         * @param overflowPolicy the policy which is applied when the buffer is full
+         * @return the AsyncEventConsumerConfig.Builder
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("overflowPolicy must not be null");
+            }
+            config.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Builds a AsyncEventConsumerConfig
+         *
+         * @return the AsyncEventConsumerConfig
+         */
+        public AsyncEventConsumerConfig build() {
+            return config;
+        }
+    }
+
+    public enum OverflowPolicy {
+        /** The new event is dropped, the buffered events are kept. */
+        DROP_NEWEST,
+        /** The oldest buffered event is dropped and overwritten by the new event. */
+        DROP_OLDEST
+    }
+}
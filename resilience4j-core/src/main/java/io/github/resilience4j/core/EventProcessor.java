@@ -18,14 +18,14 @@
  */
 package io.github.resilience4j.core;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class EventProcessor<T> implements EventPublisher<T> {
 
     protected volatile boolean consumerRegistered;
-    private volatile EventConsumer<T> onEventConsumer;
-    private ConcurrentMap<Class<? extends T>, EventConsumer<Object>> eventConsumers = new ConcurrentHashMap<>();
+    // Copy-on-write snapshot of all consumers, so that processing an event needs a single volatile read and no map lookup
+    private final AtomicReference<Consumers> consumers = new AtomicReference<>(Consumers.EMPTY);
 
     public boolean hasConsumers(){
         return consumerRegistered;
@@ -33,30 +33,76 @@ public class EventProcessor<T> implements EventPublisher<T> {
 
     @SuppressWarnings("unchecked")
     public <E extends T> void registerConsumer(Class<E> eventType, EventConsumer<E> eventConsumer){
+        consumers.updateAndGet(current -> current.withEventConsumer(eventType, (EventConsumer<Object>) eventConsumer));
         consumerRegistered = true;
-        eventConsumers.put(eventType, (EventConsumer<Object>) eventConsumer);
     }
 
-    @SuppressWarnings("unchecked")
     public <E extends T> boolean processEvent(E event) {
+        Consumers current = consumers.get();
         boolean consumed = false;
-        if(onEventConsumer != null){
-            onEventConsumer.consumeEvent(event);
+        if(current.onEventConsumer != null){
+            current.onEventConsumer.consumeEvent(event);
             consumed = true;
         }
-        if(!eventConsumers.isEmpty()){
-            EventConsumer<T> eventConsumer = (EventConsumer<T>) eventConsumers.get(event.getClass());
-            if(eventConsumer != null){
-                eventConsumer.consumeEvent(event);
-                consumed = true;
+        Class<?> eventType = event.getClass();
+        Class<?>[] eventTypes = current.eventTypes;
+        for (int i = 0; i < eventTypes.length; i++) {
+            if (eventTypes[i] == eventType) {
+                current.eventConsumers[i].consumeEvent(event);
+                return true;
             }
         }
         return consumed;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void onEvent(EventConsumer<T> onEventConsumer) {
+        consumers.updateAndGet(current -> current.withOnEventConsumer((EventConsumer<Object>) onEventConsumer));
         consumerRegistered = true;
-        this.onEventConsumer = onEventConsumer;
+    }
+
+    /**
+     * An immutable set of consumers. The consumer of the event type at index i of {@code eventTypes}
+     * is stored at index i of {@code eventConsumers}.
+     */
+    private static final class Consumers {
+
+        static final Consumers EMPTY = new Consumers(null, new Class<?>[0], newEventConsumerArray(0));
+
+        final EventConsumer<Object> onEventConsumer;
+        final Class<?>[] eventTypes;
+        final EventConsumer<Object>[] eventConsumers;
+
+        Consumers(EventConsumer<Object> onEventConsumer, Class<?>[] eventTypes, EventConsumer<Object>[] eventConsumers) {
+            this.onEventConsumer = onEventConsumer;
+            this.eventTypes = eventTypes;
+            this.eventConsumers = eventConsumers;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static EventConsumer<Object>[] newEventConsumerArray(int length) {
+            return (EventConsumer<Object>[]) new EventConsumer<?>[length];
+        }
+
+        Consumers withOnEventConsumer(EventConsumer<Object> onEventConsumer) {
+            return new Consumers(onEventConsumer, eventTypes, eventConsumers);
+        }
+
+        Consumers withEventConsumer(Class<?> eventType, EventConsumer<Object> eventConsumer) {
+            EventConsumer<Object>[] newEventConsumers;
+            for (int i = 0; i < eventTypes.length; i++) {
+                if (eventTypes[i] == eventType) {
+                    newEventConsumers = eventConsumers.clone();
+                    newEventConsumers[i] = eventConsumer;
+                    return new Consumers(onEventConsumer, eventTypes, newEventConsumers);
+                }
+            }
+            Class<?>[] newEventTypes = Arrays.copyOf(eventTypes, eventTypes.length + 1);
+            newEventTypes[eventTypes.length] = eventType;
+            newEventConsumers = Arrays.copyOf(eventConsumers, eventConsumers.length + 1);
+            newEventConsumers[eventConsumers.length] = eventConsumer;
+            return new Consumers(onEventConsumer, newEventTypes, newEventConsumers);
+        }
     }
 }
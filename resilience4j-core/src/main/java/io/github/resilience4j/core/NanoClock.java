@@ -0,0 +1,44 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+/**
+ * A source of monotonic time in nanoseconds. The system clock reads {@link System#nanoTime()},
+ * other implementations can be plugged in to control the passage of time in tests.
+ */
+@FunctionalInterface
+public interface NanoClock {
+
+    /**
+     * Returns the current value of the clock in nanoseconds.
+     * Only the difference between two values is meaningful, like {@link System#nanoTime()}.
+     *
+     * @return the current value of the clock in nanoseconds
+     */
+    long nanoTime();
+
+    /**
+     * Returns a clock which reads {@link System#nanoTime()}.
+     *
+     * @return the system clock
+     */
+    static NanoClock systemClock() {
+        return System::nanoTime;
+    }
+}
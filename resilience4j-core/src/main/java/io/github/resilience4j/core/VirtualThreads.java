@@ -0,0 +1,105 @@
+/*
+ *
+ *  Copyright 2018: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Detects virtual threads on JDKs which support them, while the library itself still runs on Java 8.
+ *
+ * The blocking paths of the decorators only block in {@link LockSupport}, {@link java.util.concurrent.Semaphore}
+ * or {@link Thread#sleep(long)} and never while holding a monitor, so a virtual thread unmounts from its carrier
+ * thread instead of pinning it. Only the short back-off of a failed CAS depends on the kind of thread: a platform
+ * thread parks for a nanosecond, a virtual thread yields its carrier thread instead of arming a timer.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the JDK supports virtual threads.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return IS_VIRTUAL != null;
+    }
+
+    /**
+     * Returns whether the given thread is a virtual thread.
+     *
+     * @param thread the thread
+     * @return true if the thread is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable throwable) {
+            return false;
+        }
+    }
+
+    /**
+     * Backs off after a failed compare-and-set, before the caller tries again.
+     */
+    public static void backOff() {
+        if (isVirtual(Thread.currentThread())) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1);
+        }
+    }
+
+    /**
+     * Returns a ThreadFactory which creates virtual threads, if the JDK supports them.
+     *
+     * @return a ThreadFactory for virtual threads or none
+     */
+    public static Option<ThreadFactory> virtualThreadFactory() {
+        if (!isSupported()) {
+            return Option.none();
+        }
+        return Try.of(() -> {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        }).toOption();
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup()
+                .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free ring buffer which can be used by multiple producers and multiple consumers.
+ * It is used with a single draining consumer, but producers are allowed to poll
+ * the oldest element themselves to make room for a new one.
+ *
+ * Every slot has a sequence number. A producer may claim a slot, when its sequence equals the producer index.
+ * A consumer may take a slot, when its sequence equals the consumer index + 1.
+ * The sequence is published after the element has been written or cleared, so that both sides never see a torn slot.
+ *
+ * @param <E> the type of elements
+ */
+public class BoundedRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * Creates a ring buffer, which holds at least the requested number of elements.
+     * The capacity is rounded up to the next power of two.
+     *
+     * @param requestedCapacity the minimum capacity of the ring buffer
+     */
+    public BoundedRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("requestedCapacity must be between 1 and 2^30");
+        }
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Inserts an element, if the ring buffer is not full.
+     *
+     * @param element the element to insert
+     * @return true, if the element was inserted. false, if the ring buffer is full.
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long index = producerIndex.get();
+            int slot = (int) index & mask;
+            long difference = sequences.get(slot) - index;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, index + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The slot still holds an element of the previous lap
+                return false;
+            }
+            // Another producer has claimed the slot, retry with the new producer index
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return the oldest element or null, if the ring buffer is empty.
+     */
+    public E poll() {
+        while (true) {
+            long index = consumerIndex.get();
+            int slot = (int) index & mask;
+            long difference = sequences.get(slot) - (index + 1);
+            if (difference == 0) {
+                if (consumerIndex.compareAndSet(index, index + 1)) {
+                    E element = elements.get(slot);
+                    elements.lazySet(slot, null);
+                    sequences.set(slot, index + capacity);
+                    return element;
+                }
+            } else if (difference < 0) {
+                // The slot has not been published yet
+                return null;
+            }
+            // Another consumer has taken the slot, retry with the new consumer index
+        }
+    }
+
+    /**
+     * Removes up to {@code maxElements} of the oldest elements and passes them to the consumer in insertion order.
+     *
+     * @param consumer    the consumer of the removed elements
+     * @param maxElements the maximum number of elements to remove
+     * @return the number of removed elements
+     */
+    public int drain(Consumer<? super E> consumer, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the approximate number of elements in the ring buffer.
+     *
+     * @return the approximate number of elements
+     */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
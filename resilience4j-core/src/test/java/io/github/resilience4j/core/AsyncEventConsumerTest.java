@@ -0,0 +1,228 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncEventConsumerTest {
+
+    private final List<Integer> consumedEvents = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstEventConsumed = new CountDownLatch(1);
+    private final CountDownLatch consumerReleased = new CountDownLatch(1);
+
+    private void blockOnFirstEvent(Integer event) throws InterruptedException {
+        consumedEvents.add(event);
+        firstEventConsumed.countDown();
+        consumerReleased.await(5, TimeUnit.SECONDS);
+    }
+
+    private AsyncEventConsumer<Integer> blockingConsumer(AsyncEventConsumerConfig.OverflowPolicy overflowPolicy) throws InterruptedException {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(event -> {
+            try {
+                blockOnFirstEvent(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, AsyncEventConsumerConfig.custom()
+            .bufferSize(2)
+            .overflowPolicy(overflowPolicy)
+            .build());
+        asyncEventConsumer.consumeEvent(1);
+        // The publisher thread holds event 1, the buffer is empty
+        assertThat(firstEventConsumed.await(5, TimeUnit.SECONDS)).isTrue();
+        return asyncEventConsumer;
+    }
+
+    @Test
+    public void shouldPassEventsToConsumerInOrder() {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(consumedEvents::add);
+
+        for (int i = 0; i < 100; i++) {
+            asyncEventConsumer.consumeEvent(i);
+        }
+        asyncEventConsumer.close();
+
+        assertThat(consumedEvents).hasSize(100);
+        assertThat(consumedEvents).isSorted();
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfDroppedEvents()).isEqualTo(0);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfBufferedEvents()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldDropNewestEventWhenBufferIsFull() throws InterruptedException {
+        AsyncEventConsumer<Integer> asyncEventConsumer = blockingConsumer(AsyncEventConsumerConfig.OverflowPolicy.DROP_NEWEST);
+
+        asyncEventConsumer.consumeEvent(2);
+        asyncEventConsumer.consumeEvent(3);
+        asyncEventConsumer.consumeEvent(4);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfBufferedEvents()).isEqualTo(2);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfDroppedEvents()).isEqualTo(1);
+
+        consumerReleased.countDown();
+        asyncEventConsumer.close();
+        assertThat(consumedEvents).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void shouldDropOldestEventWhenBufferIsFull() throws InterruptedException {
+        AsyncEventConsumer<Integer> asyncEventConsumer = blockingConsumer(AsyncEventConsumerConfig.OverflowPolicy.DROP_OLDEST);
+
+        asyncEventConsumer.consumeEvent(2);
+        asyncEventConsumer.consumeEvent(3);
+        asyncEventConsumer.consumeEvent(4);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfBufferedEvents()).isEqualTo(2);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfDroppedEvents()).isEqualTo(1);
+
+        consumerReleased.countDown();
+        asyncEventConsumer.close();
+        assertThat(consumedEvents).containsExactly(1, 3, 4);
+    }
+
+    @Test
+    public void shouldDropEventsAfterClose() {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(consumedEvents::add);
+        asyncEventConsumer.close();
+
+        asyncEventConsumer.consumeEvent(1);
+
+        assertThat(consumedEvents).isEmpty();
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPublishOrDropEveryEventWhenClosedConcurrently() throws InterruptedException {
+        AtomicLong numberOfConsumedEvents = new AtomicLong();
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(event -> numberOfConsumedEvents.incrementAndGet());
+        int numberOfProducers = 4;
+        int eventsPerProducer = 10_000;
+        CountDownLatch producersStarted = new CountDownLatch(numberOfProducers);
+        Thread[] producers = new Thread[numberOfProducers];
+        for (int i = 0; i < numberOfProducers; i++) {
+            producers[i] = new Thread(() -> {
+                producersStarted.countDown();
+                for (int event = 0; event < eventsPerProducer; event++) {
+                    asyncEventConsumer.consumeEvent(event);
+                }
+            });
+            producers[i].start();
+        }
+
+        producersStarted.await();
+        asyncEventConsumer.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(numberOfConsumedEvents.get() + asyncEventConsumer.getMetrics().getNumberOfDroppedEvents())
+            .isEqualTo(numberOfProducers * eventsPerProducer);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfBufferedEvents()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldContinueAfterConsumerFailed() {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(event -> {
+            if (event == 1) {
+                throw new IllegalStateException("BAM!");
+            }
+            consumedEvents.add(event);
+        });
+
+        asyncEventConsumer.consumeEvent(1);
+        asyncEventConsumer.consumeEvent(2);
+        asyncEventConsumer.close();
+
+        assertThat(consumedEvents).containsExactly(2);
+    }
+
+    @Test
+    public void shouldContinueAfterConsumerThrewError() {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(event -> {
+            if (event == 1) {
+                throw new AssertionError("BAM!");
+            }
+            consumedEvents.add(event);
+        });
+
+        asyncEventConsumer.consumeEvent(1);
+        asyncEventConsumer.consumeEvent(2);
+        asyncEventConsumer.close();
+
+        assertThat(consumedEvents).containsExactly(2);
+    }
+
+    @Test
+    public void shouldNotWaitForItselfWhenClosedByConsumer() throws InterruptedException {
+        AtomicReference<AsyncEventConsumer<Integer>> self = new AtomicReference<>();
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(event -> {
+            consumedEvents.add(event);
+            self.get().close();
+            firstEventConsumed.countDown();
+        });
+        self.set(asyncEventConsumer);
+
+        asyncEventConsumer.consumeEvent(1);
+
+        assertThat(firstEventConsumed.await(5, TimeUnit.SECONDS)).isTrue();
+        asyncEventConsumer.close();
+        asyncEventConsumer.consumeEvent(2);
+        assertThat(consumedEvents).containsExactly(1);
+        assertThat(asyncEventConsumer.getMetrics().getNumberOfDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldConsumeEventsOfEventProcessor() {
+        AsyncEventConsumer<Number> asyncEventConsumer = AsyncEventConsumer.of(event -> consumedEvents.add(event.intValue()));
+        EventProcessor<Number> eventProcessor = new EventProcessor<>();
+        eventProcessor.onEvent(asyncEventConsumer);
+
+        eventProcessor.processEvent(1);
+        asyncEventConsumer.close();
+
+        assertThat(consumedEvents).containsExactly(1);
+    }
+
+    @Test
+    public void shouldRoundBufferSizeUpToPowerOfTwo() {
+        AsyncEventConsumer<Integer> asyncEventConsumer = AsyncEventConsumer.of(consumedEvents::add,
+            AsyncEventConsumerConfig.custom().bufferSize(100).build());
+        asyncEventConsumer.close();
+
+        assertThat(asyncEventConsumer.getMetrics().getBufferSize()).isEqualTo(128);
+    }
+
+    @Test
+    public void shouldNotAllowInvalidConfig() {
+        assertThatThrownBy(() -> AsyncEventConsumerConfig.custom().bufferSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncEventConsumerConfig.custom().maxBatchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncEventConsumerConfig.custom().overflowPolicy(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -78,6 +78,33 @@ public class EventProcessorTest {
         assertThat(consumed).isEqualTo(false);
     }
 
+    @Test
+    public void testRegisterConsumersOfDifferentEventTypes() {
+        EventProcessor<Number> eventProcessor = new EventProcessor<>();
+        eventProcessor.registerConsumer(Integer.class, event -> logger.info("Integer " + event));
+        eventProcessor.registerConsumer(Long.class, event -> logger.info("Long " + event));
+
+        boolean consumed = eventProcessor.processEvent(1L);
+
+        then(logger).should(times(1)).info("Long 1");
+        then(logger).should(times(0)).info("Integer 1");
+        assertThat(consumed).isEqualTo(true);
+        assertThat(eventProcessor.processEvent(1.0)).isEqualTo(false);
+    }
+
+    @Test
+    public void testRegisterConsumerReplacesConsumerOfSameEventType() {
+        EventProcessor<Number> eventProcessor = new EventProcessor<>();
+        eventProcessor.registerConsumer(Integer.class, event -> logger.info("first " + event));
+        eventProcessor.registerConsumer(Integer.class, event -> logger.info("second " + event));
+
+        boolean consumed = eventProcessor.processEvent(1);
+
+        then(logger).should(times(0)).info("first 1");
+        then(logger).should(times(1)).info("second 1");
+        assertThat(consumed).isEqualTo(true);
+    }
+
 
 
 }
@@ -0,0 +1,41 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SharedScheduledExecutorTest {
+
+    @Test
+    public void shouldNotBeShutDown() throws Exception {
+        ScheduledExecutorService scheduler = SharedScheduledExecutor.getInstance();
+
+        assertThatThrownBy(scheduler::shutdown).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(scheduler::shutdownNow).isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(scheduler.isShutdown()).isFalse();
+        assertThat(scheduler.schedule(() -> "scheduled", 1, TimeUnit.MILLISECONDS).get()).isEqualTo("scheduled");
+    }
+}
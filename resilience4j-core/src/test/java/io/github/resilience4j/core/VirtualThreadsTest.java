@@ -0,0 +1,87 @@
+/*
+ *
+ *  Copyright 2018: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core;
+
+import io.vavr.control.Option;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void shouldNotDetectPlatformThreadAsVirtual() {
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    public void shouldOfferVirtualThreadFactoryOnlyIfSupported() throws InterruptedException {
+        Option<ThreadFactory> threadFactory = VirtualThreads.virtualThreadFactory();
+
+        assertThat(threadFactory.isDefined()).isEqualTo(VirtualThreads.isSupported());
+        if (threadFactory.isDefined()) {
+            AtomicBoolean virtual = new AtomicBoolean();
+            Thread thread = threadFactory.get().newThread(() -> virtual.set(VirtualThreads.isVirtual(Thread.currentThread())));
+            thread.start();
+            thread.join();
+            assertThat(virtual.get()).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldParkPlatformThreadToBackOff() {
+        LockSupport.unpark(Thread.currentThread());
+
+        VirtualThreads.backOff();
+
+        // the back-off consumed the permit, so the next park waits for its timeout
+        long start = System.nanoTime();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public void shouldYieldVirtualThreadToBackOff() throws InterruptedException {
+        Option<ThreadFactory> threadFactory = VirtualThreads.virtualThreadFactory();
+        if (threadFactory.isEmpty()) {
+            return;
+        }
+        AtomicLong parkedNanos = new AtomicLong();
+        Thread thread = threadFactory.get().newThread(() -> {
+            LockSupport.unpark(Thread.currentThread());
+
+            VirtualThreads.backOff();
+
+            // the back-off only yielded and kept the permit, so the next park returns immediately
+            long start = System.nanoTime();
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(10));
+            parkedNanos.set(System.nanoTime() - start);
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(parkedNanos.get()).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ *  Copyright 2017: Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.core.internal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedRingBufferTest {
+
+    @Test
+    public void shouldOfferAndPollInOrder() {
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(4);
+
+        assertThat(ringBuffer.poll()).isNull();
+        assertThat(ringBuffer.offer(1)).isTrue();
+        assertThat(ringBuffer.offer(2)).isTrue();
+        assertThat(ringBuffer.size()).isEqualTo(2);
+        assertThat(ringBuffer.poll()).isEqualTo(1);
+        assertThat(ringBuffer.poll()).isEqualTo(2);
+        assertThat(ringBuffer.poll()).isNull();
+        assertThat(ringBuffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectElementsWhenFull() {
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(3);
+        assertThat(ringBuffer.getCapacity()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer(i)).isTrue();
+        }
+        assertThat(ringBuffer.offer(4)).isFalse();
+
+        // The slot of the polled element can be reused in the next lap
+        assertThat(ringBuffer.poll()).isEqualTo(0);
+        assertThat(ringBuffer.offer(4)).isTrue();
+        assertThat(ringBuffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldDrainUpToMaxElements() {
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertThat(ringBuffer.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(ringBuffer.drain(drained::add, 3)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void shouldNotLoseElementsOfConcurrentProducers() throws InterruptedException {
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(16);
+        int producerCount = 4;
+        int elementsPerProducer = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(producerCount);
+        CountDownLatch producersFinished = new CountDownLatch(producerCount);
+        for (int p = 0; p < producerCount; p++) {
+            executorService.execute(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    while (!ringBuffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+                producersFinished.countDown();
+            });
+        }
+
+        long sum = 0;
+        int count = 0;
+        while (count < producerCount * elementsPerProducer) {
+            Integer element = ringBuffer.poll();
+            if (element != null) {
+                sum += element;
+                count++;
+            }
+        }
+
+        assertThat(producersFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(ringBuffer.poll()).isNull();
+        assertThat(sum).isEqualTo((long) producerCount * elementsPerProducer * (elementsPerProducer - 1) / 2);
+    }
+}
@@ -38,6 +38,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
 import io.github.resilience4j.ratelimiter.internal.SemaphoreBasedRateLimiter;
+import io.github.resilience4j.ratelimiter.internal.TokenBucketRateLimiter;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -52,12 +53,15 @@ public class RateLimiterBenchmark {
     private static final int WARMUP_COUNT = 10;
     private static final int ITERATION_COUNT = 10;
     private static final int THREAD_COUNT = 2;
+    private static final int CONTENDED_THREAD_COUNT = 8;
 
     private RateLimiter semaphoreBasedRateLimiter;
     private AtomicRateLimiter atomicRateLimiter;
 
     private Supplier<String> semaphoreGuardedSupplier;
     private Supplier<String> atomicGuardedSupplier;
+    private Supplier<String> atomicGuardedSupplierWithConsumer;
+    private Supplier<String> tokenBucketGuardedSupplier;
 
     public static void main(String[] args) throws RunnerException {
         Options options = new OptionsBuilder()
@@ -82,6 +86,13 @@ public class RateLimiterBenchmark {
         };
         semaphoreGuardedSupplier = RateLimiter.decorateSupplier(semaphoreBasedRateLimiter, stringSupplier);
         atomicGuardedSupplier = RateLimiter.decorateSupplier(atomicRateLimiter, stringSupplier);
+
+        AtomicRateLimiter atomicRateLimiterWithConsumer = new AtomicRateLimiter("atomicBasedWithConsumer", rateLimiterConfig);
+        atomicRateLimiterWithConsumer.getEventPublisher().onSuccess(event -> Blackhole.consumeCPU(1));
+        atomicGuardedSupplierWithConsumer = RateLimiter.decorateSupplier(atomicRateLimiterWithConsumer, stringSupplier);
+
+        TokenBucketRateLimiter tokenBucketRateLimiter = new TokenBucketRateLimiter("tokenBucket", rateLimiterConfig);
+        tokenBucketGuardedSupplier = RateLimiter.decorateSupplier(tokenBucketRateLimiter, stringSupplier);
     }
 
     @Benchmark
@@ -101,4 +112,31 @@ public class RateLimiterBenchmark {
     public String atomicPermission() {
         return atomicGuardedSupplier.get();
     }
-}
\ No newline at end of file
+
+    @Benchmark
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String atomicPermissionWithConsumer() {
+        return atomicGuardedSupplierWithConsumer.get();
+    }
+
+    @Benchmark
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public String tokenBucketPermission() {
+        return tokenBucketGuardedSupplier.get();
+    }
+
+    @Benchmark
+    @Threads(value = CONTENDED_THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Fork(value = FORK_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean atomicPermissionContended() {
+        return atomicRateLimiter.getPermission(Duration.ZERO);
+    }
+}
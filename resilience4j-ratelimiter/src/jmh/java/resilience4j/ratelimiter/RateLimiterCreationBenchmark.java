@@ -0,0 +1,124 @@
+/*
+ *
+ *  Copyright 2016 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.github.resilience4j.ratelimiter.internal.SemaphoreBasedRateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+
+/**
+ * Measures the startup time of a service with many semaphore based rate limiters
+ * and reports the number of live threads after they were created.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+public class RateLimiterCreationBenchmark {
+
+    private static final int FORK_COUNT = 2;
+    private static final int WARMUP_COUNT = 5;
+    private static final int ITERATION_COUNT = 10;
+    private static final int RATE_LIMITER_COUNT = 3_000;
+
+    private RateLimiterConfig rateLimiterConfig;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(RateLimiterCreationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        rateLimiterConfig = RateLimiterConfig.custom()
+            .limitForPeriod(100)
+            .limitRefreshPeriod(Duration.ofMillis(100))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCount {
+
+        public int liveThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            liveThreads = 0;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public RateLimiter sharedScheduler(ThreadCount threadCount) {
+        // a fresh single thread scheduler stands in for the shared one, so that the refresh tasks
+        // of previous invocations don't pile up on it
+        ScheduledExecutorService sharedScheduler = newSingleThreadScheduledExecutor();
+        RateLimiter rateLimiter = null;
+        for (int i = 0; i < RATE_LIMITER_COUNT; i++) {
+            rateLimiter = new SemaphoreBasedRateLimiter("tenant-" + i, rateLimiterConfig, sharedScheduler);
+        }
+        threadCount.liveThreads = Thread.activeCount();
+        sharedScheduler.shutdownNow();
+        return rateLimiter;
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public RateLimiter schedulerPerRateLimiter(ThreadCount threadCount) {
+        RateLimiter rateLimiter = null;
+        ScheduledExecutorService[] schedulers = new ScheduledExecutorService[RATE_LIMITER_COUNT];
+        for (int i = 0; i < RATE_LIMITER_COUNT; i++) {
+            schedulers[i] = newSingleThreadScheduledExecutor();
+            rateLimiter = new SemaphoreBasedRateLimiter("tenant-" + i, rateLimiterConfig, schedulers[i]);
+        }
+        threadCount.liveThreads = Thread.activeCount();
+        for (ScheduledExecutorService scheduler : schedulers) {
+            scheduler.shutdownNow();
+        }
+        return rateLimiter;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.internal.KeyedTokenBucketRateLimiter;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * A KeyedRateLimiter limits the rate of calls separately for each key, e.g. an API key or a client IP.
+ * <p>It keeps the state of each key in a bounded table instead of creating a {@link RateLimiter} per key.
+ * The permissions of a key are refilled continuously like in a token bucket,
+ * see {@link io.github.resilience4j.ratelimiter.internal.TokenBucketRateLimiter}.
+ * A key which has been idle long enough for its bucket to be full again is indistinguishable from
+ * an unknown key, so its state is dropped as soon as its slot is needed.
+ *
+ * @param <K> the type of the keys
+ */
+public interface KeyedRateLimiter<K> {
+
+    int DEFAULT_MAXIMUM_NUMBER_OF_KEYS = 100_000;
+
+    /**
+     * Creates a KeyedRateLimiter with a custom RateLimiter configuration, which keeps the state
+     * of up to {@link #DEFAULT_MAXIMUM_NUMBER_OF_KEYS} keys.
+     *
+     * @param name              the name of the KeyedRateLimiter
+     * @param rateLimiterConfig a custom RateLimiter configuration, applied to each key
+     * @param <K>               the type of the keys
+     * @return The {@link KeyedRateLimiter}
+     */
+    static <K> KeyedRateLimiter<K> of(String name, RateLimiterConfig rateLimiterConfig) {
+        return of(name, rateLimiterConfig, DEFAULT_MAXIMUM_NUMBER_OF_KEYS);
+    }
+
+    /**
+     * Creates a KeyedRateLimiter with a custom RateLimiter configuration.
+     * <p>If the state of more than maximumNumberOfKeys keys would have to be kept, the state of one key is
+     * dropped. Eviction is sampled: of up to 8 occupied slots next to the new key, the key with the oldest
+     * theoretical arrival time is dropped. This is an idle key whenever one of the sampled keys is idle,
+     * but an idle key elsewhere is not found, so the state of an active, even a hot key may be dropped.
+     * Such a key regains its full burst. {@link Metrics#getNumberOfEvictedActiveKeys()} counts these evictions.
+     *
+     * @param name                the name of the KeyedRateLimiter
+     * @param rateLimiterConfig   a custom RateLimiter configuration, applied to each key
+     * @param maximumNumberOfKeys the maximum number of keys whose state is kept
+     * @param <K>                 the type of the keys
+     * @return The {@link KeyedRateLimiter}
+     */
+    static <K> KeyedRateLimiter<K> of(String name, RateLimiterConfig rateLimiterConfig, int maximumNumberOfKeys) {
+        return new KeyedTokenBucketRateLimiter<>(name, rateLimiterConfig, maximumNumberOfKeys);
+    }
+
+    /**
+     * Creates a function which waits for a permission of the key that is extracted from its input,
+     * before it applies the given function.
+     *
+     * @param keyedRateLimiter the KeyedRateLimiter
+     * @param keyExtractor     extracts the key from the input of the function
+     * @param function         the original function
+     * @param <K>              the type of the keys
+     * @param <T>              the type of the input of the function
+     * @param <R>              the type of the result of the function
+     * @return a function which is restricted by a KeyedRateLimiter.
+     */
+    static <K, T, R> Function<T, R> decorateFunction(KeyedRateLimiter<K> keyedRateLimiter,
+                                                     Function<T, K> keyExtractor, Function<T, R> function) {
+        return (T t) -> {
+            waitForPermission(keyedRateLimiter, keyExtractor.apply(t));
+            return function.apply(t);
+        };
+    }
+
+    /**
+     * Will wait for permission of the key within default timeout duration.
+     *
+     * @param keyedRateLimiter the KeyedRateLimiter to get permission from
+     * @param key              the key to get permission for
+     * @param <K>              the type of the keys
+     * @throws RequestNotPermitted if waiting time elapsed before a permit was acquired.
+     * @throws IllegalStateException if thread was interrupted during permission wait
+     */
+    static <K> void waitForPermission(final KeyedRateLimiter<K> keyedRateLimiter, final K key)
+        throws IllegalStateException, RequestNotPermitted {
+        Duration timeoutDuration = keyedRateLimiter.getRateLimiterConfig().getTimeoutDuration();
+        boolean permission = keyedRateLimiter.getPermission(key, timeoutDuration);
+        if (Thread.interrupted()) {
+            throw new IllegalStateException("Thread was interrupted during permission wait");
+        }
+        if (!permission) {
+            throw new RequestNotPermitted("Request not permitted for limiter: " + keyedRateLimiter.getName() + ", key: " + key);
+        }
+    }
+
+    /**
+     * Acquires a permission of the given key, blocking until one is available.
+     * <p>If the current thread is {@linkplain Thread#interrupt interrupted}
+     * while waiting for a permit then it won't throw {@linkplain InterruptedException},
+     * but its interrupt status will be set.
+     *
+     * @param key             the key to acquire a permission for
+     * @param timeoutDuration the maximum time to wait
+     * @return {@code true} if a permit was acquired and {@code false}
+     * if waiting timeoutDuration elapsed before a permit was acquired
+     */
+    default boolean getPermission(K key, Duration timeoutDuration) {
+        return acquirePermission(key, 1, timeoutDuration);
+    }
+
+    /**
+     * Acquires the given number of permits of the given key at once, blocking until all of them are available.
+     * Either all permits are acquired or none of them.
+     *
+     * @param key             the key to acquire the permits for
+     * @param permits         the number of permits to acquire, must be greater than 0
+     * @param timeoutDuration the maximum time to wait
+     * @return {@code true} if the permits were acquired and {@code false}
+     * if waiting timeoutDuration elapsed before the permits were acquired
+     * @throws IllegalArgumentException if permits is less than 1
+     */
+    boolean acquirePermission(K key, int permits, Duration timeoutDuration);
+
+    /**
+     * Get the name of this KeyedRateLimiter
+     *
+     * @return the name of this KeyedRateLimiter
+     */
+    String getName();
+
+    /**
+     * Get the RateLimiterConfig which is applied to each key
+     *
+     * @return the RateLimiterConfig which is applied to each key
+     */
+    RateLimiterConfig getRateLimiterConfig();
+
+    /**
+     * Get the Metrics of this KeyedRateLimiter.
+     *
+     * @return the Metrics of this KeyedRateLimiter
+     */
+    Metrics getMetrics();
+
+    interface Metrics {
+
+        /**
+         * Returns an estimate of the number of threads waiting for permission
+         * in this JVM process.
+         *
+         * @return estimate of the number of threads waiting for permission.
+         */
+        int getNumberOfWaitingThreads();
+
+        /**
+         * Returns the number of keys whose state is currently kept, including idle keys
+         * whose state has not been dropped yet.
+         *
+         * @return the number of keys
+         */
+        int getNumberOfKeys();
+
+        /**
+         * Returns the maximum number of keys whose state can be kept.
+         *
+         * @return the maximum number of keys
+         */
+        int getMaximumNumberOfKeys();
+
+        /**
+         * Returns the number of keys whose state was dropped before they were idle,
+         * because the maximum number of keys was reached.
+         *
+         * @return the number of evicted keys which were not idle
+         */
+        long getNumberOfEvictedActiveKeys();
+    }
+}
@@ -19,6 +19,7 @@
 package io.github.resilience4j.ratelimiter;
 
 import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.SharedScheduledExecutor;
 import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
 import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
 import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
@@ -31,6 +32,10 @@ import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -77,6 +82,8 @@ public interface RateLimiter {
 
     /**
      * Returns a supplier which is decorated by a rateLimiter.
+     * The supplier never blocks. If a permission has to be waited for, the {@link SharedScheduledExecutor}
+     * hands the call of the original supplier over to the common ForkJoinPool when the permission becomes available.
      *
      * @param rateLimiter the rateLimiter
      * @param supplier the original supplier
@@ -84,21 +91,74 @@ public interface RateLimiter {
      * @return a supplier which is decorated by a RateLimiter.
      */
     static <T> Supplier<CompletionStage<T>> decorateCompletionStage(RateLimiter rateLimiter, Supplier<CompletionStage<T>> supplier) {
+        return decorateCompletionStage(rateLimiter, SharedScheduledExecutor.getInstance(), supplier);
+    }
+
+    /**
+     * Returns a supplier which is decorated by a rateLimiter.
+     * The supplier never blocks. If a permission has to be waited for, the scheduler hands the call
+     * of the original supplier over to the common ForkJoinPool when the permission becomes available.
+     *
+     * @param rateLimiter the rateLimiter
+     * @param scheduler the scheduler which triggers the call of the original supplier after the permission has been waited for
+     * @param supplier the original supplier
+     * @param <T> the type of the returned CompletionStage's result
+     * @return a supplier which is decorated by a RateLimiter.
+     */
+    static <T> Supplier<CompletionStage<T>> decorateCompletionStage(RateLimiter rateLimiter, ScheduledExecutorService scheduler,
+                                                                    Supplier<CompletionStage<T>> supplier) {
+        return decorateCompletionStage(rateLimiter, scheduler, ForkJoinPool.commonPool(), supplier);
+    }
+
+    /**
+     * Returns a supplier which is decorated by a rateLimiter.
+     * The supplier never blocks. If a permission has to be waited for, the scheduler hands the call
+     * of the original supplier over to the executor when the permission becomes available,
+     * so that the scheduler is never occupied by the original supplier.
+     *
+     * @param rateLimiter the rateLimiter
+     * @param scheduler the scheduler which triggers the call of the original supplier after the permission has been waited for
+     * @param executor the executor which calls the original supplier after the permission has been waited for
+     * @param supplier the original supplier
+     * @param <T> the type of the returned CompletionStage's result
+     * @return a supplier which is decorated by a RateLimiter.
+     */
+    static <T> Supplier<CompletionStage<T>> decorateCompletionStage(RateLimiter rateLimiter, ScheduledExecutorService scheduler,
+                                                                    Executor executor, Supplier<CompletionStage<T>> supplier) {
         return () -> {
 
             final CompletableFuture<T> promise = new CompletableFuture<>();
-            try {
-                waitForPermission(rateLimiter);
-                supplier.get()
-                    .whenComplete(
-                        (result, throwable) -> {
-                            if (throwable != null) {
-                                promise.completeExceptionally(throwable);
-                            } else {
-                                promise.complete(result);
+            Runnable execution = () -> {
+                try {
+                    supplier.get()
+                        .whenComplete(
+                            (result, throwable) -> {
+                                if (throwable != null) {
+                                    promise.completeExceptionally(throwable);
+                                } else {
+                                    promise.complete(result);
+                                }
                             }
+                        );
+                } catch (Throwable throwable) {
+                    promise.completeExceptionally(throwable);
+                }
+            };
+            try {
+                long nanosToWait = rateLimiter.reservePermission(rateLimiter.getRateLimiterConfig().getTimeoutDuration());
+                if (nanosToWait < 0) {
+                    promise.completeExceptionally(new RequestNotPermitted("Request not permitted for limiter: " + rateLimiter.getName()));
+                } else if (nanosToWait == 0) {
+                    execution.run();
+                } else {
+                    scheduler.schedule(() -> {
+                        try {
+                            executor.execute(execution);
+                        } catch (Throwable throwable) {
+                            promise.completeExceptionally(throwable);
                         }
-                    );
+                    }, nanosToWait, TimeUnit.NANOSECONDS);
+                }
             } catch (Throwable throwable) {
                 promise.completeExceptionally(throwable);
             }
@@ -252,6 +312,43 @@ public interface RateLimiter {
      */
     boolean getPermission(Duration timeoutDuration);
 
+    /**
+     * Acquires the given number of permits from this rate limiter at once, blocking until all of them are
+     * available. Either all permits are acquired or none of them.
+     * <p>If the current thread is {@linkplain Thread#interrupt interrupted}
+     * while waiting for the permits then it won't throw {@linkplain InterruptedException},
+     * but its interrupt status will be set.
+     * <p>The default implementation only supports a single permit and delegates to {@link #getPermission}.
+     *
+     * @param permits         the number of permits to acquire, must be greater than 0
+     * @param timeoutDuration the maximum time to wait
+     * @return {@code true} if the permits were acquired and {@code false}
+     * if waiting timeoutDuration elapsed before the permits were acquired
+     * @throws IllegalArgumentException if permits is less than 1
+     */
+    default boolean acquirePermission(int permits, Duration timeoutDuration) {
+        if (permits != 1) {
+            throw new IllegalArgumentException("This RateLimiter only supports acquiring a single permit, but " + permits + " were requested");
+        }
+        return getPermission(timeoutDuration);
+    }
+
+    /**
+     * Reserves a permission from this rate limiter without blocking.
+     * If the permission is not available immediately, but will be available before the timeout elapses,
+     * it is reserved and the caller must wait the returned number of nanoseconds before it uses the permission.
+     * The caller is responsible for the waiting, e.g. by scheduling the execution on a timer.
+     * <p>The default implementation does not reserve permissions in the future.
+     * It only grants a permission which is available immediately.
+     *
+     * @param timeoutDuration the maximum time the caller is willing to wait
+     * @return {@code 0} if a permission can be used immediately, the number of nanoseconds to wait
+     * for the reserved permission, or {@code -1} if no permission could be reserved within the timeoutDuration
+     */
+    default long reservePermission(Duration timeoutDuration) {
+        return getPermission(Duration.ZERO) ? 0L : -1L;
+    }
+
     /**
      * Get the name of this RateLimiter
      *
@@ -30,6 +30,7 @@ public class RateLimiterConfig {
     private Duration timeoutDuration =  Duration.ofSeconds(5);
     private Duration limitRefreshPeriod = Duration.ofNanos(500);
     private int limitForPeriod = 50;
+    private int burstSize = 0;
 
     private RateLimiterConfig() {
     }
@@ -64,11 +65,22 @@ public class RateLimiterConfig {
         return limitForPeriod;
     }
 
+    /**
+     * Returns the maximum number of permissions a token bucket rate limiter can hand out at once.
+     * Falls back to {@link #getLimitForPeriod()} if no burst size was configured.
+     *
+     * @return the burst size
+     */
+    public int getBurstSize() {
+        return burstSize > 0 ? burstSize : limitForPeriod;
+    }
+
     @Override public String toString() {
         return "RateLimiterConfig{" +
             "timeoutDuration=" + timeoutDuration +
             ", limitRefreshPeriod=" + limitRefreshPeriod +
             ", limitForPeriod=" + limitForPeriod +
+            ", burstSize=" + getBurstSize() +
             '}';
     }
 
@@ -125,6 +137,21 @@ public class RateLimiterConfig {
             return this;
         }
 
+        /**
+         * Configures the burst size of a token bucket rate limiter.
+         * The sustained rate is still {@link RateLimiterConfig#limitForPeriod} permissions per
+         * {@link RateLimiterConfig#limitRefreshPeriod}, but the permissions are refilled continuously
+         * and an idle rate limiter accumulates at most burstSize of them.
+         * Default value is {@link RateLimiterConfig#limitForPeriod}.
+         *
+         * @param burstSize the maximum number of permissions that can be acquired at once
+         * @return the RateLimiterConfig.Builder
+         */
+        public Builder burstSize(final int burstSize) {
+            config.burstSize = checkBurstSize(burstSize);
+            return this;
+        }
+
     }
 
     private static Duration checkTimeoutDuration(final Duration timeoutDuration) {
@@ -140,6 +167,13 @@ public class RateLimiterConfig {
         return limitRefreshPeriod;
     }
 
+    private static int checkBurstSize(final int burstSize) {
+        if (burstSize < 1) {
+            throw new IllegalArgumentException("BurstSize should be greater than 0");
+        }
+        return burstSize;
+    }
+
     private static int checkLimitForPeriod(final int limitForPeriod) {
         if (limitForPeriod < 1) {
             throw new IllegalArgumentException("LimitForPeriod should be greater than 0");
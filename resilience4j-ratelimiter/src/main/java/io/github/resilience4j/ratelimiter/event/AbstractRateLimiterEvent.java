@@ -18,16 +18,18 @@
  */
 package io.github.resilience4j.ratelimiter.event;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 public abstract class AbstractRateLimiterEvent implements RateLimiterEvent {
 
     private final String rateLimiterName;
-    private final ZonedDateTime creationTime;
+    private final long creationTimeInMillis;
 
     public AbstractRateLimiterEvent(String rateLimiterName) {
         this.rateLimiterName = rateLimiterName;
-        creationTime = ZonedDateTime.now();
+        this.creationTimeInMillis = System.currentTimeMillis();
     }
 
     @Override
@@ -37,7 +39,7 @@ public abstract class AbstractRateLimiterEvent implements RateLimiterEvent {
 
     @Override
     public ZonedDateTime getCreationTime() {
-        return creationTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(creationTimeInMillis), ZoneId.systemDefault());
     }
 
     @Override
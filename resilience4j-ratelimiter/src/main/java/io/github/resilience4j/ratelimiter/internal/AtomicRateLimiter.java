@@ -18,6 +18,7 @@
  */
 package io.github.resilience4j.ratelimiter.internal;
 
+import io.github.resilience4j.core.VirtualThreads;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
@@ -25,10 +26,9 @@ import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
 
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.UnaryOperator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
 
-import static java.lang.Long.min;
 import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.locks.LockSupport.parkNanos;
@@ -37,11 +37,20 @@ import static java.util.concurrent.locks.LockSupport.parkNanos;
  * {@link AtomicRateLimiter} splits all nanoseconds from the start of epoch into cycles.
  * <p>Each cycle has duration of {@link RateLimiterConfig#limitRefreshPeriod} in nanoseconds.
  * <p>By contract on start of each cycle {@link AtomicRateLimiter} should
- * set {@link State#activePermissions} to {@link RateLimiterConfig#limitForPeriod}.
+ * set its active permissions to {@link RateLimiterConfig#limitForPeriod}.
  * For the {@link AtomicRateLimiter} callers it is really looks so, but under the hood there is
  * some optimisations that will skip this refresh if {@link AtomicRateLimiter} is not used actively.
- * <p>All {@link AtomicRateLimiter} updates are atomic and state is encapsulated in {@link AtomicReference} to
- * {@link AtomicRateLimiter.State}
+ * <p>All {@link AtomicRateLimiter} updates are atomic. The active cycle and the active permissions
+ * are packed into a single {@link AtomicLong}, so acquiring a permission doesn't allocate:
+ * <ul>
+ * <li>the upper 32 bits hold the lower 32 bits of the cycle number that was used
+ * by the last {@link AtomicRateLimiter#getPermission(Duration)} call.</li>
+ * <li>the lower 32 bits hold the count of available permissions after
+ * the last {@link AtomicRateLimiter#getPermission(Duration)} call.
+ * Can be negative if some permissions where reserved.</li>
+ * </ul>
+ * The full cycle number is restored from the current cycle, which is fine as long as the
+ * {@link AtomicRateLimiter} is not idle for 2^32 cycles or more.
  */
 public class AtomicRateLimiter implements RateLimiter {
     private static final long nanoTimeStart = nanoTime();
@@ -51,7 +60,7 @@ public class AtomicRateLimiter implements RateLimiter {
     private final long cyclePeriodInNanos;
     private final int permissionsPerCycle;
     private final AtomicInteger waitingThreads;
-    private final AtomicReference<State> state;
+    private final AtomicLong state;
     private final RateLimiterEventProcessor eventProcessor;
 
 
@@ -63,7 +72,7 @@ public class AtomicRateLimiter implements RateLimiter {
         permissionsPerCycle = rateLimiterConfig.getLimitForPeriod();
 
         waitingThreads = new AtomicInteger(0);
-        state = new AtomicReference<>(new State(0, permissionsPerCycle, 0));
+        state = new AtomicLong(pack(0, permissionsPerCycle));
 
         this.eventProcessor = new RateLimiterEventProcessor();
     }
@@ -80,41 +89,79 @@ public class AtomicRateLimiter implements RateLimiter {
      */
     @Override
     public boolean getPermission(final Duration timeoutDuration) {
+        return acquirePermission(1, timeoutDuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean acquirePermission(final int permits, final Duration timeoutDuration) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be greater than 0");
+        }
         long timeoutInNanos = timeoutDuration.toNanos();
-        State modifiedState = updateStateWithBackOff(timeoutInNanos);
-        boolean result = waitForPermissionIfNecessary(timeoutInNanos, modifiedState.nanosToWait);
+        long nanosToWait = updateStateWithBackOff(permits, timeoutInNanos);
+        boolean result = waitForPermissionIfNecessary(timeoutInNanos, nanosToWait);
         publishRateLimiterEvent(result);
         return result;
     }
 
     /**
-     * Atomically updates the current {@link State} with the results of
-     * applying the {@link AtomicRateLimiter#calculateNextState}, returning the updated {@link State}.
-     * It differs from {@link AtomicReference#updateAndGet(UnaryOperator)} by constant back off.
-     * It means that after one try to {@link AtomicReference#compareAndSet(Object, Object)}
+     * {@inheritDoc}
+     */
+    @Override
+    public long reservePermission(final Duration timeoutDuration) {
+        long timeoutInNanos = timeoutDuration.toNanos();
+        long nanosToWait = updateStateWithBackOff(1, timeoutInNanos);
+        boolean canAcquireImmediately = nanosToWait <= 0;
+        if (canAcquireImmediately) {
+            publishRateLimiterEvent(true);
+            return 0;
+        }
+        boolean canAcquireInTime = timeoutInNanos >= nanosToWait;
+        if (canAcquireInTime) {
+            publishRateLimiterEvent(true);
+            return nanosToWait;
+        }
+        publishRateLimiterEvent(false);
+        return -1;
+    }
+
+    /**
+     * Atomically updates the current state with the results of
+     * applying the {@link AtomicRateLimiter#reservePermissions}, returning the time to wait for the permits.
+     * It differs from {@link AtomicLong#updateAndGet(LongUnaryOperator)} by constant back off.
+     * It means that after one try to {@link AtomicLong#compareAndSet(long, long)}
      * this method will wait for a while before try one more time.
      * This technique was originally described in this
      * <a href="https://arxiv.org/abs/1305.5800"> paper</a>
      * and showed great results with {@link AtomicRateLimiter} in benchmark tests.
      *
-     * @param timeoutInNanos a side-effect-free function
-     * @return the updated value
+     * @param permits        number of permits to reserve
+     * @param timeoutInNanos max time that caller can wait for permission in nanoseconds
+     * @return nanoseconds to wait for the permits, they are reserved only if this is not bigger than timeoutInNanos
      */
-    private State updateStateWithBackOff(final long timeoutInNanos) {
-        AtomicRateLimiter.State prev;
-        AtomicRateLimiter.State next;
+    private long updateStateWithBackOff(final int permits, final long timeoutInNanos) {
+        long prev;
+        long next;
+        long nanosToWait;
         do {
             prev = state.get();
-            next = calculateNextState(timeoutInNanos, prev);
+            long currentNanos = currentNanoTime();
+            long currentCycle = currentNanos / cyclePeriodInNanos;
+            int permissions = refreshPermissions(prev, currentCycle);
+            nanosToWait = nanosToWaitForPermission(permits, permissions, currentNanos, currentCycle);
+            next = reservePermissions(permits, timeoutInNanos, currentCycle, permissions, nanosToWait);
         } while (!compareAndSet(prev, next));
-        return next;
+        return nanosToWait;
     }
 
     /**
      * Atomically sets the value to the given updated value
      * if the current value {@code ==} the expected value.
-     * It differs from {@link AtomicReference#updateAndGet(UnaryOperator)} by constant back off.
-     * It means that after one try to {@link AtomicReference#compareAndSet(Object, Object)}
+     * It differs from {@link AtomicLong#updateAndGet(LongUnaryOperator)} by constant back off.
+     * It means that after one try to {@link AtomicLong#compareAndSet(long, long)}
      * this method will wait for a while before try one more time.
      * This technique was originally described in this
      * <a href="https://arxiv.org/abs/1305.5800"> paper</a>
@@ -125,76 +172,86 @@ public class AtomicRateLimiter implements RateLimiter {
      * @return {@code true} if successful. False return indicates that
      * the actual value was not equal to the expected value.
      */
-    private boolean compareAndSet(final State current, final State next) {
+    private boolean compareAndSet(final long current, final long next) {
         if (state.compareAndSet(current, next)) {
             return true;
         }
-        parkNanos(1); // back-off
+        VirtualThreads.backOff();
         return false;
     }
 
     /**
-     * A side-effect-free function that can calculate next {@link State} from current.
-     * It determines time duration that you should wait for permission and reserves it for you,
-     * if you'll be able to wait long enough.
+     * A side-effect-free function that calculates the permissions available in the current cycle.
+     * Every cycle that elapsed since the active cycle adds {@link RateLimiterConfig#limitForPeriod} permissions,
+     * but never more than {@link RateLimiterConfig#limitForPeriod} are available.
      *
-     * @param timeoutInNanos max time that caller can wait for permission in nanoseconds
-     * @param activeState    current state of {@link AtomicRateLimiter}
-     * @return next {@link State}
+     * @param activeState  current packed state of {@link AtomicRateLimiter}
+     * @param currentCycle current {@link AtomicRateLimiter} cycle
+     * @return available permissions, can be negative if some permissions have been reserved
      */
-    private State calculateNextState(final long timeoutInNanos, final State activeState) {
-        long currentNanos = currentNanoTime();
-        long currentCycle = currentNanos / cyclePeriodInNanos;
-
-        long nextCycle = activeState.activeCycle;
-        int nextPermissions = activeState.activePermissions;
-        if (nextCycle != currentCycle) {
-            long elapsedCycles = currentCycle - nextCycle;
-            long accumulatedPermissions = elapsedCycles * permissionsPerCycle;
-            nextCycle = currentCycle;
-            nextPermissions = (int) min(nextPermissions + accumulatedPermissions, permissionsPerCycle);
+    private int refreshPermissions(final long activeState, final long currentCycle) {
+        int activePermissions = permissionsOf(activeState);
+        long elapsedCycles = (currentCycle - (activeState >>> 32)) & 0xFFFF_FFFFL;
+        if (elapsedCycles == 0) {
+            return activePermissions;
+        }
+        long missingPermissions = (long) permissionsPerCycle - activePermissions;
+        long cyclesToRefill = (missingPermissions + permissionsPerCycle - 1) / permissionsPerCycle;
+        if (elapsedCycles >= cyclesToRefill) {
+            return permissionsPerCycle;
         }
-        long nextNanosToWait = nanosToWaitForPermission(nextPermissions, currentNanos, currentCycle);
-        State nextState = reservePermissions(timeoutInNanos, nextCycle, nextPermissions, nextNanosToWait);
-        return nextState;
+        return (int) (activePermissions + elapsedCycles * permissionsPerCycle);
     }
 
     /**
-     * Calculates time to wait for next permission as
-     * [time to the next cycle] + [duration of full cycles until reserved permissions expire]
+     * Calculates time to wait for the requested permits as
+     * [time to the next cycle] + [duration of full cycles until reserved and requested permissions expire]
      *
+     * @param permits              number of permits the caller needs
      * @param availablePermissions currently available permissions, can be negative if some permissions have been reserved
      * @param currentNanos         current time in nanoseconds
      * @param currentCycle         current {@link AtomicRateLimiter} cycle
-     * @return nanoseconds to wait for the next permission
+     * @return nanoseconds to wait for the requested permits
      */
-    private long nanosToWaitForPermission(final int availablePermissions, final long currentNanos, final long currentCycle) {
-        if (availablePermissions > 0) {
+    private long nanosToWaitForPermission(final int permits, final int availablePermissions,
+                                          final long currentNanos, final long currentCycle) {
+        if (availablePermissions >= permits) {
             return 0L;
         }
         long nextCycleTimeInNanos = (currentCycle + 1) * cyclePeriodInNanos;
         long nanosToNextCycle = nextCycleTimeInNanos - currentNanos;
-        int fullCyclesToWait = (-availablePermissions) / permissionsPerCycle;
+        long missingPermissions = (long) permits - availablePermissions;
+        long fullCyclesToWait = (missingPermissions - 1) / permissionsPerCycle;
         return (fullCyclesToWait * cyclePeriodInNanos) + nanosToNextCycle;
     }
 
     /**
-     * Determines whether caller can acquire permission before timeout or not and then creates corresponding {@link State}.
+     * Determines whether caller can acquire permission before timeout or not and then creates corresponding state.
      * Reserves permissions only if caller can successfully wait for permission.
      *
+     * @param permits        number of permits to reserve
      * @param timeoutInNanos max time that caller can wait for permission in nanoseconds
-     * @param cycle          cycle for new {@link State}
-     * @param permissions    permissions for new {@link State}
-     * @param nanosToWait    nanoseconds to wait for the next permission
-     * @return new {@link State} with possibly reserved permissions and time to wait
+     * @param cycle          cycle for new state
+     * @param permissions    permissions for new state
+     * @param nanosToWait    nanoseconds to wait for the requested permits
+     * @return new packed state with possibly reserved permissions
      */
-    private State reservePermissions(final long timeoutInNanos, final long cycle, final int permissions, final long nanosToWait) {
+    private long reservePermissions(final int permits, final long timeoutInNanos, final long cycle,
+                                    final int permissions, final long nanosToWait) {
         boolean canAcquireInTime = timeoutInNanos >= nanosToWait;
         int permissionsWithReservation = permissions;
         if (canAcquireInTime) {
-            permissionsWithReservation--;
+            permissionsWithReservation -= permits;
         }
-        return new State(cycle, permissionsWithReservation, nanosToWait);
+        return pack(cycle, permissionsWithReservation);
+    }
+
+    private static long pack(final long cycle, final int permissions) {
+        return (cycle << 32) | (permissions & 0xFFFF_FFFFL);
+    }
+
+    private static int permissionsOf(final long packedState) {
+        return (int) packedState;
     }
 
     /**
@@ -299,35 +356,6 @@ public class AtomicRateLimiter implements RateLimiter {
         eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name));
     }
 
-    /**
-     * <p>{@link AtomicRateLimiter.State} represents immutable state of {@link AtomicRateLimiter} where:
-     * <ul>
-     * <li>activeCycle - {@link AtomicRateLimiter} cycle number that was used
-     * by the last {@link AtomicRateLimiter#getPermission(Duration)} call.</li>
-     * <p>
-     * <li>activePermissions - count of available permissions after
-     * the last {@link AtomicRateLimiter#getPermission(Duration)} call.
-     * Can be negative if some permissions where reserved.</li>
-     * <p>
-     * <li>nanosToWait - count of nanoseconds to wait for permission for
-     * the last {@link AtomicRateLimiter#getPermission(Duration)} call.</li>
-     * </ul>
-     */
-    private static class State {
-
-        private final long activeCycle;
-
-        private final int activePermissions;
-        private final long nanosToWait;
-
-        private State(final long activeCycle, final int activePermissions, final long nanosToWait) {
-            this.activeCycle = activeCycle;
-            this.activePermissions = activePermissions;
-            this.nanosToWait = nanosToWait;
-        }
-
-    }
-
     /**
      * Enhanced {@link Metrics} with some implementation specific details
      */
@@ -349,27 +377,25 @@ public class AtomicRateLimiter implements RateLimiter {
          */
         @Override
         public int getAvailablePermissions() {
-            State currentState = state.get();
-            State estimatedState = calculateNextState(-1, currentState);
-            return estimatedState.activePermissions;
+            long currentCycle = currentNanoTime() / cyclePeriodInNanos;
+            return refreshPermissions(state.get(), currentCycle);
         }
 
         /**
          * @return estimated time duration in nanos to wait for the next permission
          */
         public long getNanosToWait() {
-            State currentState = state.get();
-            State estimatedState = calculateNextState(-1, currentState);
-            return estimatedState.nanosToWait;
+            long currentNanos = currentNanoTime();
+            long currentCycle = currentNanos / cyclePeriodInNanos;
+            int permissions = refreshPermissions(state.get(), currentCycle);
+            return nanosToWaitForPermission(1, permissions, currentNanos, currentCycle);
         }
 
         /**
          * @return estimated current cycle
          */
         public long getCycle() {
-            State currentState = state.get();
-            State estimatedState = calculateNextState(-1, currentState);
-            return estimatedState.activeCycle;
+            return currentNanoTime() / cyclePeriodInNanos;
         }
 
     }
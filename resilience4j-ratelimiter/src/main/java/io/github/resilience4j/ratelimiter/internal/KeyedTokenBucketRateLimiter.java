@@ -0,0 +1,330 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter.internal;
+
+import io.github.resilience4j.core.NanoClock;
+import io.github.resilience4j.ratelimiter.KeyedRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * A {@link KeyedRateLimiter} which applies the algorithm of {@link TokenBucketRateLimiter} to each key.
+ * <p>The state of a key is a single theoretical arrival time, so the keys are kept in segmented open addressing
+ * tables of primitive arrays, without an object per key. Each segment holds at most its share of the
+ * maximum number of keys. When a segment is full, the entry with the oldest arrival time among a few slots
+ * next to the new key is dropped, which is an idle key whenever one of those slots holds one.
+ * <p>The permissions are reserved while the segment is locked, but callers wait for them without holding the lock.
+ *
+ * @param <K> the type of the keys
+ */
+public class KeyedTokenBucketRateLimiter<K> implements KeyedRateLimiter<K> {
+
+    private static final String NAME_MUST_NOT_BE_NULL = "Name must not be null";
+    private static final String CONFIG_MUST_NOT_BE_NULL = "RateLimiterConfig must not be null";
+    private static final String KEY_MUST_NOT_BE_NULL = "Key must not be null";
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_KEYS_PER_SEGMENT = 16;
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final String name;
+    private final RateLimiterConfig rateLimiterConfig;
+    private final NanoClock clock;
+    private final long emissionIntervalInNanos;
+    private final long burstToleranceInNanos;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final int maximumNumberOfKeys;
+    private final AtomicInteger waitingThreads;
+    private final AtomicLong evictedActiveKeys;
+
+    public KeyedTokenBucketRateLimiter(String name, RateLimiterConfig rateLimiterConfig, int maximumNumberOfKeys) {
+        this(name, rateLimiterConfig, maximumNumberOfKeys, NanoClock.systemClock());
+    }
+
+    KeyedTokenBucketRateLimiter(String name, RateLimiterConfig rateLimiterConfig, int maximumNumberOfKeys, NanoClock clock) {
+        this.name = requireNonNull(name, NAME_MUST_NOT_BE_NULL);
+        this.rateLimiterConfig = requireNonNull(rateLimiterConfig, CONFIG_MUST_NOT_BE_NULL);
+        if (maximumNumberOfKeys < 1) {
+            throw new IllegalArgumentException("maximumNumberOfKeys must be greater than 0");
+        }
+        this.clock = clock;
+
+        long periodInNanos = rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        emissionIntervalInNanos = Math.max(1L, periodInNanos / rateLimiterConfig.getLimitForPeriod());
+        burstToleranceInNanos = emissionIntervalInNanos * rateLimiterConfig.getBurstSize();
+
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maximumNumberOfKeys / MIN_KEYS_PER_SEGMENT)));
+        int keysPerSegment = (maximumNumberOfKeys + segmentCount - 1) / segmentCount;
+        waitingThreads = new AtomicInteger(0);
+        evictedActiveKeys = new AtomicLong(0);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(keysPerSegment, clock, burstToleranceInNanos, evictedActiveKeys);
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.maximumNumberOfKeys = keysPerSegment * segmentCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean acquirePermission(final K key, final int permits, final Duration timeoutDuration) {
+        requireNonNull(key, KEY_MUST_NOT_BE_NULL);
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be greater than 0");
+        }
+        long timeoutInNanos = timeoutDuration.toNanos();
+        int hash = spread(key.hashCode());
+        Segment segment = segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+        long nanosToWait = segment.reservePermissions(key, hash, permits * emissionIntervalInNanos, timeoutInNanos);
+        if (nanosToWait <= 0) {
+            return true;
+        }
+        if (timeoutInNanos >= nanosToWait) {
+            return waitForPermission(nanosToWait);
+        }
+        waitForPermission(timeoutInNanos);
+        return false;
+    }
+
+    /**
+     * Parks {@link Thread} for nanosToWait.
+     * <p>If the current thread is {@linkplain Thread#interrupted}
+     * while waiting for a permit then it won't throw {@linkplain InterruptedException},
+     * but its interrupt status will be set.
+     *
+     * @param nanosToWait nanoseconds caller need to wait
+     * @return true if caller was not {@link Thread#interrupted} while waiting
+     */
+    private boolean waitForPermission(final long nanosToWait) {
+        waitingThreads.incrementAndGet();
+        long deadline = clock.nanoTime() + nanosToWait;
+        boolean wasInterrupted = false;
+        long sleepBlockDuration;
+        while ((sleepBlockDuration = deadline - clock.nanoTime()) > 0 && !wasInterrupted) {
+            parkNanos(sleepBlockDuration);
+            wasInterrupted = Thread.interrupted();
+        }
+        waitingThreads.decrementAndGet();
+        if (wasInterrupted) {
+            currentThread().interrupt();
+        }
+        return !wasInterrupted;
+    }
+
+    private static int spread(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return rateLimiterConfig;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Metrics getMetrics() {
+        return new KeyedTokenBucketRateLimiterMetrics();
+    }
+
+    @Override public String toString() {
+        return "KeyedTokenBucketRateLimiter{" +
+            "name='" + name + '\'' +
+            ", rateLimiterConfig=" + rateLimiterConfig +
+            ", maximumNumberOfKeys=" + maximumNumberOfKeys +
+            '}';
+    }
+
+    /**
+     * An open addressing hash table with linear probing, which maps keys to their theoretical arrival times.
+     * Removed entries are not marked, the following entries of their cluster are shifted back instead.
+     */
+    private static final class Segment {
+
+        private final NanoClock clock;
+        private final long burstToleranceInNanos;
+        private final AtomicLong evictedActiveKeys;
+        private final Object[] keys;
+        private final int[] hashes;
+        private final long[] arrivalTimes;
+        private final int mask;
+        private final int maximumSize;
+        private int size;
+
+        Segment(int maximumSize, NanoClock clock, long burstToleranceInNanos, AtomicLong evictedActiveKeys) {
+            this.clock = clock;
+            this.burstToleranceInNanos = burstToleranceInNanos;
+            this.evictedActiveKeys = evictedActiveKeys;
+            int capacity = Integer.highestOneBit((maximumSize + maximumSize / 3 + 1) * 2 - 1);
+            this.keys = new Object[capacity];
+            this.hashes = new int[capacity];
+            this.arrivalTimes = new long[capacity];
+            this.mask = capacity - 1;
+            this.maximumSize = maximumSize;
+        }
+
+        synchronized long reservePermissions(Object key, int hash, long increment, long timeoutInNanos) {
+            long currentNanos = clock.nanoTime();
+            int index = indexOf(key, hash);
+            boolean present = keys[index] != null;
+            long arrivalTime = present ? arrivalTimes[index] : currentNanos;
+            long nextArrivalTime = Math.max(arrivalTime - currentNanos, 0L) + currentNanos + increment;
+            long nanosToWait = nextArrivalTime - currentNanos - burstToleranceInNanos;
+            if (nanosToWait > timeoutInNanos) {
+                return nanosToWait;
+            }
+            if (!present) {
+                if (size >= maximumSize) {
+                    evict(hash, currentNanos);
+                    index = indexOf(key, hash);
+                }
+                keys[index] = key;
+                hashes[index] = hash;
+                size++;
+            }
+            arrivalTimes[index] = nextArrivalTime;
+            return nanosToWait;
+        }
+
+        /**
+         * @return the slot of the key, or the empty slot where it would be inserted
+         */
+        private int indexOf(Object key, int hash) {
+            int index = hash & mask;
+            Object candidate;
+            while ((candidate = keys[index]) != null) {
+                if (hashes[index] == hash && candidate.equals(key)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void evict(int hash, long currentNanos) {
+            int victim = -1;
+            int sampled = 0;
+            int index = hash & mask;
+            for (int probed = 0; probed <= mask && sampled < EVICTION_SAMPLE_SIZE; probed++) {
+                if (keys[index] != null) {
+                    if (victim < 0 || arrivalTimes[index] - arrivalTimes[victim] < 0) {
+                        victim = index;
+                    }
+                    sampled++;
+                }
+                index = (index + 1) & mask;
+            }
+            if (arrivalTimes[victim] - currentNanos > 0) {
+                evictedActiveKeys.incrementAndGet();
+            }
+            removeAt(victim);
+        }
+
+        private void removeAt(int index) {
+            int hole = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (keys[next] == null) {
+                    break;
+                }
+                int home = hashes[next] & mask;
+                boolean homeBetweenHoleAndNext = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+                if (!homeBetweenHoleAndNext) {
+                    keys[hole] = keys[next];
+                    hashes[hole] = hashes[next];
+                    arrivalTimes[hole] = arrivalTimes[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = null;
+            size--;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    private final class KeyedTokenBucketRateLimiterMetrics implements Metrics {
+
+        private KeyedTokenBucketRateLimiterMetrics() {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getNumberOfWaitingThreads() {
+            return waitingThreads.get();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getNumberOfKeys() {
+            int numberOfKeys = 0;
+            for (Segment segment : segments) {
+                numberOfKeys += segment.size();
+            }
+            return numberOfKeys;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getMaximumNumberOfKeys() {
+            return maximumNumberOfKeys;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getNumberOfEvictedActiveKeys() {
+            return evictedActiveKeys.get();
+        }
+    }
+}
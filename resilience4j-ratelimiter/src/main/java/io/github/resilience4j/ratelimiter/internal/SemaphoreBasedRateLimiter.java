@@ -18,27 +18,33 @@
  */
 package io.github.resilience4j.ratelimiter.internal;
 
+import io.github.resilience4j.core.SharedScheduledExecutor;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
 import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
 import io.vavr.control.Option;
 
+import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 /**
  * A RateLimiter implementation that consists of {@link Semaphore}
  * and scheduler that will refresh permissions
  * after each {@link RateLimiterConfig#limitRefreshPeriod}.
+ * <p>Unless a scheduler is provided, all instances share the threads of {@link SharedScheduledExecutor},
+ * so it is cheap to create many of them. A very short refresh period keeps those threads busy,
+ * use a dedicated scheduler for such rate limiters.
+ * <p>The refresh is cancelled by {@link #close()}, or when the rate limiter is garbage collected.
  */
-public class SemaphoreBasedRateLimiter implements RateLimiter {
+public class SemaphoreBasedRateLimiter implements RateLimiter, AutoCloseable {
 
     private static final String NAME_MUST_NOT_BE_NULL = "Name must not be null";
     private static final String CONFIG_MUST_NOT_BE_NULL = "RateLimiterConfig must not be null";
@@ -47,11 +53,16 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
     private final RateLimiterConfig rateLimiterConfig;
     private final ScheduledExecutorService scheduler;
     private final Semaphore semaphore;
+    private final int maxPermits;
     private final SemaphoreBasedRateLimiterMetrics metrics;
     private final RateLimiterEventProcessor eventProcessor;
+    private final AtomicInteger reservedPermits;
+    private volatile long nextRefreshNanos;
+    private final ScheduledFuture<?> limitRefresh;
 
     /**
-     * Creates a RateLimiter.
+     * Creates a RateLimiter which refreshes its permissions on the scheduler shared by all rate limiters,
+     * see {@link SharedScheduledExecutor}.
      *
      * @param name              the name of the RateLimiter
      * @param rateLimiterConfig The RateLimiter configuration.
@@ -65,7 +76,8 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
      *
      * @param name              the name of the RateLimiter
      * @param rateLimiterConfig The RateLimiter configuration.
-     * @param scheduler         executor that will refresh permissions
+     * @param scheduler         executor that will refresh permissions,
+     *                          the scheduler shared by all rate limiters is used if it is null
      */
     public SemaphoreBasedRateLimiter(String name, RateLimiterConfig rateLimiterConfig,
                                      ScheduledExecutorService scheduler) {
@@ -73,35 +85,45 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
         this.rateLimiterConfig = requireNonNull(rateLimiterConfig, CONFIG_MUST_NOT_BE_NULL);
 
         this.scheduler = Option.of(scheduler).getOrElse(this::configureScheduler);
-        this.semaphore = new Semaphore(this.rateLimiterConfig.getLimitForPeriod(), true);
+        this.maxPermits = this.rateLimiterConfig.getLimitForPeriod();
+        this.semaphore = new Semaphore(maxPermits, true);
         this.metrics = this.new SemaphoreBasedRateLimiterMetrics();
 
         this.eventProcessor = new RateLimiterEventProcessor();
+        this.reservedPermits = new AtomicInteger();
 
-        scheduleLimitRefresh();
+        this.limitRefresh = scheduleLimitRefresh();
     }
 
     private ScheduledExecutorService configureScheduler() {
-        ThreadFactory threadFactory = target -> {
-            Thread thread = new Thread(target, "SchedulerForSemaphoreBasedRateLimiterImpl-" + name);
-            thread.setDaemon(true);
-            return thread;
-        };
-        return newSingleThreadScheduledExecutor(threadFactory);
+        return SharedScheduledExecutor.getInstance();
     }
 
-    private void scheduleLimitRefresh() {
-        scheduler.scheduleAtFixedRate(
-            this::refreshLimit,
+    private ScheduledFuture<?> scheduleLimitRefresh() {
+        nextRefreshNanos = System.nanoTime() + this.rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        LimitRefresh refresh = new LimitRefresh(this);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(
+            refresh,
             this.rateLimiterConfig.getLimitRefreshPeriod().toNanos(),
             this.rateLimiterConfig.getLimitRefreshPeriod().toNanos(),
             TimeUnit.NANOSECONDS
         );
+        refresh.future = future;
+        return future;
     }
 
+    /**
+     * Refills the semaphore for the next period. The permissions reserved for this period are handed out
+     * to their reservations instead of being released to the semaphore.
+     */
     void refreshLimit() {
-        int permissionsToRelease = this.rateLimiterConfig.getLimitForPeriod() - semaphore.availablePermits();
-        semaphore.release(permissionsToRelease);
+        nextRefreshNanos = System.nanoTime() + this.rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        int limitForPeriod = this.rateLimiterConfig.getLimitForPeriod();
+        int reserved = reservedPermits.getAndUpdate(permits -> Math.max(0, permits - limitForPeriod));
+        int permissionsToRelease = limitForPeriod - Math.min(reserved, limitForPeriod) - semaphore.availablePermits();
+        if (permissionsToRelease > 0) {
+            semaphore.release(permissionsToRelease);
+        }
     }
 
     /**
@@ -109,8 +131,25 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
      */
     @Override
     public boolean getPermission(final Duration timeoutDuration) {
+        return acquirePermission(1, timeoutDuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The semaphore never holds more than {@link RateLimiterConfig#limitForPeriod} permits,
+     * so a request for more permits than that is rejected immediately.
+     */
+    @Override
+    public boolean acquirePermission(final int permits, final Duration timeoutDuration) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be greater than 0");
+        }
+        if (permits > maxPermits) {
+            publishRateLimiterEvent(false);
+            return false;
+        }
         try {
-            boolean success = semaphore.tryAcquire(timeoutDuration.toNanos(), TimeUnit.NANOSECONDS);
+            boolean success = semaphore.tryAcquire(permits, timeoutDuration.toNanos(), TimeUnit.NANOSECONDS);
             publishRateLimiterEvent(success);
             return success;
         } catch (InterruptedException e) {
@@ -120,6 +159,37 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>If the semaphore is empty, the permission is reserved from one of the next refreshes, which hand out
+     * {@link RateLimiterConfig#limitForPeriod} permissions each. The permissions of a refresh go to its reservations
+     * first, so a reservation is not taken over by threads which are blocked in {@link #acquirePermission}.
+     * The returned time to wait is based on the scheduled time of the next refresh, so a reserved permission
+     * may be used slightly before the refresh if the scheduler runs late.
+     */
+    @Override
+    public long reservePermission(final Duration timeoutDuration) {
+        if (semaphore.tryAcquire()) {
+            publishRateLimiterEvent(true);
+            return 0L;
+        }
+        long timeoutInNanos = timeoutDuration.toNanos();
+        long refreshPeriodInNanos = rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        while (true) {
+            int reserved = reservedPermits.get();
+            long nanosToNextRefresh = Math.max(0L, nextRefreshNanos - System.nanoTime());
+            long nanosToWait = nanosToNextRefresh + (reserved / maxPermits) * refreshPeriodInNanos;
+            if (nanosToWait > timeoutInNanos) {
+                publishRateLimiterEvent(false);
+                return -1L;
+            }
+            if (reservedPermits.compareAndSet(reserved, reserved + 1)) {
+                publishRateLimiterEvent(true);
+                return nanosToWait;
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -149,6 +219,17 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
         return this.rateLimiterConfig;
     }
 
+    /**
+     * Stops refreshing the permissions of this rate limiter. Permissions which are still available can be acquired,
+     * but no new permissions are released afterwards.
+     */
+    @Override
+    public void close() {
+        if (limitRefresh != null) {
+            limitRefresh.cancel(false);
+        }
+    }
+
     @Override public String toString() {
         return "SemaphoreBasedRateLimiter{" +
             "name='" + name + '\'' +
@@ -180,6 +261,30 @@ public class SemaphoreBasedRateLimiter implements RateLimiter {
         }
     }
 
+    /**
+     * Refreshes the permissions of a rate limiter, which is only weakly referenced, so that a scheduler
+     * does not keep a discarded rate limiter alive. The refresh cancels itself once the rate limiter is collected.
+     */
+    private static final class LimitRefresh implements Runnable {
+
+        private final WeakReference<SemaphoreBasedRateLimiter> rateLimiter;
+        private volatile ScheduledFuture<?> future;
+
+        private LimitRefresh(SemaphoreBasedRateLimiter rateLimiter) {
+            this.rateLimiter = new WeakReference<>(rateLimiter);
+        }
+
+        @Override
+        public void run() {
+            SemaphoreBasedRateLimiter limiter = rateLimiter.get();
+            if (limiter != null) {
+                limiter.refreshLimit();
+            } else if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
     private void publishRateLimiterEvent(boolean permissionAcquired) {
         if (!eventProcessor.hasConsumers()) {
             return;
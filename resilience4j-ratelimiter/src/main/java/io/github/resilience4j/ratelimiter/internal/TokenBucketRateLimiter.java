@@ -0,0 +1,280 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter.internal;
+
+import io.github.resilience4j.core.NanoClock;
+import io.github.resilience4j.core.VirtualThreads;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * A token bucket {@link RateLimiter} based on the generic cell rate algorithm (GCRA).
+ * <p>Permissions are refilled continuously, one every
+ * {@link RateLimiterConfig#limitRefreshPeriod} / {@link RateLimiterConfig#limitForPeriod} nanoseconds,
+ * instead of all at once at the start of each cycle like {@link AtomicRateLimiter} does.
+ * An idle {@link TokenBucketRateLimiter} accumulates at most {@link RateLimiterConfig#getBurstSize()} permissions.
+ * <p>The whole state is a single theoretical arrival time in nanoseconds: the moment at which the bucket
+ * would be full again if no more permissions were acquired. Acquiring permissions moves it forward by the
+ * emission interval of each permission, so it is updated with a single compare-and-set and never allocates.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final String NAME_MUST_NOT_BE_NULL = "Name must not be null";
+    private static final String CONFIG_MUST_NOT_BE_NULL = "RateLimiterConfig must not be null";
+
+    private final String name;
+    private final RateLimiterConfig rateLimiterConfig;
+    private final NanoClock clock;
+    private final long emissionIntervalInNanos;
+    private final long burstToleranceInNanos;
+    private final AtomicLong theoreticalArrivalTime;
+    private final AtomicInteger waitingThreads;
+    private final RateLimiterEventProcessor eventProcessor;
+
+    public TokenBucketRateLimiter(String name, RateLimiterConfig rateLimiterConfig) {
+        this(name, rateLimiterConfig, NanoClock.systemClock());
+    }
+
+    TokenBucketRateLimiter(String name, RateLimiterConfig rateLimiterConfig, NanoClock clock) {
+        this.name = requireNonNull(name, NAME_MUST_NOT_BE_NULL);
+        this.rateLimiterConfig = requireNonNull(rateLimiterConfig, CONFIG_MUST_NOT_BE_NULL);
+        this.clock = clock;
+
+        long periodInNanos = rateLimiterConfig.getLimitRefreshPeriod().toNanos();
+        emissionIntervalInNanos = Math.max(1L, periodInNanos / rateLimiterConfig.getLimitForPeriod());
+        burstToleranceInNanos = emissionIntervalInNanos * rateLimiterConfig.getBurstSize();
+
+        theoreticalArrivalTime = new AtomicLong(clock.nanoTime());
+        waitingThreads = new AtomicInteger(0);
+        eventProcessor = new RateLimiterEventProcessor();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getPermission(final Duration timeoutDuration) {
+        return acquirePermission(1, timeoutDuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean acquirePermission(final int permits, final Duration timeoutDuration) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be greater than 0");
+        }
+        long timeoutInNanos = timeoutDuration.toNanos();
+        long nanosToWait = reservePermissions(permits, timeoutInNanos);
+        boolean result = waitForPermissionIfNecessary(timeoutInNanos, nanosToWait);
+        publishRateLimiterEvent(result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long reservePermission(final Duration timeoutDuration) {
+        long timeoutInNanos = timeoutDuration.toNanos();
+        long nanosToWait = reservePermissions(1, timeoutInNanos);
+        if (nanosToWait <= 0) {
+            publishRateLimiterEvent(true);
+            return 0;
+        }
+        if (timeoutInNanos >= nanosToWait) {
+            publishRateLimiterEvent(true);
+            return nanosToWait;
+        }
+        publishRateLimiterEvent(false);
+        return -1;
+    }
+
+    /**
+     * Moves the theoretical arrival time forward by the emission interval of the requested permits,
+     * but only if the caller is able to wait until they are available.
+     *
+     * @param permits        number of permits to reserve
+     * @param timeoutInNanos max time that caller can wait for the permits in nanoseconds
+     * @return nanoseconds to wait for the permits, they are only reserved if this is not bigger than timeoutInNanos
+     */
+    private long reservePermissions(final int permits, final long timeoutInNanos) {
+        long increment = permits * emissionIntervalInNanos;
+        while (true) {
+            long currentNanos = clock.nanoTime();
+            long arrivalTime = theoreticalArrivalTime.get();
+            long nextArrivalTime = Math.max(arrivalTime - currentNanos, 0L) + currentNanos + increment;
+            long nanosToWait = nextArrivalTime - currentNanos - burstToleranceInNanos;
+            if (nanosToWait > timeoutInNanos) {
+                return nanosToWait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(arrivalTime, nextArrivalTime)) {
+                return nanosToWait;
+            }
+            VirtualThreads.backOff();
+        }
+    }
+
+    /**
+     * If nanosToWait is bigger than 0 it tries to park {@link Thread} for nanosToWait but not longer then timeoutInNanos.
+     *
+     * @param timeoutInNanos max time that caller can wait
+     * @param nanosToWait    nanoseconds caller need to wait
+     * @return true if caller was able to wait for nanosToWait without {@link Thread#interrupt} and not exceed timeout
+     */
+    private boolean waitForPermissionIfNecessary(final long timeoutInNanos, final long nanosToWait) {
+        if (nanosToWait <= 0) {
+            return true;
+        }
+        if (timeoutInNanos >= nanosToWait) {
+            return waitForPermission(nanosToWait);
+        }
+        waitForPermission(timeoutInNanos);
+        return false;
+    }
+
+    /**
+     * Parks {@link Thread} for nanosToWait.
+     * <p>If the current thread is {@linkplain Thread#interrupted}
+     * while waiting for a permit then it won't throw {@linkplain InterruptedException},
+     * but its interrupt status will be set.
+     *
+     * @param nanosToWait nanoseconds caller need to wait
+     * @return true if caller was not {@link Thread#interrupted} while waiting
+     */
+    private boolean waitForPermission(final long nanosToWait) {
+        waitingThreads.incrementAndGet();
+        long deadline = clock.nanoTime() + nanosToWait;
+        boolean wasInterrupted = false;
+        long sleepBlockDuration;
+        while ((sleepBlockDuration = deadline - clock.nanoTime()) > 0 && !wasInterrupted) {
+            parkNanos(sleepBlockDuration);
+            wasInterrupted = Thread.interrupted();
+        }
+        waitingThreads.decrementAndGet();
+        if (wasInterrupted) {
+            currentThread().interrupt();
+        }
+        return !wasInterrupted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return rateLimiterConfig;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Metrics getMetrics() {
+        return new TokenBucketRateLimiterMetrics();
+    }
+
+    /**
+     * Get the enhanced Metrics with some implementation specific details.
+     *
+     * @return the detailed metrics
+     */
+    public TokenBucketRateLimiterMetrics getDetailedMetrics() {
+        return new TokenBucketRateLimiterMetrics();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override public String toString() {
+        return "TokenBucketRateLimiter{" +
+            "name='" + name + '\'' +
+            ", rateLimiterConfig=" + rateLimiterConfig +
+            '}';
+    }
+
+    private void publishRateLimiterEvent(boolean permissionAcquired) {
+        if (!eventProcessor.hasConsumers()) {
+            return;
+        }
+        if (permissionAcquired) {
+            eventProcessor.consumeEvent(new RateLimiterOnSuccessEvent(name));
+            return;
+        }
+        eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name));
+    }
+
+    /**
+     * Enhanced {@link Metrics} with some implementation specific details
+     */
+    public class TokenBucketRateLimiterMetrics implements Metrics {
+
+        private TokenBucketRateLimiterMetrics() {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getNumberOfWaitingThreads() {
+            return waitingThreads.get();
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>Can be negative if some permissions were reserved by waiting callers.
+         */
+        @Override
+        public int getAvailablePermissions() {
+            long currentNanos = clock.nanoTime();
+            long usedTolerance = Math.max(theoreticalArrivalTime.get() - currentNanos, 0L);
+            return (int) Math.floorDiv(burstToleranceInNanos - usedTolerance, emissionIntervalInNanos);
+        }
+
+        /**
+         * @return estimated time duration in nanos to wait for the next permission
+         */
+        public long getNanosToWait() {
+            long currentNanos = clock.nanoTime();
+            long nextArrivalTime = Math.max(theoreticalArrivalTime.get() - currentNanos, 0L) + emissionIntervalInNanos;
+            return Math.max(nextArrivalTime - burstToleranceInNanos, 0L);
+        }
+    }
+}
@@ -86,4 +86,28 @@ public class RateLimiterConfigTest {
         RateLimiterConfig.custom()
             .limitForPeriod(0);
     }
+
+    @Test
+    public void burstSizeDefaultsToLimitForPeriod() throws Exception {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+            .limitForPeriod(LIMIT)
+            .build();
+
+        then(config.getBurstSize()).isEqualTo(LIMIT);
+
+        RateLimiterConfig burstConfig = RateLimiterConfig.custom()
+            .limitForPeriod(LIMIT)
+            .burstSize(5)
+            .build();
+
+        then(burstConfig.getBurstSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void builderBurstSizeIsLessThanOne() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("BurstSize should be greater than 0");
+        RateLimiterConfig.custom()
+            .burstSize(0);
+    }
 }
@@ -18,6 +18,7 @@
  */
 package io.github.resilience4j.ratelimiter;
 
+import io.github.resilience4j.test.Allocations;
 import io.vavr.control.Try;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -88,5 +90,20 @@ public class RateLimiterEventPublisherTest {
         then(logger).should(times(1)).info("FAILED_ACQUIRE");
     }
 
-
-}
\ No newline at end of file
+    @Test
+    public void shouldNotAllocateWithoutEventConsumers() {
+        assumeTrue(Allocations.isMeasurable());
+        RateLimiter rateLimiterWithoutConsumers = RateLimiter.of("test", RateLimiterConfig.custom()
+            .timeoutDuration(TIMEOUT)
+            .limitRefreshPeriod(REFRESH_PERIOD)
+            .limitForPeriod(Integer.MAX_VALUE)
+            .build());
+        boolean[] permitted = new boolean[1];
+
+        long allocatedBytes = Allocations.minAllocatedBytesPerRound(
+            () -> permitted[0] = rateLimiterWithoutConsumers.getPermission(TIMEOUT));
+
+        assertThat(allocatedBytes).isEqualTo(0);
+        assertThat(permitted[0]).isTrue();
+    }
+}
@@ -23,6 +23,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -36,6 +37,7 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 
 import io.vavr.CheckedFunction0;
@@ -47,6 +49,8 @@ import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -226,8 +230,8 @@ public class RateLimiterTest {
 
         Supplier<CompletionStage<String>> decorated = RateLimiter.decorateCompletionStage(limit, completionStage);
 
-        when(limit.getPermission(config.getTimeoutDuration()))
-            .thenReturn(false);
+        when(limit.reservePermission(config.getTimeoutDuration()))
+            .thenReturn(-1L);
 
         AtomicReference<Throwable> error = new AtomicReference<>(null);
         CompletableFuture<String> notPermittedFuture = decorated.get()
@@ -240,8 +244,8 @@ public class RateLimiterTest {
         then(error.get()).isExactlyInstanceOf(RequestNotPermitted.class);
         verify(supplier, never()).get();
 
-        when(limit.getPermission(config.getTimeoutDuration()))
-            .thenReturn(true);
+        when(limit.reservePermission(config.getTimeoutDuration()))
+            .thenReturn(0L);
 
         AtomicReference<Throwable> shouldBeEmpty = new AtomicReference<>(null);
         CompletableFuture<String> success = decorated.get()
@@ -254,6 +258,30 @@ public class RateLimiterTest {
         verify(supplier).get();
     }
 
+    @Test
+    public void decorateCompletionStageShouldScheduleDelayedExecution() throws Exception {
+        Supplier<CompletionStage<String>> completionStage = () -> CompletableFuture.completedFuture("Resource");
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        Executor executor = mock(Executor.class);
+        when(limit.reservePermission(config.getTimeoutDuration()))
+            .thenReturn(1_000L);
+
+        CompletableFuture<String> delayed = RateLimiter.decorateCompletionStage(limit, scheduler, executor, completionStage).get()
+            .toCompletableFuture();
+
+        ArgumentCaptor<Runnable> trigger = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(trigger.capture(), eq(1_000L), eq(TimeUnit.NANOSECONDS));
+        then(delayed.isDone()).isFalse();
+
+        trigger.getValue().run();
+        ArgumentCaptor<Runnable> execution = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(execution.capture());
+        then(delayed.isDone()).isFalse();
+
+        execution.getValue().run();
+        then(delayed.get()).isEqualTo("Resource");
+    }
+
     @Test
     public void waitForPermissionWithOne() throws Exception {
         when(limit.getPermission(config.getTimeoutDuration()))
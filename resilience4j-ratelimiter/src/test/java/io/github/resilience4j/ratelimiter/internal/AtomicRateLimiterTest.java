@@ -28,6 +28,8 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -129,6 +131,69 @@ public class AtomicRateLimiterTest {
         then(metrics.getNanosToWait()).isEqualTo(CYCLE_IN_NANOS);
     }
 
+    @Test
+    public void reservePermissionWithoutBlocking() throws Exception {
+        setTimeOnNanos(CYCLE_IN_NANOS);
+        long nanosToWait = rateLimiter.reservePermission(Duration.ZERO);
+        then(nanosToWait).isEqualTo(0);
+        then(metrics.getAvailablePermissions()).isEqualTo(0);
+
+        long rejected = rateLimiter.reservePermission(Duration.ZERO);
+        then(rejected).isEqualTo(-1);
+        then(metrics.getAvailablePermissions()).isEqualTo(0);
+
+        setTimeOnNanos(CYCLE_IN_NANOS + 10);
+        long reserved = rateLimiter.reservePermission(Duration.ofNanos(CYCLE_IN_NANOS));
+        then(reserved).isEqualTo(CYCLE_IN_NANOS - 10);
+        then(metrics.getAvailablePermissions()).isEqualTo(-1);
+        then(metrics.getNumberOfWaitingThreads()).isEqualTo(0);
+    }
+
+    @Test
+    public void acquireMultiplePermitsAtOnce() throws Exception {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+            .limitForPeriod(5)
+            .limitRefreshPeriod(Duration.ofNanos(CYCLE_IN_NANOS))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+        AtomicRateLimiter limiter = PowerMockito.spy(new AtomicRateLimiter(LIMITER_NAME, config));
+        AtomicRateLimiter.AtomicRateLimiterMetrics detailedMetrics = limiter.getDetailedMetrics();
+
+        PowerMockito.doReturn(CYCLE_IN_NANOS).when(limiter, "currentNanoTime");
+        then(limiter.acquirePermission(3, Duration.ZERO)).isTrue();
+        then(detailedMetrics.getAvailablePermissions()).isEqualTo(2);
+        then(limiter.acquirePermission(3, Duration.ZERO)).isFalse();
+        then(detailedMetrics.getAvailablePermissions()).isEqualTo(2);
+        then(detailedMetrics.getNanosToWait()).isEqualTo(0);
+        then(limiter.acquirePermission(2, Duration.ZERO)).isTrue();
+        then(detailedMetrics.getAvailablePermissions()).isEqualTo(0);
+        then(detailedMetrics.getNanosToWait()).isEqualTo(CYCLE_IN_NANOS);
+
+        PowerMockito.doReturn(CYCLE_IN_NANOS * 2).when(limiter, "currentNanoTime");
+        then(detailedMetrics.getAvailablePermissions()).isEqualTo(5);
+        then(limiter.acquirePermission(6, Duration.ZERO)).isFalse();
+        then(detailedMetrics.getAvailablePermissions()).isEqualTo(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void acquireZeroPermitsShouldFail() {
+        rateLimiter.acquirePermission(0, Duration.ZERO);
+    }
+
+    @Test
+    public void refreshAfterCycleNumberExceedsThirtyTwoBits() throws Exception {
+        long cycle = (1L << 32) + 1;
+        setTimeOnNanos(CYCLE_IN_NANOS * cycle);
+        then(rateLimiter.getPermission(Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission(Duration.ZERO)).isFalse();
+        then(metrics.getCycle()).isEqualTo(cycle);
+        then(metrics.getAvailablePermissions()).isEqualTo(0);
+
+        setTimeOnNanos(CYCLE_IN_NANOS * (cycle + 1));
+        then(metrics.getAvailablePermissions()).isEqualTo(PERMISSIONS_RER_CYCLE);
+        then(rateLimiter.getPermission(Duration.ZERO)).isTrue();
+    }
+
     @Test
     public void reserveAndRefresh() throws Exception {
         setTimeOnNanos(CYCLE_IN_NANOS);
@@ -300,4 +365,24 @@ public class AtomicRateLimiterTest {
     public void metrics() {
         then(rateLimiter.getMetrics().getNumberOfWaitingThreads()).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void waitForPermissionWithoutHoldingMonitor() throws Exception {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+            .limitForPeriod(1)
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ofSeconds(5))
+            .build();
+        AtomicRateLimiter rawLimiter = new AtomicRateLimiter("rawLimiter", config);
+        rawLimiter.getPermission(Duration.ZERO);
+        Thread waitingThread = new Thread(() -> rawLimiter.getPermission(config.getTimeoutDuration()));
+
+        waitingThread.start();
+        await().atMost(5, SECONDS).until(() -> waitingThread.getState() == Thread.State.TIMED_WAITING);
+
+        ThreadInfo threadInfo = ManagementFactory.getThreadMXBean()
+            .getThreadInfo(new long[]{waitingThread.getId()}, true, true)[0];
+        then(threadInfo.getLockedMonitors()).isEmpty();
+        waitingThread.join(5_000);
+    }
+}
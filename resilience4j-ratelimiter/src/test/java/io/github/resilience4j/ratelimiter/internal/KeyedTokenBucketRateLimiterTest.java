@@ -0,0 +1,141 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter.internal;
+
+import io.github.resilience4j.ratelimiter.KeyedRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class KeyedTokenBucketRateLimiterTest {
+
+    private static final String LIMITER_NAME = "test";
+    private static final long CYCLE_IN_NANOS = 1_000_000_000L;
+    private static final int PERMISSIONS_PER_CYCLE = 2;
+    private static final long EMISSION_INTERVAL_IN_NANOS = CYCLE_IN_NANOS / PERMISSIONS_PER_CYCLE;
+
+    private AtomicLong time;
+    private RateLimiterConfig rateLimiterConfig;
+
+    @Before
+    public void setup() {
+        rateLimiterConfig = RateLimiterConfig.custom()
+            .limitForPeriod(PERMISSIONS_PER_CYCLE)
+            .limitRefreshPeriod(Duration.ofNanos(CYCLE_IN_NANOS))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+        time = new AtomicLong(0);
+    }
+
+    private KeyedTokenBucketRateLimiter<String> limiter(int maximumNumberOfKeys) {
+        return new KeyedTokenBucketRateLimiter<>(LIMITER_NAME, rateLimiterConfig, maximumNumberOfKeys, time::get);
+    }
+
+    @Test
+    public void keysAreLimitedIndependently() {
+        KeyedTokenBucketRateLimiter<String> rateLimiter = limiter(100);
+
+        then(rateLimiter.acquirePermission("a", PERMISSIONS_PER_CYCLE, Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission("a", Duration.ZERO)).isFalse();
+        then(rateLimiter.getPermission("b", Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission("b", Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission("b", Duration.ZERO)).isFalse();
+
+        time.addAndGet(EMISSION_INTERVAL_IN_NANOS);
+
+        then(rateLimiter.getPermission("a", Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission("a", Duration.ZERO)).isFalse();
+        then(rateLimiter.getMetrics().getNumberOfKeys()).isEqualTo(2);
+    }
+
+    @Test
+    public void numberOfKeysIsBounded() {
+        KeyedTokenBucketRateLimiter<String> rateLimiter = limiter(128);
+        KeyedRateLimiter.Metrics metrics = rateLimiter.getMetrics();
+
+        for (int i = 0; i < 10_000; i++) {
+            then(rateLimiter.getPermission("key" + i, Duration.ZERO)).isTrue();
+        }
+
+        then(metrics.getMaximumNumberOfKeys()).isEqualTo(128);
+        then(metrics.getNumberOfKeys()).isLessThanOrEqualTo(128);
+        then(metrics.getNumberOfEvictedActiveKeys()).isGreaterThan(0);
+    }
+
+    @Test
+    public void idleKeysAreEvictedFirst() {
+        KeyedTokenBucketRateLimiter<String> rateLimiter = limiter(1);
+        KeyedRateLimiter.Metrics metrics = rateLimiter.getMetrics();
+
+        then(rateLimiter.getPermission("a", Duration.ZERO)).isTrue();
+        time.addAndGet(CYCLE_IN_NANOS);
+        then(rateLimiter.getPermission("b", Duration.ZERO)).isTrue();
+
+        then(metrics.getNumberOfKeys()).isEqualTo(1);
+        then(metrics.getNumberOfEvictedActiveKeys()).isEqualTo(0);
+
+        then(rateLimiter.getPermission("c", Duration.ZERO)).isTrue();
+        then(metrics.getNumberOfEvictedActiveKeys()).isEqualTo(1);
+    }
+
+    @Test
+    public void removedEntriesKeepOtherKeysReachable() {
+        KeyedTokenBucketRateLimiter<Integer> rateLimiter = new KeyedTokenBucketRateLimiter<>(
+            LIMITER_NAME, rateLimiterConfig, 16, time::get);
+
+        for (int round = 0; round < 50; round++) {
+            time.addAndGet(CYCLE_IN_NANOS);
+            for (int key = 0; key < 4; key++) {
+                then(rateLimiter.getPermission(round * 4 + key, Duration.ZERO)).isTrue();
+            }
+            for (int key = 0; key < 4; key++) {
+                then(rateLimiter.getPermission(round * 4 + key, Duration.ZERO)).isTrue();
+                then(rateLimiter.getPermission(round * 4 + key, Duration.ZERO)).isFalse();
+            }
+        }
+        then(rateLimiter.getMetrics().getNumberOfKeys()).isEqualTo(16);
+        then(rateLimiter.getMetrics().getNumberOfEvictedActiveKeys()).isEqualTo(0);
+    }
+
+    @Test
+    public void decorateFunctionShouldThrowRequestNotPermitted() {
+        KeyedTokenBucketRateLimiter<String> rateLimiter = limiter(100);
+        Function<String, String> function = KeyedRateLimiter.decorateFunction(rateLimiter, input -> input, input -> "Hello " + input);
+
+        then(function.apply("a")).isEqualTo("Hello a");
+        then(function.apply("a")).isEqualTo("Hello a");
+        then(function.apply("b")).isEqualTo("Hello b");
+        assertThatThrownBy(() -> function.apply("a")).isInstanceOf(RequestNotPermitted.class);
+    }
+
+    @Test
+    public void invalidArgumentsShouldFail() {
+        assertThatThrownBy(() -> limiter(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter(1).acquirePermission("a", 0, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
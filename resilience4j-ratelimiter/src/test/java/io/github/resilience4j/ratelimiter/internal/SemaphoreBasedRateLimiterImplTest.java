@@ -29,6 +29,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -104,6 +105,96 @@ public class SemaphoreBasedRateLimiterImplTest {
         then(limit.getPermission(ZERO)).isFalse();
     }
 
+    @Test
+    public void acquireMultiplePermitsAtOnce() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        SemaphoreBasedRateLimiter limit = new SemaphoreBasedRateLimiter("test", config, scheduledExecutorService);
+
+        then(limit.acquirePermission(LIMIT + 1, TIMEOUT)).isFalse();
+        then(limit.getMetrics().getAvailablePermissions()).isEqualTo(LIMIT);
+        then(limit.acquirePermission(LIMIT, ZERO)).isTrue();
+        then(limit.acquirePermission(1, ZERO)).isFalse();
+
+        limit.refreshLimit();
+
+        then(limit.getMetrics().getAvailablePermissions()).isEqualTo(LIMIT);
+        exception.expect(IllegalArgumentException.class);
+        limit.acquirePermission(0, ZERO);
+    }
+
+    @Test
+    public void reservePermissionsOfNextRefreshes() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        SemaphoreBasedRateLimiter limit = new SemaphoreBasedRateLimiter("test", config, scheduledExecutorService);
+        long refreshPeriodInNanos = REFRESH_PERIOD.toNanos();
+
+        then(limit.reservePermission(ZERO)).isEqualTo(0L);
+        then(limit.reservePermission(ZERO)).isEqualTo(0L);
+        then(limit.reservePermission(ZERO)).isEqualTo(-1L);
+        then(limit.reservePermission(TIMEOUT)).isBetween(1L, refreshPeriodInNanos);
+        then(limit.reservePermission(TIMEOUT)).isBetween(1L, refreshPeriodInNanos);
+        then(limit.reservePermission(TIMEOUT)).isBetween(refreshPeriodInNanos + 1, 2 * refreshPeriodInNanos);
+        then(limit.reservePermission(REFRESH_PERIOD)).isEqualTo(-1L);
+
+        limit.refreshLimit();
+        then(limit.getMetrics().getAvailablePermissions()).isEqualTo(0);
+        then(limit.getPermission(ZERO)).isFalse();
+
+        limit.refreshLimit();
+        then(limit.getMetrics().getAvailablePermissions()).isEqualTo(1);
+
+        limit.refreshLimit();
+        then(limit.getMetrics().getAvailablePermissions()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    public void rateLimitersShareDefaultScheduler() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            new SemaphoreBasedRateLimiter("test" + i, config);
+        }
+
+        long schedulerThreads = Thread.getAllStackTraces().keySet().stream()
+            .map(Thread::getName)
+            .filter(name -> name.startsWith("resilience4j-shared-scheduler"))
+            .count();
+        then(schedulerThreads).isBetween(1L, (long) Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void closeCancelsLimitRefresh() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> refresh = mock(ScheduledFuture.class);
+        doReturn(refresh).when(scheduledExecutorService)
+            .scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+        SemaphoreBasedRateLimiter limit = new SemaphoreBasedRateLimiter("test", config, scheduledExecutorService);
+
+        limit.close();
+
+        verify(refresh).cancel(false);
+    }
+
+    @Test
+    public void limitRefreshOfCollectedRateLimiterCancelsItself() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> refresh = mock(ScheduledFuture.class);
+        doReturn(refresh).when(scheduledExecutorService)
+            .scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+        new SemaphoreBasedRateLimiter("test", config, scheduledExecutorService);
+
+        ArgumentCaptor<Runnable> refreshLimitRunnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorService)
+            .scheduleAtFixedRate(refreshLimitRunnableCaptor.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        Runnable refreshLimitRunnable = refreshLimitRunnableCaptor.getValue();
+
+        awaitImpatiently().atMost(5, TimeUnit.SECONDS)
+            .until(() -> {
+                System.gc();
+                refreshLimitRunnable.run();
+                return mockingDetails(refresh).getInvocations().size();
+            }, equalTo(1));
+        verify(refresh).cancel(false);
+    }
+
     @Test
     public void rateLimiterCreationWithDefaultScheduler() throws Exception {
         SemaphoreBasedRateLimiter limit = new SemaphoreBasedRateLimiter("test", config);
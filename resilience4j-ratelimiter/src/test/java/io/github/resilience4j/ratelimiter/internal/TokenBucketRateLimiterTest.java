@@ -0,0 +1,117 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler and Bohdan Storozhuk
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.ratelimiter.internal;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+public class TokenBucketRateLimiterTest {
+
+    private static final String LIMITER_NAME = "test";
+    private static final long CYCLE_IN_NANOS = 1_000_000_000L;
+    private static final int PERMISSIONS_PER_CYCLE = 10;
+    private static final int BURST_SIZE = 4;
+    private static final long EMISSION_INTERVAL_IN_NANOS = CYCLE_IN_NANOS / PERMISSIONS_PER_CYCLE;
+
+    private AtomicLong time;
+    private TokenBucketRateLimiter rateLimiter;
+    private TokenBucketRateLimiter.TokenBucketRateLimiterMetrics metrics;
+
+    @Before
+    public void setup() {
+        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.custom()
+            .limitForPeriod(PERMISSIONS_PER_CYCLE)
+            .limitRefreshPeriod(Duration.ofNanos(CYCLE_IN_NANOS))
+            .burstSize(BURST_SIZE)
+            .timeoutDuration(Duration.ZERO)
+            .build();
+        time = new AtomicLong(Long.MAX_VALUE - CYCLE_IN_NANOS);
+        rateLimiter = new TokenBucketRateLimiter(LIMITER_NAME, rateLimiterConfig, time::get);
+        metrics = rateLimiter.getDetailedMetrics();
+    }
+
+    @Test
+    public void burstIsLimitedByBurstSize() {
+        then(metrics.getAvailablePermissions()).isEqualTo(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            then(rateLimiter.getPermission(Duration.ZERO)).isTrue();
+        }
+        then(rateLimiter.getPermission(Duration.ZERO)).isFalse();
+        then(metrics.getAvailablePermissions()).isEqualTo(0);
+        then(metrics.getNanosToWait()).isEqualTo(EMISSION_INTERVAL_IN_NANOS);
+    }
+
+    @Test
+    public void permissionsAreRefilledContinuously() {
+        then(rateLimiter.acquirePermission(BURST_SIZE, Duration.ZERO)).isTrue();
+
+        time.addAndGet(EMISSION_INTERVAL_IN_NANOS - 1);
+        then(rateLimiter.getPermission(Duration.ZERO)).isFalse();
+
+        time.incrementAndGet();
+        then(rateLimiter.getPermission(Duration.ZERO)).isTrue();
+        then(rateLimiter.getPermission(Duration.ZERO)).isFalse();
+
+        time.addAndGet(EMISSION_INTERVAL_IN_NANOS * 2);
+        then(metrics.getAvailablePermissions()).isEqualTo(2);
+    }
+
+    @Test
+    public void idleRateLimiterDoesNotAccumulateMoreThanBurstSize() {
+        then(rateLimiter.getPermission(Duration.ZERO)).isTrue();
+
+        time.addAndGet(CYCLE_IN_NANOS * 10);
+
+        then(metrics.getAvailablePermissions()).isEqualTo(BURST_SIZE);
+        then(rateLimiter.acquirePermission(BURST_SIZE + 1, Duration.ZERO)).isFalse();
+        then(rateLimiter.acquirePermission(BURST_SIZE, Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    public void reservePermissionWithoutBlocking() {
+        then(rateLimiter.acquirePermission(BURST_SIZE, Duration.ZERO)).isTrue();
+
+        long rejected = rateLimiter.reservePermission(Duration.ofNanos(EMISSION_INTERVAL_IN_NANOS - 1));
+        then(rejected).isEqualTo(-1);
+        then(metrics.getAvailablePermissions()).isEqualTo(0);
+
+        long firstReservation = rateLimiter.reservePermission(Duration.ofNanos(CYCLE_IN_NANOS));
+        long secondReservation = rateLimiter.reservePermission(Duration.ofNanos(CYCLE_IN_NANOS));
+        then(firstReservation).isEqualTo(EMISSION_INTERVAL_IN_NANOS);
+        then(secondReservation).isEqualTo(EMISSION_INTERVAL_IN_NANOS * 2);
+        then(metrics.getAvailablePermissions()).isEqualTo(-2);
+        then(metrics.getNumberOfWaitingThreads()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void acquireZeroPermitsShouldFail() {
+        rateLimiter.acquirePermission(0, Duration.ZERO);
+    }
+
+    @Test
+    public void namePropagation() {
+        then(rateLimiter.getName()).isEqualTo(LIMITER_NAME);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.retry;
+
+import io.github.resilience4j.retry.internal.TimerWheelRetryScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures scheduling and cancelling a retry while many other retries are pending, which is what happens when
+ * a downstream service fails and most calls succeed on their next attempt. The timer wheel inserts and cancels
+ * in O(1), while a ScheduledThreadPoolExecutor keeps its tasks in a binary heap.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class RetrySchedulerBenchmark {
+
+    private static final int ITERATION_COUNT = 10;
+    private static final int WARMUP_COUNT = 10;
+    private static final int THREAD_COUNT = 4;
+    private static final int FORK_COUNT = 2;
+
+    private static final Runnable NO_OP = () -> { };
+
+    @Param({"0", "100000", "500000"})
+    private int pendingRetries;
+
+    private TimerWheelRetryScheduler timerWheel;
+    private ScheduledThreadPoolExecutor executor;
+    private RetryScheduler scheduledExecutor;
+
+    @Setup
+    public void setUp() {
+        timerWheel = new TimerWheelRetryScheduler(10, TimeUnit.MILLISECONDS, 512, ForkJoinPool.commonPool(), "benchmark-retry-scheduler");
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        scheduledExecutor = RetryScheduler.of(executor);
+        for (int i = 0; i < pendingRetries; i++) {
+            timerWheel.schedule(NO_OP, 1, TimeUnit.HOURS);
+            scheduledExecutor.schedule(NO_OP, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        timerWheel.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean timerWheel() {
+        return timerWheel.schedule(NO_OP, 500, TimeUnit.MILLISECONDS).cancel();
+    }
+
+    @Benchmark
+    @Fork(value = FORK_COUNT)
+    @Threads(value = THREAD_COUNT)
+    @Warmup(iterations = WARMUP_COUNT)
+    @Measurement(iterations = ITERATION_COUNT)
+    public boolean scheduledExecutor() {
+        return scheduledExecutor.schedule(NO_OP, 500, TimeUnit.MILLISECONDS).cancel();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(RetrySchedulerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
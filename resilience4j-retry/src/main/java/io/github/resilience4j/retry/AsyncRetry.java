@@ -80,6 +80,18 @@ public interface AsyncRetry {
         return of(id, RetryConfig.ofDefaults());
     }
 
+    /**
+     * Decorates and executes the decorated CompletionStage. Retries are scheduled on the shared
+     * {@link RetryScheduler}.
+     *
+     * @param supplier the original CompletionStage
+     * @param <T> the type of results supplied by this supplier
+     * @return the decorated CompletionStage.
+     */
+    default <T> CompletionStage<T> executeCompletionStage(Supplier<CompletionStage<T>> supplier){
+        return decorateCompletionStage(this, supplier).get();
+    }
+
     /**
      * Decorates and executes the decorated CompletionStage.
 
@@ -105,11 +117,50 @@ public interface AsyncRetry {
         AsyncRetry retry,
         ScheduledExecutorService scheduler,
         Supplier<CompletionStage<T>> supplier
+    ) {
+        return decorateCompletionStage(retry, RetryScheduler.of(scheduler), supplier);
+    }
+
+    /**
+     * Decorates CompletionStageSupplier with Retry. Retries are scheduled on the shared {@link RetryScheduler},
+     * so that no thread is blocked and no executor has to be managed while waiting for the next attempt.
+     *
+     * @param retry the retry context
+     * @param supplier completion stage supplier
+     * @param <T> type of completion stage result
+     * @return decorated supplier
+     */
+    static <T> Supplier<CompletionStage<T>> decorateCompletionStage(
+        AsyncRetry retry,
+        Supplier<CompletionStage<T>> supplier
+    ) {
+        return decorateCompletionStage(retry, RetryScheduler.shared(), supplier);
+    }
+
+    /**
+     * Decorates CompletionStageSupplier with Retry. A pending retry is cancelled when the returned
+     * CompletionStage is cancelled.
+     *
+     * @param retry the retry context
+     * @param scheduler the RetryScheduler used to schedule retries
+     * @param supplier completion stage supplier
+     * @param <T> type of completion stage result
+     * @return decorated supplier
+     */
+    static <T> Supplier<CompletionStage<T>> decorateCompletionStage(
+        AsyncRetry retry,
+        RetryScheduler scheduler,
+        Supplier<CompletionStage<T>> supplier
     ) {
         return () -> {
 
             final CompletableFuture<T> promise = new CompletableFuture<>();
-            final Runnable block = new AsyncRetryBlock<>(scheduler, retry.context(), supplier, promise);
+            final AsyncRetryBlock<T> block = new AsyncRetryBlock<>(scheduler, retry.context(), supplier, promise);
+            promise.whenComplete((result, t) -> {
+                if (promise.isCancelled()) {
+                    block.cancel();
+                }
+            });
             block.run();
 
             return promise;
@@ -185,13 +236,14 @@ public interface AsyncRetry {
 }
 
 class AsyncRetryBlock<T> implements Runnable {
-    private final ScheduledExecutorService scheduler;
+    private final RetryScheduler scheduler;
     private final AsyncRetry.Context retryContext;
     private final Supplier<CompletionStage<T>> supplier;
     private final CompletableFuture<T> promise;
+    private volatile RetryScheduler.Timeout pendingRetry;
 
     AsyncRetryBlock(
-            ScheduledExecutorService scheduler,
+            RetryScheduler scheduler,
             AsyncRetry.Context retryContext,
             Supplier<CompletionStage<T>> supplier,
             CompletableFuture<T> promise
@@ -204,6 +256,9 @@ class AsyncRetryBlock<T> implements Runnable {
 
     @Override
     public void run() {
+        if (promise.isDone()) {
+            return;
+        }
         final CompletionStage<T> stage;
 
         try {
@@ -217,19 +272,30 @@ class AsyncRetryBlock<T> implements Runnable {
             if (t != null) {
                 onError(t);
             } else {
-                promise.complete(result);
+                // The success is recorded first, so that a caller which observes the result also observes the success
                 retryContext.onSuccess();
+                promise.complete(result);
             }
         });
     }
 
+    void cancel() {
+        RetryScheduler.Timeout timeout = pendingRetry;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
     private void onError(Throwable t) {
         final long delay = retryContext.onError(t);
 
         if (delay < 1) {
             promise.completeExceptionally(t);
         } else {
-            scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            pendingRetry = scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            if (promise.isDone()) {
+                cancel();
+            }
         }
     }
 }
@@ -340,6 +340,19 @@ public interface Retry {
          */
         void onError(Exception exception) throws Throwable;
 
+        /**
+         * Handles a checked exception like {@link #onError(Exception)}, but returns the interval to wait
+         * before the next attempt instead of blocking the current thread, so that the caller can schedule it.
+         *
+         * @param exception the exception to handle
+         * @return the interval in milliseconds until the next attempt
+         * @throws Throwable the exception, if it should not be retried
+         */
+        default long onErrorWithoutWaiting(Exception exception) throws Throwable {
+            onError(exception);
+            return 0;
+        }
+
         /**
          * Handles a runtime exception
          *
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.retry;
+
+import io.github.resilience4j.retry.internal.TimerWheelRetryScheduler;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the next attempt of a call which is retried asynchronously.
+ */
+@FunctionalInterface
+public interface RetryScheduler {
+
+    /**
+     * Schedules a task which is executed once after the given delay.
+     *
+     * @param task  the task to execute
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return a Timeout which can be used to cancel the task
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Returns the RetryScheduler which is shared by default by all asynchronous retries. It is backed by a
+     * hashed timer wheel with a single daemon thread, which inserts and cancels tasks in O(1) and can hold
+     * hundreds of thousands of pending retries. Expired tasks are executed on the common ForkJoinPool.
+     * The shared RetryScheduler cannot be closed.
+     *
+     * @return the shared RetryScheduler
+     */
+    static RetryScheduler shared() {
+        return TimerWheelRetryScheduler.getInstance();
+    }
+
+    /**
+     * Creates a RetryScheduler which schedules the tasks on a ScheduledExecutorService.
+     *
+     * @param scheduler the ScheduledExecutorService
+     * @return a RetryScheduler
+     */
+    static RetryScheduler of(ScheduledExecutorService scheduler) {
+        return (task, delay, unit) -> {
+            ScheduledFuture<?> future = scheduler.schedule(task, delay, unit);
+            return () -> future.cancel(false);
+        };
+    }
+
+    /**
+     * A handle of a scheduled task.
+     */
+    @FunctionalInterface
+    interface Timeout {
+
+        /**
+         * Cancels the task, unless it has already been executed.
+         *
+         * @return true if the task was cancelled
+         */
+        boolean cancel();
+    }
+}
@@ -18,19 +18,21 @@
  */
 package io.github.resilience4j.retry.event;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 abstract class AbstractRetryEvent implements RetryEvent {
 
     private final String name;
-    private final ZonedDateTime creationTime;
+    private final long creationTimeInMillis;
     private final int numberOfAttempts;
     private final Throwable lastThrowable;
 
     AbstractRetryEvent(String name, int numberOfAttempts, Throwable lastThrowable) {
         this.name = name;
         this.numberOfAttempts = numberOfAttempts;
-        this.creationTime = ZonedDateTime.now();
+        this.creationTimeInMillis = System.currentTimeMillis();
         this.lastThrowable = lastThrowable;
     }
 
@@ -41,7 +43,7 @@ abstract class AbstractRetryEvent implements RetryEvent {
 
     @Override
     public ZonedDateTime getCreationTime() {
-        return creationTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(creationTimeInMillis), ZoneId.systemDefault());
     }
 
     @Override
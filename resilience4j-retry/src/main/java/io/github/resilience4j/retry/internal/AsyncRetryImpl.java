@@ -14,7 +14,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 
 public class AsyncRetryImpl implements AsyncRetry {
 
@@ -54,7 +53,9 @@ public class AsyncRetryImpl implements AsyncRetry {
         public void onSuccess() {
             int currentNumOfAttempts = numOfAttempts.get();
             if(currentNumOfAttempts > 0) {
-                publishRetryEvent(() -> new RetryOnSuccessEvent(name, currentNumOfAttempts, lastException.get()));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnSuccessEvent(name, currentNumOfAttempts, lastException.get()));
+                }
             }
         }
 
@@ -62,7 +63,9 @@ public class AsyncRetryImpl implements AsyncRetry {
         public long onError(Throwable throwable) {
             if (!exceptionPredicate.test(throwable)) {
                 failedWithoutRetryCounter.increment();
-                publishRetryEvent(() -> new RetryOnIgnoredErrorEvent(getName(), throwable));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnIgnoredErrorEvent(getName(), throwable));
+                }
                 return -1;
             }
             lastException.set(throwable);
@@ -70,7 +73,9 @@ public class AsyncRetryImpl implements AsyncRetry {
 
             if (attempt >= maxAttempts) {
                 failedAfterRetryCounter.increment();
-                publishRetryEvent(() -> new RetryOnErrorEvent(name, attempt, throwable));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnErrorEvent(name, attempt, throwable));
+                }
                 return -1;
             }
 
@@ -94,10 +99,8 @@ public class AsyncRetryImpl implements AsyncRetry {
     }
 
 
-    private void publishRetryEvent(Supplier<RetryEvent> event) {
-        if(eventProcessor.hasConsumers()) {
-            eventProcessor.consumeEvent(event.get());
-        }
+    private void publishRetryEvent(RetryEvent event) {
+        eventProcessor.consumeEvent(event);
     }
 
     @Override
@@ -35,7 +35,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 
 public class RetryImpl implements Retry {
 
@@ -82,19 +81,30 @@ public class RetryImpl implements Retry {
             if(currentNumOfAttempts > 0){
                 succeededAfterRetryCounter.increment();
                 Throwable throwable = Option.of(lastException.get()).getOrElse(lastRuntimeException.get());
-                publishRetryEvent(() -> new RetryOnSuccessEvent(getName(), currentNumOfAttempts, throwable));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnSuccessEvent(getName(), currentNumOfAttempts, throwable));
+                }
             }else{
                 succeededWithoutRetryCounter.increment();
             }
         }
 
         public void onError(Exception exception) throws Throwable{
+            long interval = onErrorWithoutWaiting(exception);
+            Try.run(() -> sleepFunction.accept(interval))
+                    .getOrElseThrow(ex -> lastRuntimeException.get());
+        }
+
+        @Override
+        public long onErrorWithoutWaiting(Exception exception) throws Throwable{
             if(exceptionPredicate.test(exception)){
                 lastException.set(exception);
-                throwOrSleepAfterException();
+                return throwOrGetIntervalAfterException();
             }else{
                 failedWithoutRetryCounter.increment();
-                publishRetryEvent(() -> new RetryOnIgnoredErrorEvent(getName(), exception));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnIgnoredErrorEvent(getName(), exception));
+                }
                 throw exception;
             }
         }
@@ -105,20 +115,24 @@ public class RetryImpl implements Retry {
                 throwOrSleepAfterRuntimeException();
             }else{
                 failedWithoutRetryCounter.increment();
-                publishRetryEvent(() -> new RetryOnIgnoredErrorEvent(getName(), runtimeException));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnIgnoredErrorEvent(getName(), runtimeException));
+                }
                 throw runtimeException;
             }
         }
 
-        private void throwOrSleepAfterException() throws Exception {
+        private long throwOrGetIntervalAfterException() throws Exception {
             int currentNumOfAttempts = numOfAttempts.incrementAndGet();
             if(currentNumOfAttempts >= maxAttempts){
                 failedAfterRetryCounter.increment();
                 Exception throwable = lastException.get();
-                publishRetryEvent(() -> new RetryOnErrorEvent(getName(), currentNumOfAttempts, throwable));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnErrorEvent(getName(), currentNumOfAttempts, throwable));
+                }
                 throw throwable;
             }else{
-                waitIntervalAfterFailure();
+                return intervalFunction.apply(currentNumOfAttempts);
             }
         }
 
@@ -127,7 +141,9 @@ public class RetryImpl implements Retry {
             if(currentNumOfAttempts >= maxAttempts){
                 failedAfterRetryCounter.increment();
                 RuntimeException throwable = lastRuntimeException.get();
-                publishRetryEvent(() -> new RetryOnErrorEvent(getName(), currentNumOfAttempts, throwable));
+                if(eventProcessor.hasConsumers()) {
+                    publishRetryEvent(new RetryOnErrorEvent(getName(), currentNumOfAttempts, throwable));
+                }
                 throw throwable;
             }else{
                 waitIntervalAfterFailure();
@@ -162,10 +178,8 @@ public class RetryImpl implements Retry {
     }
 
 
-    private void publishRetryEvent(Supplier<RetryEvent> event) {
-        if(eventProcessor.hasConsumers()) {
-            eventProcessor.consumeEvent(event.get());
-        }
+    private void publishRetryEvent(RetryEvent event) {
+        eventProcessor.consumeEvent(event);
     }
 
     @Override
@@ -0,0 +1,390 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.retry.internal;
+
+import io.github.resilience4j.retry.RetryScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link RetryScheduler} based on a hashed timer wheel.
+ *
+ * The wheel is an array of buckets, each covering one tick. A new task is appended to a lock-free queue
+ * and moved into the bucket of its deadline by the worker thread on the next tick, so that scheduling and
+ * cancelling a task is O(1) regardless of the number of pending tasks. A task whose deadline is more than one
+ * revolution ahead stays in its bucket for the remaining rounds. The worker thread only moves tasks and
+ * hands expired tasks to an {@link Executor}, so that a slow task never delays other retries.
+ *
+ * A task is executed at most one tick after its deadline. When the scheduler is closed, the pending tasks
+ * are executed immediately instead of being dropped, so that no retry waits forever for its next attempt.
+ * The shared scheduler of {@link #getInstance()} cannot be closed.
+ */
+public class TimerWheelRetryScheduler implements RetryScheduler, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimerWheelRetryScheduler.class);
+
+    private static final long DEFAULT_TICK_DURATION_IN_MILLIS = 10L;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+    private static final int WORKER_SHUTDOWN = 2;
+
+    private final long tickDurationInNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Thread workerThread;
+    private final boolean closable;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong numberOfPendingTasks = new AtomicLong();
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_INIT);
+    private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Creates a RetryScheduler with its own worker thread.
+     *
+     * @param tickDuration the duration of a tick, which is the precision of the scheduler
+     * @param unit         the time unit of the tick duration
+     * @param wheelSize    the number of buckets of the wheel, rounded up to a power of two
+     * @param executor     the executor which executes the expired tasks
+     * @param threadName   the name of the worker thread
+     */
+    public TimerWheelRetryScheduler(long tickDuration, TimeUnit unit, int wheelSize, Executor executor, String threadName) {
+        this(tickDuration, unit, wheelSize, executor, threadName, true);
+    }
+
+    private TimerWheelRetryScheduler(long tickDuration, TimeUnit unit, int wheelSize, Executor executor, String threadName,
+                                     boolean closable) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30");
+        }
+        this.tickDurationInNanos = unit.toNanos(tickDuration);
+        this.wheel = createWheel(wheelSize);
+        this.mask = wheel.length - 1;
+        this.executor = requireNonNull(executor, "executor");
+        this.workerThread = new Thread(this::runWorker, threadName);
+        this.workerThread.setDaemon(true);
+        this.closable = closable;
+    }
+
+    /**
+     * Returns the scheduler which is shared by all asynchronous retries by default.
+     * Its {@link #close()} throws an {@link UnsupportedOperationException}.
+     *
+     * @return the shared scheduler
+     */
+    public static TimerWheelRetryScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        requireNonNull(task, "task");
+        requireNonNull(unit, "unit");
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        numberOfPendingTasks.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        if (workerState.get() == WORKER_SHUTDOWN) {
+            // closed concurrently, the worker thread may have expired the pending timeouts already
+            timeout.expire();
+        }
+        return timeout;
+    }
+
+    /**
+     * Returns the number of tasks which are neither executed nor cancelled yet.
+     *
+     * @return the number of pending tasks
+     */
+    public long getNumberOfPendingTasks() {
+        return numberOfPendingTasks.get();
+    }
+
+    /**
+     * Stops the worker thread and executes the pending tasks immediately. New tasks are rejected afterwards.
+     *
+     * @throws UnsupportedOperationException if this is the shared scheduler
+     */
+    @Override
+    public void close() {
+        if (!closable) {
+            throw new UnsupportedOperationException("The shared RetryScheduler cannot be closed");
+        }
+        if (workerState.getAndSet(WORKER_SHUTDOWN) == WORKER_STARTED) {
+            LockSupport.unpark(workerThread);
+            try {
+                workerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void start() {
+        switch (workerState.get()) {
+            case WORKER_INIT:
+                if (workerState.compareAndSet(WORKER_INIT, WORKER_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case WORKER_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("RetryScheduler has been closed");
+        }
+        while (startTime == 0) {
+            try {
+                startTimeInitialized.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while starting the RetryScheduler", e);
+            }
+        }
+    }
+
+    private void runWorker() {
+        long now = System.nanoTime();
+        // 0 marks a scheduler which has not been started yet
+        startTime = now == 0 ? 1 : now;
+        startTimeInitialized.countDown();
+        while (workerState.get() == WORKER_STARTED) {
+            long deadline = waitForNextTick();
+            if (deadline > 0) {
+                processCancelledTimeouts();
+                transferTimeoutsToBuckets();
+                wheel[(int) (tick & mask)].expireTimeouts(deadline);
+                tick++;
+            }
+        }
+        expireAllTimeouts();
+    }
+
+    private void expireAllTimeouts() {
+        for (Bucket bucket : wheel) {
+            bucket.expireAllTimeouts();
+        }
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            timeout.expire();
+        }
+        cancelledTimeouts.clear();
+    }
+
+    /**
+     * Parks the worker thread until the next tick.
+     *
+     * @return the time since the start of the worker thread, or -1 if the scheduler was closed
+     */
+    private long waitForNextTick() {
+        long deadline = tickDurationInNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTime = deadline - currentTime;
+            if (sleepTime <= 0) {
+                return currentTime;
+            }
+            LockSupport.parkNanos(this, sleepTime);
+            if (workerState.get() != WORKER_STARTED) {
+                return -1;
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickDurationInNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private static Bucket[] createWheel(int wheelSize) {
+        int normalizedWheelSize = Integer.highestOneBit(wheelSize - 1) << 1;
+        Bucket[] wheel = new Bucket[Math.max(1, normalizedWheelSize)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        return wheel;
+    }
+
+    private final class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        // not private, so that the field updater of the enclosing class can access it
+        volatile int state = ST_INIT;
+
+        // accessed by the worker thread only
+        private long remainingRounds;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            numberOfPendingTasks.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            numberOfPendingTasks.decrementAndGet();
+            try {
+                executor.execute(task);
+            } catch (Throwable t) {
+                LOG.warn("Failed to execute a scheduled retry", t);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+    /**
+     * A doubly linked list of the timeouts of one tick, which is only accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    }
+                } else if (timeout.state == WheelTimeout.ST_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void expireAllTimeouts() {
+            WheelTimeout timeout;
+            while ((timeout = head) != null) {
+                remove(timeout);
+                timeout.expire();
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class Holder {
+
+        private static final TimerWheelRetryScheduler INSTANCE = new TimerWheelRetryScheduler(
+            DEFAULT_TICK_DURATION_IN_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE,
+            ForkJoinPool.commonPool(), "resilience4j-retry-scheduler", false);
+    }
+}
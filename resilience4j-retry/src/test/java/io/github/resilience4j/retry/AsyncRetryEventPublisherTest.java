@@ -61,6 +61,32 @@ public class AsyncRetryEventPublisherTest {
         assertThat(eventPublisher).isEqualTo(eventPublisher2);
     }
 
+    @Test
+    public void shouldPublishOnSuccessEventBeforeCompletingTheResult() {
+        CompletableFuture<String> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new WebServiceException("BAM!"));
+
+        // Given the HelloWorldService returns Hello world after one failure
+        given(helloWorldService.returnHelloWorld())
+                .willReturn(failedFuture)
+                .willReturn(completedFuture("Hello world"));
+
+        retry.getEventPublisher()
+            .onSuccess(event ->
+                    logger.info(event.getEventType().toString()));
+
+        // When a dependent stage runs as soon as the result is completed
+        String result = awaitResult(retry.executeCompletionStage(scheduler,
+                () -> helloWorldService.returnHelloWorld())
+            .thenApply(value -> {
+                // Then the success event has already been published
+                then(logger).should(times(1)).info("SUCCESS");
+                return value;
+            }));
+
+        assertThat(result).isEqualTo("Hello world");
+    }
+
     @Test
     public void shouldConsumeOnSuccessEvent() {
         CompletableFuture<String> failedFuture = new CompletableFuture<>();
@@ -2,6 +2,7 @@ package io.github.resilience4j.retry.internal;
 
 import io.github.resilience4j.retry.AsyncRetry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryScheduler;
 import io.github.resilience4j.test.AsyncHelloWorldService;
 import io.vavr.control.Try;
 import org.assertj.core.api.Assertions;
@@ -12,6 +13,7 @@ import org.mockito.Mockito;
 
 import javax.xml.ws.WebServiceException;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static io.github.resilience4j.retry.utils.AsyncUtils.awaitResult;
@@ -183,4 +185,48 @@ public class AsyncRetryTest {
         Assertions.assertThat(resultTry.getCause().getCause()).isInstanceOf(WebServiceException.class);
     }
 
+    @Test
+    public void shouldRetryOnSharedRetrySchedulerByDefault() {
+        // Given the HelloWorldService throws an exception
+        BDDMockito.given(helloWorldService.returnHelloWorld())
+                .willThrow(new WebServiceException("BAM!"))
+                .willReturn(completedFuture("Hello world"));
+
+        // Create a Retry with default configuration
+        AsyncRetry retryContext = AsyncRetry.ofDefaults("id");
+
+        // When
+        String result = awaitResult(retryContext.executeCompletionStage(() -> helloWorldService.returnHelloWorld()));
+
+        // Then the helloWorldService should be invoked 2 times
+        BDDMockito.then(helloWorldService).should(Mockito.times(2)).returnHelloWorld();
+        Assertions.assertThat(result).isEqualTo("Hello world");
+    }
+
+    @Test
+    public void shouldCancelPendingRetryWhenFutureIsCancelled() {
+        // Given the HelloWorldService throws an exception
+        BDDMockito.given(helloWorldService.returnHelloWorld())
+                .willThrow(new WebServiceException("BAM!"));
+        AtomicBoolean retryCancelled = new AtomicBoolean();
+        RetryScheduler retryScheduler = (task, delay, unit) -> () -> {
+            retryCancelled.set(true);
+            return true;
+        };
+
+        // Create a Retry with default configuration
+        AsyncRetry retryContext = AsyncRetry.ofDefaults("id");
+        // Decorate the invocation of the HelloWorldService
+        Supplier<CompletionStage<String>> supplier = AsyncRetry.decorateCompletionStage(
+                retryContext,
+                retryScheduler,
+                () -> helloWorldService.returnHelloWorld());
+
+        // When
+        supplier.get().toCompletableFuture().cancel(false);
+
+        // Then the pending retry should be cancelled
+        BDDMockito.then(helloWorldService).should(Mockito.times(1)).returnHelloWorld();
+        Assertions.assertThat(retryCancelled.get()).isTrue();
+    }
 }
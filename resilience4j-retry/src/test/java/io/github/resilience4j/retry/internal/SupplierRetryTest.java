@@ -32,10 +32,15 @@ import org.mockito.BDDMockito;
 import org.mockito.Mockito;
 
 import javax.xml.ws.WebServiceException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
+import static com.jayway.awaitility.Awaitility.await;
 import static io.vavr.API.$;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SupplierRetryTest {
@@ -298,4 +303,20 @@ public class SupplierRetryTest {
                 RetryConfig.DEFAULT_WAIT_DURATION +
                     RetryConfig.DEFAULT_WAIT_DURATION*2);
     }
+
+    @Test
+    public void shouldWaitBetweenAttemptsWithoutHoldingMonitor() throws InterruptedException {
+        RetryImpl.sleepFunction = Thread::sleep;
+        BDDMockito.given(helloWorldService.returnHelloWorld()).willThrow(new WebServiceException("BAM!")).willReturn("Hello world");
+        RetryConfig config = RetryConfig.custom().waitDuration(Duration.ofSeconds(1)).build();
+        Supplier<String> supplier = Retry.decorateSupplier(Retry.of("id", config), helloWorldService::returnHelloWorld);
+        Thread waitingThread = new Thread(supplier::get);
+
+        waitingThread.start();
+        await().atMost(5, SECONDS).until(() -> waitingThread.getState() == Thread.State.TIMED_WAITING);
+
+        ThreadInfo threadInfo = ManagementFactory.getThreadMXBean().getThreadInfo(new long[]{waitingThread.getId()}, true, true)[0];
+        assertThat(threadInfo.getLockedMonitors()).isEmpty();
+        waitingThread.join(5000);
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.retry.internal;
+
+import io.github.resilience4j.retry.AsyncRetry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimerWheelRetrySchedulerTest {
+
+    private TimerWheelRetryScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new TimerWheelRetryScheduler(1, TimeUnit.MILLISECONDS, 64, Runnable::run, "test-retry-scheduler");
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void shouldExecuteTaskAfterDelay() throws InterruptedException {
+        CountDownLatch executed = new CountDownLatch(1);
+        AtomicLong executedAfterNanos = new AtomicLong();
+        long start = System.nanoTime();
+
+        scheduler.schedule(() -> {
+            executedAfterNanos.set(System.nanoTime() - start);
+            executed.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executedAfterNanos.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(scheduler.getNumberOfPendingTasks()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldExecuteTaskWithDelayOfMoreThanOneRevolution() throws InterruptedException {
+        CountDownLatch executed = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        scheduler.schedule(executed::countDown, 150, TimeUnit.MILLISECONDS);
+
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    public void shouldNotExecuteCancelledTask() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch executed = new CountDownLatch(1);
+
+        RetryScheduler.Timeout timeout = scheduler.schedule(executions::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        scheduler.schedule(executed::countDown, 60, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executions.get()).isEqualTo(0);
+        assertThat(scheduler.getNumberOfPendingTasks()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotCancelExecutedTask() throws InterruptedException {
+        CountDownLatch executed = new CountDownLatch(1);
+
+        RetryScheduler.Timeout timeout = scheduler.schedule(executed::countDown, 1, TimeUnit.MILLISECONDS);
+
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    public void shouldExecuteManyPendingTasks() {
+        int numberOfTasks = 200_000;
+        AtomicInteger executions = new AtomicInteger();
+
+        for (int i = 0; i < numberOfTasks; i++) {
+            RetryScheduler.Timeout timeout = scheduler.schedule(executions::incrementAndGet, 10 + i % 200, TimeUnit.MILLISECONDS);
+            if (i % 2 == 1) {
+                timeout.cancel();
+            }
+        }
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> scheduler.getNumberOfPendingTasks() == 0);
+        assertThat(executions.get()).isEqualTo(numberOfTasks / 2);
+    }
+
+    @Test
+    public void shouldRejectTasksAfterClose() {
+        scheduler.close();
+
+        assertThatThrownBy(() -> scheduler.schedule(() -> { }, 1, TimeUnit.MILLISECONDS))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldExecutePendingTasksOnClose() throws InterruptedException {
+        CountDownLatch executed = new CountDownLatch(2);
+        AtomicInteger cancelledExecutions = new AtomicInteger();
+        scheduler.schedule(executed::countDown, 1, TimeUnit.HOURS);
+        scheduler.schedule(cancelledExecutions::incrementAndGet, 1, TimeUnit.HOURS).cancel();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> scheduler.getNumberOfPendingTasks() == 1);
+        scheduler.schedule(executed::countDown, 2, TimeUnit.HOURS);
+
+        scheduler.close();
+
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledExecutions.get()).isEqualTo(0);
+        assertThat(scheduler.getNumberOfPendingTasks()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldCompletePendingRetriesOnClose() throws Exception {
+        AsyncRetry retry = AsyncRetry.of("id", RetryConfig.custom()
+            .waitDuration(Duration.ofHours(1))
+            .build());
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<CompletionStage<String>> supplier = AsyncRetry.decorateCompletionStage(retry, scheduler, () -> {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            if (attempts.incrementAndGet() == 1) {
+                result.completeExceptionally(new IllegalStateException("BAM!"));
+            } else {
+                result.complete("Hello world");
+            }
+            return result;
+        });
+        CompletableFuture<String> pendingRetry = supplier.get().toCompletableFuture();
+        assertThat(pendingRetry.isDone()).isFalse();
+
+        scheduler.close();
+
+        assertThat(pendingRetry.get(5, TimeUnit.SECONDS)).isEqualTo("Hello world");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCloseSharedScheduler() throws InterruptedException {
+        TimerWheelRetryScheduler shared = TimerWheelRetryScheduler.getInstance();
+
+        assertThatThrownBy(shared::close).isInstanceOf(UnsupportedOperationException.class);
+
+        CountDownLatch executed = new CountDownLatch(1);
+        RetryScheduler.shared().schedule(executed::countDown, 1, TimeUnit.MILLISECONDS);
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectIllegalTickDuration() {
+        assertThatThrownBy(() -> new TimerWheelRetryScheduler(0, TimeUnit.MILLISECONDS, 64, Runnable::run, "test"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
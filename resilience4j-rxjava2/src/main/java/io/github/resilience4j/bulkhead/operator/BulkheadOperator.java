@@ -72,6 +72,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         private final Subscriber<? super T> childSubscriber;
         private Subscription subscription;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private long start;
 
         BulkheadSubscriber(Subscriber<? super T> childSubscriber) {
             this.childSubscriber = childSubscriber;
@@ -83,6 +84,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
             this.subscription = subscription;
 
             if (bulkhead.isCallPermitted()) {
+                start = System.nanoTime();
                 childSubscriber.onSubscribe(this);
             }
             else {
@@ -104,7 +106,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         @Override
         public void onError(Throwable e) {
             if (!isCancelled()) {
-                bulkhead.onComplete();
+                bulkhead.onError(System.nanoTime() - start, e);
                 childSubscriber.onError(e);
             }
         }
@@ -112,7 +114,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         @Override
         public void onComplete() {
             if (!isCancelled()) {
-                bulkhead.onComplete();
+                bulkhead.onSuccess(System.nanoTime() - start);
                 childSubscriber.onComplete();
             }
         }
@@ -141,6 +143,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         private final Observer<? super T> childObserver;
         private Disposable disposable;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private long start;
 
         BulkheadObserver(Observer<? super T> childObserver) {
             this.childObserver = childObserver;
@@ -152,6 +155,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
             this.disposable = disposable;
 
             if (bulkhead.isCallPermitted()) {
+                start = System.nanoTime();
                 childObserver.onSubscribe(this);
             }
             else {
@@ -173,7 +177,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         @Override
         public void onError(Throwable e) {
             if (!isDisposed()) {
-                bulkhead.onComplete();
+                bulkhead.onError(System.nanoTime() - start, e);
                 childObserver.onError(e);
             }
         }
@@ -181,7 +185,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         @Override
         public void onComplete() {
             if (!isDisposed()) {
-                bulkhead.onComplete();
+                bulkhead.onSuccess(System.nanoTime() - start);
                 childObserver.onComplete();
             }
         }
@@ -206,6 +210,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         private final SingleObserver<? super T> childObserver;
         private Disposable disposable;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private long start;
         private volatile boolean rejected = false;
 
         BulkheadSingleObserver(SingleObserver<? super T> childObserver) {
@@ -218,6 +223,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
             this.disposable = disposable;
 
             if (bulkhead.isCallPermitted()) {
+                start = System.nanoTime();
                 childObserver.onSubscribe(this);
             }
             else {
@@ -233,7 +239,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         @Override
         public void onError(Throwable e) {
             if (!isDisposed()) {
-                bulkhead.onComplete();
+                bulkhead.onError(System.nanoTime() - start, e);
                 childObserver.onError(e);
             }
         }
@@ -242,7 +248,7 @@ public class BulkheadOperator<T> implements ObservableOperator<T, T>, FlowableOp
         public void onSuccess(T value) {
             if (!isDisposed()) {
                 if (!rejected) {
-                    bulkhead.onComplete();
+                    bulkhead.onSuccess(System.nanoTime() - start);
                 }
                 childObserver.onSuccess(value);
             }
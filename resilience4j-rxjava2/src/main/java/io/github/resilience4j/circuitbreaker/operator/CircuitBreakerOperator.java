@@ -91,6 +91,7 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         private final Subscriber<? super T> childSubscriber;
         private Subscription subscription;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicBoolean permissionReleased = new AtomicBoolean(false);
         private StopWatch stopWatch;
 
         CircuitBreakerSubscriber(Subscriber<? super T> childSubscriber) {
@@ -133,7 +134,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onError(Throwable e) {
             LOG.debug("onError", e);
             if (!isCancelled()) {
-                circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                }
                 childSubscriber.onError(e);
 
             }
@@ -146,7 +149,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onComplete() {
             LOG.debug("onComplete");
             if (!isCancelled()) {
-                circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                }
                 childSubscriber.onComplete();
             }
         }
@@ -166,10 +171,20 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void cancel() {
             if (!cancelled.get()) {
                 cancelled.set(true);
+                releasePermission();
                 subscription.cancel();
             }
         }
 
+        /**
+         * Releases the permission of a permitted call which is cancelled before it recorded a result.
+         */
+        private void releasePermission() {
+            if (stopWatch != null && permissionReleased.compareAndSet(false, true)) {
+                circuitBreaker.releasePermission();
+            }
+        }
+
         public boolean isCancelled() {
             return cancelled.get();
         }
@@ -180,6 +195,7 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         private final Observer<? super T> childObserver;
         private Disposable disposable;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicBoolean permissionReleased = new AtomicBoolean(false);
         private StopWatch stopWatch;
 
         CircuitBreakerObserver(Observer<? super T> childObserver) {
@@ -222,7 +238,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onError(Throwable e) {
             LOG.debug("onError", e);
             if (!isDisposed()) {
-                circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                }
                 childObserver.onError(e);
             }
         }
@@ -234,7 +252,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onComplete() {
             LOG.debug("onComplete");
             if (!isDisposed()) {
-                circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                }
                 childObserver.onComplete();
             }
         }
@@ -246,10 +266,20 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void dispose() {
             if (!cancelled.get()) {
                 cancelled.set(true);
+                releasePermission();
                 disposable.dispose();
             }
         }
 
+        /**
+         * Releases the permission of a permitted call which is disposed before it recorded a result.
+         */
+        private void releasePermission() {
+            if (stopWatch != null && permissionReleased.compareAndSet(false, true)) {
+                circuitBreaker.releasePermission();
+            }
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -264,6 +294,7 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         private final SingleObserver<? super T> childObserver;
         private Disposable disposable;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicBoolean permissionReleased = new AtomicBoolean(false);
         private StopWatch stopWatch;
 
 
@@ -296,7 +327,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onError(Throwable e) {
             LOG.debug("onError", e);
             if (!isDisposed()) {
-                circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onError(stopWatch.stop().getProcessingDuration().toNanos(), e);
+                }
                 childObserver.onError(e);
             }
         }
@@ -308,7 +341,9 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void onSuccess(T value) {
             LOG.debug("onComplete");
             if (!isDisposed()) {
-                circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                if (permissionReleased.compareAndSet(false, true)) {
+                    circuitBreaker.onSuccess(stopWatch.stop().getProcessingDuration().toNanos());
+                }
                 childObserver.onSuccess(value);
             }
         }
@@ -320,10 +355,20 @@ public class CircuitBreakerOperator<T> implements ObservableOperator<T, T>, Flow
         public void dispose() {
             if (!cancelled.get()) {
                 cancelled.set(true);
+                releasePermission();
                 disposable.dispose();
             }
         }
 
+        /**
+         * Releases the permission of a permitted call which is disposed before it recorded a result.
+         */
+        private void releasePermission() {
+            if (stopWatch != null && permissionReleased.compareAndSet(false, true)) {
+                circuitBreaker.releasePermission();
+            }
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -28,18 +28,26 @@ import io.reactivex.ObservableOperator;
 import io.reactivex.Observer;
 import io.reactivex.SingleObserver;
 import io.reactivex.SingleOperator;
+import io.reactivex.Scheduler;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.SerialDisposable;
+import io.reactivex.schedulers.Schedulers;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RateLimiterOperator<T> implements ObservableOperator<T, T>, FlowableOperator<T, T>, SingleOperator<T, T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(RateLimiterOperator.class);
 
     private final RateLimiter rateLimiter;
+    private final Scheduler scheduler;
 
-    private RateLimiterOperator(RateLimiter rateLimiter) {
+    private RateLimiterOperator(RateLimiter rateLimiter, Scheduler scheduler) {
         this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -50,7 +58,22 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
      * @return a RateLimiterOperator
      */
     public static <T> RateLimiterOperator<T> of(RateLimiter rateLimiter) {
-        return new RateLimiterOperator<>(rateLimiter);
+        return of(rateLimiter, Schedulers.computation());
+    }
+
+    /**
+     * Creates a RateLimiterOperator which waits for permissions of a {@link io.reactivex.Flowable} on the given
+     * {@link Scheduler} instead of blocking the emitting thread.
+     * Observables and Singles have no backpressure to hold back upstream emissions, so they still
+     * wait for a permission on the emitting thread.
+     *
+     * @param rateLimiter the RateLimiter
+     * @param scheduler   the Scheduler used to resume a Flowable once a reserved permission becomes available
+     * @param <T>         the value type of the upstream and downstream
+     * @return a RateLimiterOperator
+     */
+    public static <T> RateLimiterOperator<T> of(RateLimiter rateLimiter, Scheduler scheduler) {
+        return new RateLimiterOperator<>(rateLimiter, scheduler);
     }
 
     /**
@@ -77,11 +100,22 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         return new RateLimiterSingleObserver(childObserver);
     }
 
+    /**
+     * Reserves one permission per upstream item before requesting it, so that waiting for a permission never blocks
+     * the emitting thread. When the RateLimiter asks the caller to wait, the next upstream request is scheduled on
+     * the operator's {@link Scheduler} instead. At most one scheduled task is pending at a time, which is disposed
+     * when the subscription is cancelled.
+     */
     private final class RateLimiterSubscriber implements Subscriber<T>, Subscription {
 
         private final Subscriber<? super T> childSubscriber;
         private Subscription subscription;
         private AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final SerialDisposable scheduled = new SerialDisposable();
+        private volatile boolean waiting = true;
+        private volatile boolean inFlight;
 
         RateLimiterSubscriber(Subscriber<? super T> childSubscriber) {
             this.childSubscriber = childSubscriber;
@@ -94,13 +128,16 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         public void onSubscribe(Subscription subscription) {
             this.subscription = subscription;
             LOG.debug("onSubscribe");
-            if (rateLimiter.getPermission(rateLimiter.getRateLimiterConfig().getTimeoutDuration())) {
-                childSubscriber.onSubscribe(this);
-            } else {
+            long nanosToWait = rateLimiter.reservePermission(rateLimiter.getRateLimiterConfig().getTimeoutDuration());
+            if (nanosToWait < 0) {
+                cancelled.set(true);
                 subscription.cancel();
                 childSubscriber.onSubscribe(this);
                 childSubscriber.onError(new RequestNotPermitted("Request not permitted for limiter: " + rateLimiter.getName()));
+                return;
             }
+            childSubscriber.onSubscribe(this);
+            resumeAfter(nanosToWait);
         }
 
         /**
@@ -110,12 +147,9 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         public void onNext(T event) {
             LOG.debug("onNext: {}", event);
             if (!isCancelled()) {
-                if (rateLimiter.getPermission(rateLimiter.getRateLimiterConfig().getTimeoutDuration())) {
-                    childSubscriber.onNext(event);
-                } else {
-                    subscription.cancel();
-                    childSubscriber.onError(new RequestNotPermitted("Request not permitted for limiter: " + rateLimiter.getName()));
-                }
+                childSubscriber.onNext(event);
+                inFlight = false;
+                drain();
             }
         }
 
@@ -125,9 +159,8 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         @Override
         public void onError(Throwable e) {
             LOG.debug("onError", e);
-            if (!isCancelled()) {
+            if (cancelled.compareAndSet(false, true)) {
                 childSubscriber.onError(e);
-
             }
         }
 
@@ -137,7 +170,7 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         @Override
         public void onComplete() {
             LOG.debug("onComplete");
-            if (!isCancelled()) {
+            if (cancelled.compareAndSet(false, true)) {
                 childSubscriber.onComplete();
             }
         }
@@ -147,7 +180,10 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
          */
         @Override
         public void request(long n) {
-            subscription.request(n);
+            if (n > 0) {
+                addRequested(n);
+                drain();
+            }
         }
 
         /**
@@ -155,8 +191,8 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
          */
         @Override
         public void cancel() {
-            if (!cancelled.get()) {
-                cancelled.set(true);
+            if (cancelled.compareAndSet(false, true)) {
+                scheduled.dispose();
                 subscription.cancel();
             }
         }
@@ -164,6 +200,77 @@ public class RateLimiterOperator<T> implements ObservableOperator<T, T>, Flowabl
         public boolean isCancelled() {
             return cancelled.get();
         }
+
+        private void resumeAfter(long nanosToWait) {
+            if (nanosToWait > 0) {
+                waiting = true;
+                scheduled.replace(scheduler.scheduleDirect(() -> {
+                    waiting = false;
+                    drain();
+                }, nanosToWait, TimeUnit.NANOSECONDS));
+            } else {
+                waiting = false;
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!isCancelled() && !waiting && !inFlight && requested.get() > 0) {
+                    long nanosToWait = rateLimiter.reservePermission(rateLimiter.getRateLimiterConfig().getTimeoutDuration());
+                    if (nanosToWait < 0) {
+                        if (cancelled.compareAndSet(false, true)) {
+                            subscription.cancel();
+                            childSubscriber.onError(new RequestNotPermitted("Request not permitted for limiter: " + rateLimiter.getName()));
+                        }
+                    } else {
+                        inFlight = true;
+                        produced();
+                        if (nanosToWait > 0) {
+                            scheduled.replace(scheduler.scheduleDirect(() -> subscription.request(1), nanosToWait, TimeUnit.NANOSECONDS));
+                        } else {
+                            subscription.request(1);
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Adds n to the outstanding requests, capped at Long.MAX_VALUE, which means unbounded.
+         */
+        private void addRequested(long n) {
+            while (true) {
+                long current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    return;
+                }
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Removes one emitted item from the outstanding requests, unless they are unbounded.
+         */
+        private void produced() {
+            while (true) {
+                long current = requested.get();
+                if (current == Long.MAX_VALUE || requested.compareAndSet(current, current - 1)) {
+                    return;
+                }
+            }
+        }
     }
 
     private final class RateLimiterObserver implements Observer<T>, Disposable {
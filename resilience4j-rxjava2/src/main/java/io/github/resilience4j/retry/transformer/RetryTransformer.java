@@ -17,6 +17,7 @@
 package io.github.resilience4j.retry.transformer;
 
 import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryScheduler;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableTransformer;
@@ -33,6 +34,7 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class RetryTransformer<T> implements FlowableTransformer<T, T>, ObservableTransformer<T, T>, SingleTransformer<T, T> {
@@ -40,20 +42,35 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
     private static final Logger LOG = LoggerFactory.getLogger(RetryTransformer.class);
 
     private final Retry retry;
+    private final RetryScheduler scheduler;
 
-    private RetryTransformer(Retry retry) {
+    private RetryTransformer(Retry retry, RetryScheduler scheduler) {
         this.retry = retry;
+        this.scheduler = scheduler;
     }
 
     /**
-     * Creates a RetryOperator.
+     * Creates a RetryOperator which resubscribes to the upstream on the shared {@link RetryScheduler}.
      *
      * @param retry the Retry
      * @param <T>   the value type of the upstream and downstream
      * @return a RetryOperator
      */
     public static <T> RetryTransformer<T> of(Retry retry) {
-        return new RetryTransformer<>(retry);
+        return of(retry, RetryScheduler.shared());
+    }
+
+    /**
+     * Creates a RetryOperator which waits for the next attempt on the given {@link RetryScheduler}
+     * instead of blocking the thread which emitted the error.
+     *
+     * @param retry     the Retry
+     * @param scheduler the RetryScheduler used to resubscribe to the upstream after the wait interval
+     * @param <T>       the value type of the upstream and downstream
+     * @return a RetryOperator
+     */
+    public static <T> RetryTransformer<T> of(Retry retry, RetryScheduler scheduler) {
+        return new RetryTransformer<>(retry, scheduler);
     }
 
     @Override
@@ -61,7 +78,7 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
         return Flowable.fromPublisher(downstream -> {
             SubscriptionArbiter sa = new SubscriptionArbiter();
             downstream.onSubscribe(sa);
-            RetrySubscriber<T> repeatSubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, upstream, retry);
+            RetrySubscriber<T> repeatSubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, upstream, retry, scheduler);
             upstream.subscribe(repeatSubscriber);
         });
     }
@@ -72,7 +89,7 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
             Flowable<T> flowable = upstream.toFlowable(BackpressureStrategy.BUFFER);
             SubscriptionArbiter sa = new SubscriptionArbiter();
             downstream.onSubscribe(sa);
-            RetrySubscriber<T> retrySubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, flowable, retry);
+            RetrySubscriber<T> retrySubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, flowable, retry, scheduler);
             flowable.subscribe(retrySubscriber);
         });
     }
@@ -83,7 +100,7 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
             Flowable<T> flowable = upstream.toFlowable();
             SubscriptionArbiter sa = new SubscriptionArbiter();
             downstream.onSubscribe(sa);
-            RetrySubscriber<T> retrySubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, flowable, retry);
+            RetrySubscriber<T> retrySubscriber = new RetrySubscriber<>(downstream, retry.getRetryConfig().getMaxAttempts(), sa, flowable, retry, scheduler);
             flowable.subscribe(retrySubscriber);
         });
     }
@@ -94,14 +111,16 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
         private final SubscriptionArbiter sa;
         private final Publisher<? extends T> source;
         private final Retry.Context context;
+        private final RetryScheduler scheduler;
         private long remaining;
         RetrySubscriber(Subscriber<? super T> actual, long count,
                          SubscriptionArbiter sa, Publisher<? extends T> source,
-                         Retry retry) {
+                         Retry retry, RetryScheduler scheduler) {
             this.actual = actual;
             this.sa = sa;
             this.source = source;
             this.context = retry.context();
+            this.scheduler = scheduler;
             this.remaining = count;
         }
 
@@ -135,8 +154,12 @@ public class RetryTransformer<T> implements FlowableTransformer<T, T>, Observabl
                 actual.onError(t);
             } else {
                 try {
-                    context.onError((Exception) t);
-                    subscribeNext();
+                    long interval = context.onErrorWithoutWaiting((Exception) t);
+                    if (interval < 1) {
+                        subscribeNext();
+                    } else {
+                        scheduler.schedule(this::subscribeNext, interval, TimeUnit.MILLISECONDS);
+                    }
                 } catch (Throwable t2) {
                     actual.onError(t2);
                 }
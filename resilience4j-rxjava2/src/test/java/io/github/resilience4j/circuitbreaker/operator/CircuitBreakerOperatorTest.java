@@ -246,4 +246,39 @@ public class CircuitBreakerOperatorTest {
         assertThat(metrics.getNumberOfBufferedCalls()).isEqualTo(2);
         assertThat(metrics.getNumberOfFailedCalls()).isEqualTo(2);
     }
+
+    @Test
+    public void shouldReleasePermissionsOfCancelledTrialCalls() {
+        // Given a CircuitBreaker in HALF_OPEN state which permits 2 trial calls
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .ringBufferSizeInHalfOpenState(2)
+                .build();
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("testName", circuitBreakerConfig);
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+
+        // When the trial calls are cancelled before they complete
+        Flowable.never()
+                .lift(CircuitBreakerOperator.of(circuitBreaker))
+                .test()
+                .cancel();
+        Observable.never()
+                .lift(CircuitBreakerOperator.of(circuitBreaker))
+                .test()
+                .dispose();
+        Single.never()
+                .lift(CircuitBreakerOperator.of(circuitBreaker))
+                .test()
+                .dispose();
+
+        // Then the next trial calls are permitted
+        Single.just(1)
+                .lift(CircuitBreakerOperator.of(circuitBreaker))
+                .test()
+                .assertValue(1)
+                .assertComplete();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
 }
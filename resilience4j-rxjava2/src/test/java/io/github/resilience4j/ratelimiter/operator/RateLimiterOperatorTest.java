@@ -21,12 +21,18 @@ import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
 import io.vavr.collection.List;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -250,6 +256,72 @@ public class RateLimiterOperatorTest {
         assertThat(metrics.getNumberOfWaitingThreads()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldScheduleFlowableRequestsInsteadOfBlocking() {
+        // Given
+        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.custom()
+                .limitRefreshPeriod(Duration.ofMillis(CYCLE_IN_MILLIS))
+                .limitForPeriod(1)
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build();
+        RateLimiter rateLimiter = RateLimiter.of(LIMITER_NAME, rateLimiterConfig);
+        TestScheduler scheduler = new TestScheduler();
+
+        // When
+        TestSubscriber<String> subscriber = Flowable.just("Event 1", "Event 2")
+                .lift(RateLimiterOperator.<String>of(rateLimiter, scheduler))
+                .test();
+
+        // Then
+        subscriber.assertSubscribed()
+                .assertNoValues()
+                .assertNotComplete();
+        assertThat(rateLimiter.getMetrics().getNumberOfWaitingThreads()).isEqualTo(0);
+
+        scheduler.advanceTimeBy(CYCLE_IN_MILLIS, TimeUnit.MILLISECONDS);
+
+        subscriber.assertValues("Event 1")
+                .assertNotComplete();
+    }
+
+    @Test
+    public void shouldDisposeScheduledTasksWhenCancelled() {
+        // Given
+        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.custom()
+                .limitRefreshPeriod(Duration.ofMillis(CYCLE_IN_MILLIS))
+                .limitForPeriod(1)
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build();
+        RateLimiter rateLimiter = RateLimiter.of(LIMITER_NAME, rateLimiterConfig);
+        java.util.List<Disposable> scheduledTasks = new CopyOnWriteArrayList<>();
+        TestScheduler testScheduler = new TestScheduler();
+        Scheduler scheduler = new Scheduler() {
+            @Override
+            public Worker createWorker() {
+                return testScheduler.createWorker();
+            }
+
+            @Override
+            public Disposable scheduleDirect(Runnable run, long delay, TimeUnit unit) {
+                Disposable task = super.scheduleDirect(run, delay, unit);
+                scheduledTasks.add(task);
+                return task;
+            }
+        };
+
+        // When
+        TestSubscriber<String> subscriber = Flowable.just("Event 1", "Event 2")
+                .lift(RateLimiterOperator.<String>of(rateLimiter, scheduler))
+                .test();
+        subscriber.cancel();
+
+        // Then
+        assertThat(scheduledTasks).isNotEmpty();
+        assertThat(scheduledTasks).allMatch(Disposable::isDisposed);
+        subscriber.assertNoValues()
+                .assertNotComplete();
+    }
+
     private List<String> makeEleven() {
         return List.of("Event 1", "Event 2", "Event 3", "Event 4", "Event 5", "Event 6",
                 "Event 7", "Event 8", "Event 9", "Event 10", "Event 11").toList();
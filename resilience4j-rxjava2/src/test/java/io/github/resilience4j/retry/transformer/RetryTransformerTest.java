@@ -18,10 +18,12 @@ package io.github.resilience4j.retry.transformer;
 
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryScheduler;
 import io.github.resilience4j.test.HelloWorldService;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.BDDMockito;
@@ -29,6 +31,9 @@ import org.mockito.Mockito;
 
 import javax.xml.ws.WebServiceException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -59,6 +64,7 @@ public class RetryTransformerTest {
         Single.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertValueCount(1)
                 .assertValues("Hello world")
                 .assertComplete();
@@ -66,6 +72,7 @@ public class RetryTransformerTest {
         Single.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertValueCount(1)
                 .assertValues("Hello world")
                 .assertComplete();
@@ -94,6 +101,7 @@ public class RetryTransformerTest {
         Single.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -101,6 +109,7 @@ public class RetryTransformerTest {
         Single.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -126,6 +135,7 @@ public class RetryTransformerTest {
         Single.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(RetryTransformer.of(retry))
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -151,6 +161,7 @@ public class RetryTransformerTest {
         Observable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -158,6 +169,7 @@ public class RetryTransformerTest {
         Observable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -183,6 +195,7 @@ public class RetryTransformerTest {
         Observable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -190,6 +203,7 @@ public class RetryTransformerTest {
         Observable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -215,6 +229,7 @@ public class RetryTransformerTest {
         Observable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(RetryTransformer.of(retry))
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -240,6 +255,7 @@ public class RetryTransformerTest {
         Flowable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -247,6 +263,7 @@ public class RetryTransformerTest {
         Flowable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -272,6 +289,7 @@ public class RetryTransformerTest {
         Flowable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -279,6 +297,7 @@ public class RetryTransformerTest {
         Flowable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(retryTransformer)
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -304,6 +323,7 @@ public class RetryTransformerTest {
         Flowable.fromCallable(helloWorldService::returnHelloWorld)
                 .compose(RetryTransformer.of(retry))
                 .test()
+                .awaitDone(5, TimeUnit.SECONDS)
                 .assertError(WebServiceException.class)
                 .assertNotComplete()
                 .assertSubscribed();
@@ -315,4 +335,36 @@ public class RetryTransformerTest {
         assertThat(metrics.getNumberOfFailedCallsWithRetryAttempt()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldScheduleRetryInsteadOfBlocking() {
+        //Given
+        RetryConfig config = RetryConfig.ofDefaults();
+        Retry retry = Retry.of("testName", config);
+        List<Runnable> scheduledTasks = new ArrayList<>();
+        List<Long> scheduledDelays = new ArrayList<>();
+        RetryScheduler scheduler = (task, delay, unit) -> {
+            scheduledTasks.add(task);
+            scheduledDelays.add(unit.toMillis(delay));
+            return () -> false;
+        };
+
+        given(helloWorldService.returnHelloWorld())
+                .willThrow(new WebServiceException("BAM!"))
+                .willReturn("Hello world");
+
+        //When
+        TestObserver<String> observer = Single.fromCallable(helloWorldService::returnHelloWorld)
+                .compose(RetryTransformer.of(retry, scheduler))
+                .test();
+
+        //Then
+        observer.assertNoValues().assertNotTerminated();
+        assertThat(scheduledDelays).containsExactly(config.getIntervalFunction().apply(1));
+
+        scheduledTasks.get(0).run();
+
+        observer.assertValues("Hello world").assertComplete();
+        BDDMockito.then(helloWorldService).should(Mockito.times(2)).returnHelloWorld();
+        assertThat(retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.resilience4j.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the heap allocations of the current thread, so that tests can assert that a hot path allocates nothing.
+ */
+public final class Allocations {
+
+    private static final int ROUNDS = 30;
+    private static final int CALLS_PER_ROUND = 100_000;
+
+    private Allocations() {
+    }
+
+    /**
+     * Returns whether the JVM can measure the allocations of a thread.
+     *
+     * @return true if allocations can be measured
+     */
+    public static boolean isMeasurable() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+            && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Calls the given call repeatedly on the current thread and returns the bytes allocated by the round of
+     * calls which allocated the least. The first rounds warm up the JIT compiler, which removes allocations
+     * that do not escape only after it has compiled the call.
+     *
+     * @param call the call to measure
+     * @return the bytes allocated by the cheapest round of calls
+     */
+    public static long minAllocatedBytesPerRound(Runnable call) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long minAllocatedBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && minAllocatedBytes > 0; round++) {
+            long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < CALLS_PER_ROUND; i++) {
+                call.run();
+            }
+            minAllocatedBytes = Math.min(minAllocatedBytes, threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore);
+        }
+        return minAllocatedBytes;
+    }
+}